@@ -22,6 +22,7 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.time.*;
@@ -209,6 +210,19 @@ public final class JacksonUtils {
         }
     }
 
+    /**
+     * Object to json, written to the given writer.
+     * <p>
+     * 调用方可以通过自定义 Writer 中途抛出 IOException 提前终止序列化
+     *
+     * @param writer writer
+     * @param obj    obj
+     * @throws IOException if writer failed
+     */
+    public static void writeValue(Writer writer, Object obj) throws IOException {
+        defaultMapper.writeValue(writer, obj);
+    }
+
     /**
      * Json string deserialize to Object.
      *
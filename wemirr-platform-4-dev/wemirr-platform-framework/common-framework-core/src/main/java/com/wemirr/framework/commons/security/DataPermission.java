@@ -26,6 +26,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serial;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -68,11 +70,61 @@ public class DataPermission implements java.io.Serializable {
     @Builder.Default
     private Map<DataResourceType, List<Object>> dataPermissionMap = Maps.newHashMap();
     
+    /**
+     * 多维度数据权限（数值主键，升序排列的 long[]）
+     * <p>
+     * 大数据量下比 dataPermissionMap 更紧凑：序列化后是纯数字数组，内存中不装箱，可二分查找；
+     * 同一维度两者都存在时以此为准
+     * </p>
+     */
+    @Builder.Default
+    private Map<DataResourceType, long[]> sortedIdMap = Maps.newHashMap();
+    
+    /**
+     * 获取指定维度的权限值（long[] 以只读 List 视图返回，不复制数据）
+     *
+     * @param resourceType 维度
+     * @return 权限值，不存在时返回 null
+     */
+    public List<?> values(DataResourceType resourceType) {
+        final long[] ids = sortedIdMap == null ? null : sortedIdMap.get(resourceType);
+        if (ids != null) {
+            return new AbstractList<Long>() {
+                @Override
+                public Long get(int index) {
+                    return ids[index];
+                }
+                
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
+        return dataPermissionMap == null ? null : dataPermissionMap.get(resourceType);
+    }
+    
+    /**
+     * 判断指定维度是否包含某个主键
+     *
+     * @param resourceType 维度
+     * @param id           主键
+     * @return 是否包含
+     */
+    public boolean contains(DataResourceType resourceType, long id) {
+        final long[] ids = sortedIdMap == null ? null : sortedIdMap.get(resourceType);
+        if (ids != null) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+        final List<?> values = values(resourceType);
+        return values != null && values.stream().anyMatch(value -> value != null && String.valueOf(id).equals(value.toString()));
+    }
+    
     /**
      * 判断是否应该使用 EXISTS 子查询
      */
     public boolean shouldUseExistsQuery(DataResourceType resourceType) {
-        List<Object> values = dataPermissionMap.get(resourceType);
+        List<?> values = values(resourceType);
         return values != null && values.size() >= 1000;
     }
     
@@ -22,6 +22,8 @@ package com.wemirr.framework.boot.log;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * @author Levin
  */
@@ -48,6 +50,23 @@ public class AccessLogProperties {
      */
     private StoreStrategy strategy = StoreStrategy.local;
 
+    /**
+     * 返回值最大记录长度，超出部分不再序列化
+     */
+    private int maxResponseLength = 65535;
+
+    /**
+     * 是否延迟到后台线程序列化返回值（仅持有返回值引用，请求线程不做序列化）
+     * <p>
+     * 注意：开启后若返回值在方法返回后仍被修改，日志记录的是修改后的内容
+     */
+    private boolean deferResponse = false;
+
+    /**
+     * 异步投递配置
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
     /**
      * 存储策略
      */
@@ -61,4 +80,62 @@ public class AccessLogProperties {
 
     }
 
+    @Data
+    public static class Dispatcher {
+
+        /**
+         * 缓冲区容量（条）
+         */
+        private int capacity = 8192;
+
+        /**
+         * 每批最多投递的条数
+         */
+        private int batchSize = 200;
+
+        /**
+         * 未攒满一批时的最长等待时间
+         */
+        private Duration flushInterval = Duration.ofMillis(500);
+
+        /**
+         * 缓冲区满时的处理策略
+         */
+        private OverflowPolicy overflow = OverflowPolicy.drop;
+
+        /**
+         * sample 策略下缓冲区使用率超过该值后开始采样
+         */
+        private double sampleThreshold = 0.75D;
+
+        /**
+         * sample 策略下的采样率（0~1）
+         */
+        private double sampleRate = 0.1D;
+
+        /**
+         * block 策略下请求线程的最长等待时间，超时后丢弃
+         */
+        private Duration blockTimeout = Duration.ofMillis(50);
+
+        /**
+         * 停机时等待缓冲区排空的最长时间
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * drop = 直接丢弃
+         * sample = 高水位后按比例采样，满后丢弃
+         * block = 请求线程短暂等待空位，超时后丢弃
+         */
+        drop, sample, block
+
+    }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.boot.log;
+
+import com.wemirr.framework.commons.JacksonUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界的返回值序列化
+ * <p>
+ * 直接写入限长的缓冲区，达到上限后立即中断 Jackson，不再为截断而序列化整个对象（例如大分页、导出结果）
+ *
+ * @author Levin
+ */
+@Slf4j
+public class AccessLogResponseSerializer {
+
+    private static final String METRIC_NAME = "access.log.response.serialize";
+    private static final String TRUNCATED_SUFFIX = "...";
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int maxLength;
+    private final Timer completeTimer;
+    private final Timer truncatedTimer;
+
+    public AccessLogResponseSerializer(int maxLength, MeterRegistry meterRegistry) {
+        this.maxLength = maxLength;
+        if (meterRegistry == null) {
+            this.completeTimer = null;
+            this.truncatedTimer = null;
+        } else {
+            this.completeTimer = Timer.builder(METRIC_NAME).tag("truncated", "false")
+                    .description("@AccessLog 返回值序列化耗时").register(meterRegistry);
+            this.truncatedTimer = Timer.builder(METRIC_NAME).tag("truncated", "true")
+                    .description("@AccessLog 返回值序列化耗时").register(meterRegistry);
+        }
+    }
+
+    /**
+     * 序列化返回值，超过 maxLength 的部分被丢弃并以 ... 结尾
+     *
+     * @param value 返回值
+     * @return json
+     */
+    public String serialize(Object value) {
+        final long start = System.nanoTime();
+        final BoundedWriter writer = new BoundedWriter(maxLength);
+        try {
+            JacksonUtils.writeValue(writer, value);
+        } catch (Exception e) {
+            // 达到上限时 Jackson 会把 LimitReachedException 包装后抛出，以 writer 的状态为准
+            if (!writer.truncated) {
+                log.debug("AccessLog response serialization failed", e);
+                return "Response serialization failed";
+            }
+        }
+        final Timer timer = writer.truncated ? truncatedTimer : completeTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return writer.truncated ? writer.buffer.append(TRUNCATED_SUFFIX).toString() : writer.buffer.toString();
+    }
+
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+        private final int limit;
+        private boolean truncated;
+
+        private BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            final int remaining = limit - buffer.length();
+            if (len <= remaining) {
+                buffer.append(cbuf, off, len);
+                return;
+            }
+            buffer.append(cbuf, off, remaining);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            final int remaining = limit - buffer.length();
+            if (len <= remaining) {
+                buffer.append(str, off, off + len);
+                return;
+            }
+            buffer.append(str, off, off + remaining);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class LimitReachedException extends IOException {
+
+        private LimitReachedException() {
+            super("response length limit reached");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
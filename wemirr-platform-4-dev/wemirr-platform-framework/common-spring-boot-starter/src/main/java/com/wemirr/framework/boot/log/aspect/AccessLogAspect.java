@@ -5,14 +5,11 @@ import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.core.util.URLUtil;
 import cn.hutool.extra.servlet.JakartaServletUtil;
-import cn.hutool.extra.spring.SpringUtil;
 import com.wemirr.framework.boot.log.AccessLogInfo;
 import com.wemirr.framework.boot.log.AccessLogProperties;
-import com.wemirr.framework.boot.log.event.AccessLogEvent;
-import com.wemirr.framework.boot.log.handler.AbstractLogHandler;
+import com.wemirr.framework.boot.log.AccessLogResponseSerializer;
+import com.wemirr.framework.boot.log.event.AccessLogDispatcher;
 import com.wemirr.framework.commons.JacksonUtils;
-import com.wemirr.framework.commons.NativeUserAgent;
-import com.wemirr.framework.commons.RegionUtils;
 import com.wemirr.framework.commons.annotation.log.AccessLog;
 import com.wemirr.framework.commons.entity.Result;
 import com.wemirr.framework.commons.exception.CheckedException;
@@ -46,7 +43,6 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -76,11 +72,14 @@ public class AccessLogAspect {
     @Resource
     private AccessLogProperties accessLogProperties;
 
+    @Resource
+    private AccessLogResponseSerializer responseSerializer;
+
     /**
-     * 允许为空，若未实现 LogHandler 则不进行持久化
+     * 允许为空，为空时不进行持久化
      */
     @Autowired(required = false)
-    private AbstractLogHandler abstractLogHandler;
+    private AccessLogDispatcher accessLogDispatcher;
 
     /**
      * 定义切点：
@@ -126,6 +125,7 @@ public class AccessLogAspect {
         }
 
         Object ret = null;
+        Object deferredResponse = null;
         Throwable ex = null;
         try {
             // 2. 执行业务逻辑
@@ -136,7 +136,12 @@ public class AccessLogAspect {
                 logInfo.setMessage(result.getMessage());
             }
             if (accessLog.response()) {
-                logInfo.setResponse(truncate(JacksonUtils.toJson(ret), MAX_LENGTH));
+                // 有界序列化：达到 maxResponseLength 后立即停止；开启 deferResponse 时交给后台线程
+                if (accessLogProperties.isDeferResponse() && accessLogDispatcher != null) {
+                    deferredResponse = ret;
+                } else {
+                    logInfo.setResponse(responseSerializer.serialize(ret));
+                }
             }
             return ret;
         } catch (Throwable e) {
@@ -159,8 +164,8 @@ public class AccessLogAspect {
                 }
             }
 
-            // 6. 异步发布事件/入库
-            publishEvent(logInfo);
+            // 6. 投递到异步缓冲区，归属地、UA 解析与入库均在后台完成
+            publishEvent(logInfo, request, deferredResponse);
         }
     }
 
@@ -209,37 +214,21 @@ public class AccessLogAspect {
 
         if (request != null) {
             logInfo.setIp(JakartaServletUtil.getClientIP(request));
-            logInfo.setLocation(RegionUtils.getRegion(logInfo.getIp()));
             logInfo.setUri(URLUtil.getPath(request.getRequestURI()));
             logInfo.setHttpMethod(request.getMethod());
-            var userAgent = NativeUserAgent.parse(request.getHeader(HttpHeaders.USER_AGENT));
-            logInfo.setEngine(userAgent.engine());
-            logInfo.setOs(userAgent.os());
-            logInfo.setPlatform(userAgent.platform());
-            logInfo.setBrowser(userAgent.browser());
         }
         logInfo.setStartTime(Instant.now());
     }
 
-    private void publishEvent(AccessLogInfo logInfo) {
+    private void publishEvent(AccessLogInfo logInfo, HttpServletRequest request, Object deferredResponse) {
         logInfo.setEndTime(Instant.now());
         if (logInfo.getStartTime() != null) {
             logInfo.setDuration(Duration.between(logInfo.getStartTime(), logInfo.getEndTime()).toMillis());
         }
-
-        // 核心优化：如果没有注入 LogHandler (说明没配置存储策略)，直接返回，不发布事件
-        if (abstractLogHandler == null) {
+        if (accessLogDispatcher == null) {
             return;
         }
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                abstractLogHandler.handler(logInfo);
-                SpringUtil.publishEvent(new AccessLogEvent(logInfo));
-            } catch (Exception e) {
-                log.error("AccessLog event publish failed", e);
-            }
-        });
+        accessLogDispatcher.offer(logInfo, request == null ? null : request.getHeader(HttpHeaders.USER_AGENT), deferredResponse);
     }
 
     private String getSafeArgs(boolean recordRequest, Object[] args, HttpServletRequest request) {
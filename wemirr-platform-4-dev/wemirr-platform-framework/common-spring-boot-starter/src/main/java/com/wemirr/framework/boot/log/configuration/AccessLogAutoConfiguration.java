@@ -20,15 +20,20 @@
 package com.wemirr.framework.boot.log.configuration;
 
 import com.wemirr.framework.boot.log.AccessLogProperties;
+import com.wemirr.framework.boot.log.AccessLogResponseSerializer;
 import com.wemirr.framework.boot.log.aspect.AccessLogAspect;
+import com.wemirr.framework.boot.log.event.AccessLogDispatcher;
 import com.wemirr.framework.boot.log.event.AccessLogListener;
 import com.wemirr.framework.boot.log.feign.AccessLogFeign;
 import com.wemirr.framework.boot.log.handler.AbstractLogHandler;
 import com.wemirr.framework.boot.log.handler.DefaultHandlerAbstract;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -60,11 +65,26 @@ public class AccessLogAutoConfiguration {
         return new DefaultHandlerAbstract();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessLogResponseSerializer accessLogResponseSerializer(AccessLogProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AccessLogResponseSerializer(properties.getMaxResponseLength(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessLogDispatcher accessLogDispatcher(AccessLogProperties properties, AbstractLogHandler logHandler,
+                                                   AccessLogResponseSerializer responseSerializer,
+                                                   ApplicationEventPublisher publisher) {
+        return new AccessLogDispatcher(properties.getDispatcher(), logHandler, responseSerializer, publisher);
+    }
+
     @Bean
     @Order
     @ConditionalOnExpression("'${extend.boot.log.strategy}'.equalsIgnoreCase('feign')")
     public AccessLogListener accessLogListener(AccessLogFeign feign) {
-        return new AccessLogListener(feign::listener);
+        return new AccessLogListener(feign::batchListener);
     }
 
 }
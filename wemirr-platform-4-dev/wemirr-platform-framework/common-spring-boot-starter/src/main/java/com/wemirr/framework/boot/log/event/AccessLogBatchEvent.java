@@ -22,15 +22,21 @@ package com.wemirr.framework.boot.log.event;
 import com.wemirr.framework.boot.log.AccessLogInfo;
 import org.springframework.context.ApplicationEvent;
 
+import java.util.List;
+
 /**
- * 系统日志事件
+ * 批量日志事件
  *
  * @author Levin
- * @since 2019-07-01 15:13
  */
-public class AccessLogEvent extends ApplicationEvent {
+public class AccessLogBatchEvent extends ApplicationEvent {
 
-    public AccessLogEvent(AccessLogInfo source) {
+    public AccessLogBatchEvent(List<AccessLogInfo> source) {
         super(source);
     }
+
+    @SuppressWarnings("unchecked")
+    public List<AccessLogInfo> getLogs() {
+        return (List<AccessLogInfo>) getSource();
+    }
 }
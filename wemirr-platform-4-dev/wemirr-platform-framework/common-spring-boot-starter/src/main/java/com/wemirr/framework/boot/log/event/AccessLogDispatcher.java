@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.boot.log.event;
+
+import com.wemirr.framework.boot.log.AccessLogInfo;
+import com.wemirr.framework.boot.log.AccessLogProperties;
+import com.wemirr.framework.boot.log.AccessLogResponseSerializer;
+import com.wemirr.framework.boot.log.handler.AbstractLogHandler;
+import com.wemirr.framework.commons.NativeUserAgent;
+import com.wemirr.framework.commons.RegionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 访问日志异步投递
+ * <p>
+ * 1. 请求线程只把原始日志放入有界无锁缓冲区，不做任何解析
+ * <p>
+ * 2. 后台线程补全 IP 归属地、UA 解析、延迟的返回值序列化，并执行 {@link AbstractLogHandler}
+ * <p>
+ * 3. 攒满 batchSize 条或等待 flushInterval 后发布 {@link AccessLogBatchEvent}，由 {@link AccessLogListener} 批量入库
+ * <p>
+ * 缓冲区满时按 {@link AccessLogProperties.OverflowPolicy} 处理，丢弃的条数会在下一次投递时输出告警
+ *
+ * @author Levin
+ */
+@Slf4j
+public class AccessLogDispatcher implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = 100_000L;
+
+    private final AccessLogProperties.Dispatcher properties;
+    private final AbstractLogHandler logHandler;
+    private final AccessLogResponseSerializer responseSerializer;
+    private final ApplicationEventPublisher publisher;
+
+    private final Queue<PendingLog> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * 缓冲区中的条数，ConcurrentLinkedQueue.size() 需要遍历，单独计数用于容量控制
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public AccessLogDispatcher(AccessLogProperties.Dispatcher properties, AbstractLogHandler logHandler,
+                               AccessLogResponseSerializer responseSerializer, ApplicationEventPublisher publisher) {
+        this.properties = properties;
+        this.logHandler = logHandler;
+        this.responseSerializer = responseSerializer;
+        this.publisher = publisher;
+    }
+
+    /**
+     * 提交日志（请求线程调用，除 block 策略外不会阻塞）
+     *
+     * @param info      日志信息
+     * @param userAgent 原始 User-Agent，在后台线程解析
+     * @return 是否进入缓冲区
+     */
+    public boolean offer(AccessLogInfo info, String userAgent) {
+        return offer(info, userAgent, null);
+    }
+
+    /**
+     * 提交日志，返回值在后台线程序列化
+     *
+     * @param info      日志信息
+     * @param userAgent 原始 User-Agent，在后台线程解析
+     * @param response  待序列化的返回值引用，为空时不处理
+     * @return 是否进入缓冲区
+     */
+    public boolean offer(AccessLogInfo info, String userAgent, Object response) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        final int capacity = properties.getCapacity();
+        if (properties.getOverflow() == AccessLogProperties.OverflowPolicy.sample
+                && size.get() >= capacity * properties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int current = tryAcquire(capacity);
+        if (current < 0 && properties.getOverflow() == AccessLogProperties.OverflowPolicy.block) {
+            current = awaitSlot(capacity);
+        }
+        if (current < 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(new PendingLog(info, userAgent, response));
+        // 攒满一批时立即唤醒，避免等到 flushInterval
+        if (current == properties.getBatchSize()) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private int tryAcquire(int capacity) {
+        for (; ; ) {
+            final int current = size.get();
+            if (current >= capacity) {
+                return -1;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private int awaitSlot(int capacity) {
+        final long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            final int current = tryAcquire(capacity);
+            if (current > 0) {
+                return current;
+            }
+        }
+        return -1;
+    }
+
+    private void runLoop() {
+        final int batchSize = properties.getBatchSize();
+        final long intervalNanos = properties.getFlushInterval().toNanos();
+        final List<AccessLogInfo> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + intervalNanos;
+        while (running) {
+            drain(batch, batchSize);
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() < batchSize && remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            flush(batch);
+            deadline = System.nanoTime() + intervalNanos;
+        }
+        // 停机时排空缓冲区
+        while (!queue.isEmpty() || !batch.isEmpty()) {
+            drain(batch, batchSize);
+            flush(batch);
+        }
+    }
+
+    private void drain(List<AccessLogInfo> batch, int batchSize) {
+        PendingLog pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            size.decrementAndGet();
+            final AccessLogInfo info = enrich(pending);
+            if (info != null) {
+                batch.add(info);
+            }
+        }
+    }
+
+    private AccessLogInfo enrich(PendingLog pending) {
+        final AccessLogInfo info = pending.info();
+        try {
+            if (StringUtils.isNotBlank(info.getIp())) {
+                info.setLocation(RegionUtils.getRegion(info.getIp()));
+            }
+            if (pending.userAgent() != null) {
+                var userAgent = NativeUserAgent.parse(pending.userAgent());
+                info.setEngine(userAgent.engine());
+                info.setOs(userAgent.os());
+                info.setPlatform(userAgent.platform());
+                info.setBrowser(userAgent.browser());
+            }
+            if (pending.response() != null) {
+                info.setResponse(responseSerializer.serialize(pending.response()));
+            }
+            return logHandler == null ? info : logHandler.handler(info);
+        } catch (Exception e) {
+            log.warn("AccessLog enrich failed", e);
+            return info;
+        }
+    }
+
+    private void flush(List<AccessLogInfo> batch) {
+        final long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("AccessLog 缓冲区已满，丢弃 {} 条日志，策略: {}", lost, properties.getOverflow());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            publisher.publishEvent(new AccessLogBatchEvent(List.copyOf(batch)));
+        } catch (Exception e) {
+            log.error("AccessLog batch publish failed, size = {}", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("access-log-dispatcher").daemon(true).start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        final Thread thread = worker;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("AccessLog 停机超时，剩余约 {} 条日志未投递", size.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingLog(AccessLogInfo info, String userAgent, Object response) {
+    }
+}
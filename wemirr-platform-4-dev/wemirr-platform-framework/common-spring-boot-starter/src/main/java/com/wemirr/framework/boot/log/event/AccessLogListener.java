@@ -19,34 +19,33 @@
 
 package com.wemirr.framework.boot.log.event;
 
+import cn.hutool.core.collection.CollUtil;
 import com.wemirr.framework.boot.log.AccessLogInfo;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
- * 异步监听日志事件
+ * 监听日志事件，批量入库
  *
  * @author Levin
  */
-@Slf4j
 @AllArgsConstructor
 public class AccessLogListener {
 
-    private final Consumer<AccessLogInfo> consumer;
+    private final Consumer<List<AccessLogInfo>> consumer;
 
     @Order
-    @EventListener(AccessLogEvent.class)
-    public void accessLogListener(AccessLogEvent event) {
-        AccessLogInfo info = (AccessLogInfo) event.getSource();
-        if (info == null) {
-            log.warn("日志为空，忽略操作日志...");
+    @EventListener(AccessLogBatchEvent.class)
+    public void accessLogBatchListener(AccessLogBatchEvent event) {
+        List<AccessLogInfo> logs = event.getLogs();
+        if (CollUtil.isEmpty(logs)) {
             return;
         }
-        consumer.accept(info);
+        consumer.accept(logs);
     }
 
 }
@@ -24,6 +24,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 import static com.wemirr.framework.boot.log.feign.AccessLogFeign.FEIGN_CLIENT_NAME;
 
 /**
@@ -44,4 +46,12 @@ public interface AccessLogFeign {
     @PostMapping("/opt-logs/listener")
     void listener(@RequestBody AccessLogInfo info);
 
+    /**
+     * 批量日志监听
+     *
+     * @param infos 日志信息
+     */
+    @PostMapping("/opt-logs/listener/batch")
+    void batchListener(@RequestBody List<AccessLogInfo> infos);
+
 }
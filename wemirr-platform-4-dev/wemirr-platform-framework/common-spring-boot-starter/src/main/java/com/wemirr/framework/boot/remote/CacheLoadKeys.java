@@ -70,9 +70,28 @@ public class CacheLoadKeys {
      * @return 查询指定接口后得到的值
      */
     public Map<Object, Object> loadMap() {
-        if (DictLoadService.class.isAssignableFrom(beanClass)) {
+        return loadMap(keys);
+    }
+
+    /**
+     * 加载指定 key 的数据（按 tag 加载的场景始终返回整组数据）
+     *
+     * @param keys 待查询的 key
+     * @return 查询指定接口后得到的值
+     */
+    public Map<Object, Object> loadMap(Set<Object> keys) {
+        if (isTagLoad()) {
             return loadService.findByIds(tag);
         }
         return loadService.findByIds(keys);
     }
+
+    /**
+     * 是否按 tag 整组加载（字典）
+     *
+     * @return true = 按 tag 加载
+     */
+    public boolean isTagLoad() {
+        return DictLoadService.class.isAssignableFrom(beanClass);
+    }
 }
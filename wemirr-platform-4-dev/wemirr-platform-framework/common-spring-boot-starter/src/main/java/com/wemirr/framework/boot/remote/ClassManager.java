@@ -19,36 +19,73 @@
 
 package com.wemirr.framework.boot.remote;
 
+import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ReflectUtil;
 import com.wemirr.framework.commons.annotation.remote.Remote;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 类管理器
+ * <p>
+ * 按 Class 缓存编译后的回显计划：标记了 @Remote 的字段、对应的 {@link LoadKey}、
+ * 字段访问器以及预先解析好的 {@link Remote.FieldRef} 目标字段，回显过程中不再做任何反射查找
  *
  * @author Levin
  */
 @Slf4j
 public class ClassManager implements Serializable {
 
-    private static final Map<String, List<Field>> CACHE = new HashMap<>();
+    private static final Set<String> BASE_TYPES = Set.of(
+            "java.lang.Integer", "java.lang.Byte", "java.lang.Long", "java.lang.Double",
+            "java.lang.Float", "java.lang.Character", "java.lang.Short", "java.lang.Boolean", "java.lang.String"
+    );
 
-    public static List<Field> getFields(Class<?> clazz) {
-        if (CACHE.containsKey(clazz.getName())) {
-            return CACHE.get(clazz.getName());
-        }
+    private static final Map<Class<?>, List<RemoteField>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 任意类（回显结果对象）的字段访问器缓存，不存在的字段与静态字段以 Optional.empty() 占位
+     */
+    private static final Map<Class<?>, Map<String, Optional<FieldAccessor>>> ACCESSORS = new ConcurrentHashMap<>();
+
+    public static List<RemoteField> getFields(Class<?> clazz) {
+        return CACHE.computeIfAbsent(clazz, ClassManager::compile);
+    }
+
+    /**
+     * 读取任意对象的字段值，字段不存在返回 null
+     *
+     * @param target    对象
+     * @param fieldName 字段名
+     * @return 字段值
+     */
+    public static Object getFieldValue(Object target, String fieldName) {
+        return accessor(target.getClass(), fieldName).map(accessor -> accessor.get(target)).orElse(null);
+    }
+
+    private static Optional<FieldAccessor> accessor(Class<?> clazz, String fieldName) {
+        return ACCESSORS.computeIfAbsent(clazz, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fieldName, name -> Optional.ofNullable(ReflectUtil.getField(clazz, name))
+                        .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                        .map(FieldAccessor::of));
+    }
+
+    private static List<RemoteField> compile(Class<?> clazz) {
         Field[] declaredFields = ReflectUtil.getFields(clazz);
         int mod;
         // 循环遍历所有的属性进行判断
-        List<Field> fieldList = new ArrayList<>();
+        List<RemoteField> fieldList = new ArrayList<>();
         for (Field field : declaredFields) {
             mod = field.getModifiers();
             // 如果是 static, final, volatile, transient 的字段，则直接跳过
@@ -59,9 +96,84 @@ public class ClassManager implements Serializable {
             if (remote == null) {
                 continue;
             }
-            fieldList.add(field);
+            fieldList.add(new RemoteField(clazz, field, remote));
         }
-        CACHE.put(clazz.getName(), fieldList);
-        return fieldList;
+        return List.copyOf(fieldList);
+    }
+
+    /**
+     * 标记了 @Remote 的字段
+     */
+    @Getter
+    public static final class RemoteField {
+
+        private final String name;
+        private final Remote remote;
+        private final LoadKey loadKey;
+        /**
+         * 是否为可直接作为查询值的基础类型，否则为需要递归处理的复杂类型
+         */
+        private final boolean baseType;
+        private final FieldAccessor accessor;
+        private final List<FieldRefTarget> refs;
+
+        private RemoteField(Class<?> clazz, Field field, Remote remote) {
+            this.name = field.getName();
+            this.remote = remote;
+            this.loadKey = new LoadKey(remote);
+            this.baseType = BASE_TYPES.contains(field.getType().getName());
+            this.accessor = FieldAccessor.of(field);
+            List<FieldRefTarget> targets = new ArrayList<>();
+            if (ArrayUtil.isNotEmpty(remote.fields())) {
+                for (Remote.FieldRef ref : remote.fields()) {
+                    Optional<FieldAccessor> target = accessor(clazz, ref.target());
+                    if (target.isEmpty()) {
+                        log.warn("@Remote 回显目标字段不存在：[{}#{}]", clazz.getName(), ref.target());
+                        continue;
+                    }
+                    if (!target.get().isWritable()) {
+                        log.warn("@Remote 回显目标字段不可写：[{}#{}]", clazz.getName(), ref.target());
+                        continue;
+                    }
+                    targets.add(new FieldRefTarget(sourceName(remote.rule(), ref.source()), target.get()));
+                }
+            }
+            this.refs = List.copyOf(targets);
+        }
+
+        public Object get(Object target) {
+            return accessor.get(target);
+        }
+
+        public void set(Object target, Object value) {
+            accessor.set(target, value);
+        }
+
+        public boolean hasRefs() {
+            return ArrayUtil.isNotEmpty(remote.fields());
+        }
+
+        /**
+         * 解析回显来源字段名，null 表示直接使用整个回显值
+         */
+        private static String sourceName(String rule, String source) {
+            if (StringUtils.isAllBlank(rule, source)) {
+                return null;
+            }
+            if (StringUtils.isBlank(rule) || !source.contains(rule)) {
+                return source;
+            }
+            // 包含指定分割规则
+            return StringUtils.replace(source, rule, StringUtils.EMPTY);
+        }
+    }
+
+    /**
+     * 预解析的 {@link Remote.FieldRef}
+     *
+     * @param source 回显值中的来源字段，null 表示整个回显值
+     * @param target 当前对象上的目标字段
+     */
+    public record FieldRefTarget(String source, FieldAccessor target) {
     }
 }
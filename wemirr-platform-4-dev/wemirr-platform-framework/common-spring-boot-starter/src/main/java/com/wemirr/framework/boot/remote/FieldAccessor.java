@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.boot.remote;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * 字段访问器
+ * <p>
+ * 构建时一次性解析出字段的 getter / setter {@link MethodHandle} 并适配为 (Object)Object 形式，
+ * 之后的读写直接 invokeExact，不再走 name 查找与反射校验；final 字段（含 record、@Value）只读，不解析 setter，
+ * 静态字段不支持
+ *
+ * @author Levin
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> wrapType;
+    private final MethodHandle getter;
+    /**
+     * final 字段为 null
+     */
+    private final MethodHandle setter;
+
+    private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.wrapType = BasicType.wrap(field.getType());
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public static FieldAccessor of(Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalArgumentException("不支持静态字段 " + field);
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            return new FieldAccessor(field, getter, setter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问字段 " + field, e);
+        }
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * 是否可写（非 final 字段）
+     */
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取字段失败 " + field, e);
+        }
+    }
+
+    /**
+     * 写入字段值，类型不匹配时与 ReflectUtil.setFieldValue 一样做一次类型转换
+     */
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            throw new IllegalStateException("字段不可写 " + field);
+        }
+        Object actual = value;
+        if (actual == null) {
+            actual = ClassUtil.getDefaultValue(field.getType());
+        } else if (!wrapType.isInstance(actual)) {
+            actual = Convert.convert(field.getType(), actual);
+        }
+        try {
+            setter.invokeExact(target, actual);
+        } catch (Throwable e) {
+            throw new IllegalStateException("写入字段失败 " + field, e);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.boot.remote;
+
+import cn.hutool.core.collection.CollUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wemirr.framework.boot.remote.properties.RemoteProperties;
+import com.wemirr.framework.commons.JacksonUtils;
+import com.wemirr.framework.redis.plus.listener.AbstractMessageEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.Topic;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 回显数据两级缓存
+ * <p>
+ * 1. L1：每个 LoadKey 一个 Caffeine 缓存，按单个 id 缓存，不同页面只要 id 有交集就能命中
+ * <p>
+ * 2. L2（可选）：Redis hash，多实例共享，L1 未命中时批量 HMGET
+ * <p>
+ * 两级均未命中的 id 才会交给 LoadService 查询；数据源变更后调用 {@link #evict} 通过 Redis 发布订阅通知所有实例失效
+ * （数据提供方也需开启 local-cache 才能注入本类发布失效消息，未失效的数据最多滞留 L1/L2 过期时间）
+ *
+ * @author Levin
+ */
+@Slf4j
+public class RemoteCache implements AbstractMessageEventListener<RemoteCache.EvictMessage> {
+
+    public static final String CHANNEL_REMOTE_CACHE_EVICT = "channel:remote-cache-evict";
+    private static final String L2_KEY_PREFIX = "remote:cache:";
+    private static final String REGION_SEPARATOR = ":";
+    private static final long SCAN_COUNT = 500;
+    /**
+     * LoadService 未返回的 id 在 L1 中占位，避免每次回显都重复查询
+     */
+    private static final Object ABSENT = new Object();
+
+    private final RemoteProperties.LocalCache properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    public RemoteCache(RemoteProperties.LocalCache properties, RedisTemplate<String, Object> redisTemplate,
+                       StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 读取数据，只有缓存中缺失的 id 才会查询 LoadService
+     *
+     * @param lk 查询参数
+     * @return id 字符串 -> 回显值
+     */
+    public Map<Object, Object> getAll(CacheLoadKeys lk) {
+        final String region = region(lk);
+        final Cache<String, Object> cache = caches.computeIfAbsent(region, this::createCache);
+        Map<Object, Object> result = new HashMap<>(lk.getKeys().size());
+        // 缓存 id -> 原始 key，LoadService 需要原始类型（Long 等）的 key 才能命中
+        Map<String, Object> missing = new LinkedHashMap<>();
+        for (Object key : lk.getKeys()) {
+            final String id = String.valueOf(key);
+            final Object value = cache.getIfPresent(id);
+            if (value == null) {
+                missing.put(id, key);
+            } else if (value != ABSENT) {
+                result.put(id, value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        if (Boolean.TRUE.equals(properties.getRedisEnabled())) {
+            loadFromRedis(region, cache, missing, result);
+            if (missing.isEmpty()) {
+                return result;
+            }
+        }
+        final Map<Object, Object> loaded = lk.loadMap(new LinkedHashSet<>(missing.values()));
+        Map<String, Object> fresh = new HashMap<>();
+        if (loaded != null) {
+            for (Map.Entry<Object, Object> entry : loaded.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                fresh.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+        }
+        cache.putAll(fresh);
+        for (String id : missing.keySet()) {
+            final Object value = fresh.get(id);
+            if (value == null) {
+                cache.put(id, ABSENT);
+            } else {
+                result.put(id, value);
+            }
+        }
+        if (Boolean.TRUE.equals(properties.getRedisEnabled()) && !fresh.isEmpty()) {
+            final String key = L2_KEY_PREFIX + region;
+            redisTemplate.opsForHash().putAll(key, fresh);
+            redisTemplate.expire(key, properties.getRedisExpireTime(), TimeUnit.MINUTES);
+        }
+        return result;
+    }
+
+    /**
+     * 数据源变更后失效缓存（本实例 L2 立即删除，所有实例的 L1 通过发布订阅失效）
+     *
+     * @param beanClass LoadService 类型
+     * @param tag       tag，无则传 null
+     * @param ids       待失效的 id，为空时失效整个 LoadKey
+     */
+    public void evict(Class<?> beanClass, String tag, Collection<?> ids) {
+        evict(beanClass.getName(), tag, ids);
+    }
+
+    /**
+     * 数据源变更后失效缓存，供数据提供方使用（提供方通常不依赖调用方的 Feign 接口，只能按类名失效）
+     *
+     * @param beanClass LoadService 全限定类名
+     * @param tag       tag，无则传 null
+     * @param ids       待失效的 id，为空时失效整个 LoadKey
+     */
+    public void evict(String beanClass, String tag, Collection<?> ids) {
+        final EvictMessage message = new EvictMessage(beanClass, StringUtils.defaultString(tag),
+                CollUtil.isEmpty(ids) ? List.of() : ids.stream().map(String::valueOf).toList());
+        if (Boolean.TRUE.equals(properties.getRedisEnabled())) {
+            final Set<String> keys = scanKeys(L2_KEY_PREFIX + regionPrefix(message.getBeanClass(), message.getTag()) + "*");
+            if (!keys.isEmpty()) {
+                if (message.getIds().isEmpty()) {
+                    redisTemplate.delete(keys);
+                } else {
+                    keys.forEach(key -> redisTemplate.opsForHash().delete(key, message.getIds().toArray()));
+                }
+            }
+        }
+        stringRedisTemplate.convertAndSend(CHANNEL_REMOTE_CACHE_EVICT, JacksonUtils.toJson(message));
+    }
+
+    @Override
+    public void handleMessage(EvictMessage message) {
+        if (message == null) {
+            return;
+        }
+        final String prefix = regionPrefix(message.getBeanClass(), message.getTag());
+        caches.forEach((region, cache) -> {
+            if (!region.startsWith(prefix)) {
+                return;
+            }
+            if (message.getIds() == null || message.getIds().isEmpty()) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidateAll(message.getIds());
+            }
+        });
+    }
+
+    @Override
+    public Topic topic() {
+        return new ChannelTopic(CHANNEL_REMOTE_CACHE_EVICT);
+    }
+
+    @Override
+    public Type type() {
+        return EvictMessage.class;
+    }
+
+    /**
+     * SCAN 遍历匹配的 key，避免 KEYS 阻塞 Redis
+     */
+    private Set<String> scanKeys(String pattern) {
+        final Set<String> keys = new LinkedHashSet<>();
+        final ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    private void loadFromRedis(String region, Cache<String, Object> cache, Map<String, Object> missing, Map<Object, Object> result) {
+        try {
+            final List<String> ids = new ArrayList<>(missing.keySet());
+            final List<Object> values = redisTemplate.<String, Object>opsForHash().multiGet(L2_KEY_PREFIX + region, ids);
+            for (int i = 0; i < ids.size(); i++) {
+                final Object value = values.get(i);
+                if (value == null) {
+                    continue;
+                }
+                cache.put(ids.get(i), value);
+                result.put(ids.get(i), value);
+                missing.remove(ids.get(i));
+            }
+        } catch (Exception e) {
+            log.warn("读取回显二级缓存失败，回退到 LoadService - {}", e.getMessage());
+        }
+    }
+
+    private Cache<String, Object> createCache(String region) {
+        Cache<String, Object> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMinutes(properties.getRefreshWriteTime()))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "remote." + region);
+        }
+        return cache;
+    }
+
+    /**
+     * 缓存分区：LoadService + tag，字典按语言再分区
+     * <p>
+     * 语言取自当前线程，并行加载时由 {@link RemoteService} 将请求的 LocaleContext 传递到工作线程
+     */
+    private static String region(CacheLoadKeys lk) {
+        final String prefix = regionPrefix(lk.getBeanClass().getName(), lk.getTag());
+        return lk.isTagLoad() ? prefix + LocaleContextHolder.getLocale().toLanguageTag() : prefix;
+    }
+
+    private static String regionPrefix(String beanClass, String tag) {
+        return beanClass + REGION_SEPARATOR + StringUtils.defaultString(tag) + REGION_SEPARATOR;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EvictMessage {
+
+        private String beanClass;
+        private String tag;
+        private List<String> ids;
+    }
+}
@@ -23,21 +23,25 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
 import com.wemirr.framework.boot.remote.properties.RemoteProperties;
 import com.wemirr.framework.commons.annotation.remote.Remote;
+import com.wemirr.framework.commons.concurrent.AsyncExecutor;
 import com.wemirr.framework.commons.remote.LoadService;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 /**
@@ -53,30 +57,24 @@ import java.util.function.Consumer;
 public class RemoteService {
 
     private static final int DEF_MAP_SIZE = 20;
-    private static final String[] BASE_TYPES = {
-            "java.lang.Integer", "java.lang.Byte", "java.lang.Long", "java.lang.Double",
-            "java.lang.Float", "java.lang.Character", "java.lang.Short", "java.lang.Boolean", "java.lang.String"
-    };
-    private static final Map<String, FieldParam> CACHE = new HashMap<>();
     private final Map<String, LoadService> strategyMap = new ConcurrentHashMap<>();
     /**
      * 动态配置参数
      */
     private final RemoteProperties ips;
     /**
-     * 内存缓存
+     * 按 id 缓存的回显数据，未启用本地缓存时为 null
      */
-    private LoadingCache<CacheLoadKeys, Map<Object, Object>> caches;
+    private final RemoteCache remoteCache;
 
     public RemoteService(RemoteProperties ips, Map<String, LoadService> strategyMap) {
+        this(ips, strategyMap, null);
+    }
+
+    public RemoteService(RemoteProperties ips, Map<String, LoadService> strategyMap, RemoteCache remoteCache) {
         this.strategyMap.putAll(strategyMap);
         this.ips = ips;
-        RemoteProperties.LocalCache localCache = ips.getLocalCache();
-        if (localCache.getEnabled()) {
-            this.caches = CacheBuilder.newBuilder().maximumSize(localCache.getMaximumSize())
-                    .refreshAfterWrite(localCache.getRefreshWriteTime(), TimeUnit.MINUTES).build(new DefCacheLoader(localCache));
-        }
-
+        this.remoteCache = remoteCache;
     }
 
     public void action(Object obj, String... ignoreFields) {
@@ -114,7 +112,7 @@ public class RemoteService {
                 return;
             }
 
-            // 2. 依次查询待回显的数据
+            // 2. 并行查询待回显的数据
             this.load(typeMap, isUseCache);
 
             long remoteStart = System.currentTimeMillis();
@@ -160,19 +158,15 @@ public class RemoteService {
             return;
         }
         // 解析方法上的注解，计算出obj对象中所有需要查询的数据
-        List<Field> fields = ClassManager.getFields(obj.getClass());
-
-        for (Field field : fields) {
-            FieldParam fieldParam = getFieldParam(obj, field, typeMap,
-                    innerTypeMap -> parse(ReflectUtil.getFieldValue(obj, field), innerTypeMap, depth + 1, ignoreFields),
+        for (ClassManager.RemoteField field : ClassManager.getFields(obj.getClass())) {
+            Object actualValue = getActualValue(obj, field, typeMap,
+                    innerTypeMap -> parse(field.get(obj), innerTypeMap, depth + 1, ignoreFields),
                     ignoreFields);
-            if (fieldParam == null) {
+            if (actualValue == null) {
                 continue;
             }
-            LoadKey type = fieldParam.getLoadKey();
-            Map<Object, Object> valueMap = typeMap.getOrDefault(type, new ConcurrentHashMap<>(DEF_MAP_SIZE));
-            valueMap.put(fieldParam.getActualValue(), Collections.emptyMap());
-            typeMap.put(type, valueMap);
+            typeMap.computeIfAbsent(field.getLoadKey(), key -> new ConcurrentHashMap<>(DEF_MAP_SIZE))
+                    .put(actualValue, Collections.emptyMap());
         }
     }
 
@@ -193,15 +187,18 @@ public class RemoteService {
      * 加载数据
      * <p>
      * 注意： 需要自行实现LoadService的2个方法
+     * <p>
+     * 存在多个 LoadKey 时在虚拟线程上并行加载，总耗时取决于最慢的 LoadService 而不是耗时之和；
+     * 单个 LoadKey 超时或失败只影响对应字段，其余已加载的数据照常回显
      *
      * @param typeMap typeMap
      */
     @SneakyThrows
     private void load(Map<LoadKey, Map<Object, Object>> typeMap, boolean isUseCache) {
+        Map<LoadKey, CacheLoadKeys> loadKeys = new LinkedHashMap<>(typeMap.size());
         for (Map.Entry<LoadKey, Map<Object, Object>> entries : typeMap.entrySet()) {
             LoadKey type = entries.getKey();
-            Map<Object, Object> valueMap = entries.getValue();
-            Set<Object> keys = valueMap.keySet();
+            Set<Object> keys = entries.getValue().keySet();
             LoadService<Object> loadService = strategyMap.get(type.getBeanClass().getName());
             if (loadService == null) {
                 loadService = strategyMap.values().stream()
@@ -215,12 +212,58 @@ public class RemoteService {
                         "若api指定的是ServiceImpl，请确保在同一个服务内。", type);
                 continue;
             }
-            CacheLoadKeys lk = new CacheLoadKeys(type, loadService, keys);
-            Map<Object, Object> value = ips.getLocalCache().getEnabled() && isUseCache ? caches.get(lk) : lk.loadMap();
-            typeMap.put(type, value);
+            loadKeys.put(type, new CacheLoadKeys(type, loadService, keys));
+        }
+        if (loadKeys.size() <= 1 || !Boolean.TRUE.equals(ips.getParallel())) {
+            for (Map.Entry<LoadKey, CacheLoadKeys> entry : loadKeys.entrySet()) {
+                typeMap.put(entry.getKey(), loadValue(entry.getValue(), isUseCache));
+            }
+            return;
+        }
+        // 虚拟线程上并行加载，同时传递 request 上下文（租户、用户等信息依赖于此）与语言环境（字典按请求语言翻译）
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        final long loadTimeout = ips.getLoadTimeout().toMillis();
+        Map<LoadKey, CompletableFuture<Map<Object, Object>>> futures = new LinkedHashMap<>(loadKeys.size());
+        for (Map.Entry<LoadKey, CacheLoadKeys> entry : loadKeys.entrySet()) {
+            CompletableFuture<Map<Object, Object>> future = AsyncExecutor.async(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    return loadValue(entry.getValue(), isUseCache);
+                } finally {
+                    LocaleContextHolder.resetLocaleContext();
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }).orTimeout(loadTimeout, TimeUnit.MILLISECONDS);
+            futures.put(entry.getKey(), future);
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(ips.getLoadDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // 超时或部分失败，下面逐个处理已完成的结果
+        }
+        for (Map.Entry<LoadKey, CompletableFuture<Map<Object, Object>>> entry : futures.entrySet()) {
+            CompletableFuture<Map<Object, Object>> future = entry.getValue();
+            if (future.state() == Future.State.SUCCESS) {
+                typeMap.put(entry.getKey(), future.resultNow());
+                continue;
+            }
+            if (future.state() == Future.State.FAILED) {
+                log.warn("回显数据加载失败或超时，跳过字段回显：[{}]", entry.getKey(), future.exceptionNow());
+            } else {
+                log.warn("回显数据加载超过截止时间，跳过字段回显：[{}]", entry.getKey());
+                future.cancel(true);
+            }
+            typeMap.put(entry.getKey(), Collections.emptyMap());
         }
     }
 
+    private Map<Object, Object> loadValue(CacheLoadKeys lk, boolean isUseCache) {
+        return remoteCache != null && isUseCache ? remoteCache.getAll(lk) : lk.loadMap();
+    }
+
     /**
      * 向obj对象的字段中回显值
      *
@@ -254,21 +297,15 @@ public class RemoteService {
 
     private void iterationWrite(Object obj, Map<LoadKey, Map<Object, Object>> typeMap, int depth, String... ignoreFields) {
         // 解析方法上的注解，计算出obj对象中所有需要查询的数据
-        List<Field> fields = ClassManager.getFields(obj.getClass());
-        for (Field field : fields) {
-            FieldParam fieldParam = getFieldParam(obj, field, typeMap,
-                    innerTypeMap -> write(ReflectUtil.getFieldValue(obj, field), innerTypeMap, depth + 1, ignoreFields),
+        for (ClassManager.RemoteField field : ClassManager.getFields(obj.getClass())) {
+            Object actualValue = getActualValue(obj, field, typeMap,
+                    innerTypeMap -> write(field.get(obj), innerTypeMap, depth + 1, ignoreFields),
                     ignoreFields);
-            if (fieldParam == null) {
+            if (actualValue == null) {
                 continue;
             }
-            Remote remote = fieldParam.getRemote();
-            Object actualValue = fieldParam.getActualValue();
-            Object originalValue = fieldParam.getOriginalValue();
-            String fieldName = fieldParam.getFieldName();
-
-            LoadKey loadKey = fieldParam.getLoadKey();
-            Object remoteValue = getRemoteValue(remote, actualValue, originalValue, loadKey, typeMap);
+            Remote remote = field.getRemote();
+            Object remoteValue = getRemoteValue(actualValue, field.getLoadKey(), typeMap);
             if (remoteValue == null) {
                 continue;
             }
@@ -279,36 +316,23 @@ public class RemoteService {
             if (remoteValue instanceof Map && !Object.class.equals(remote.objectClass())) {
                 remoteValue = BeanUtil.toBean(remoteValue, remote.objectClass());
             }
-            final Remote.FieldRef[] fieldRefs = remote.fields();
-            // 将新的值 反射 到指定字段
-            if (ArrayUtil.isNotEmpty(fieldRefs)) {
-                for (Remote.FieldRef fieldRef : fieldRefs) {
-                    setFieldValue(obj, remoteValue, remote.rule(), fieldRef.source(), fieldRef.target());
+            // 将新的值 写入到指定字段
+            if (field.hasRefs()) {
+                for (ClassManager.FieldRefTarget ref : field.getRefs()) {
+                    Object value = ref.source() == null ? remoteValue : getFieldValue(remoteValue, ref.source());
+                    ref.target().set(obj, value);
                 }
             } else {
-                ReflectUtil.setFieldValue(obj, field, remoteValue);
+                field.set(obj, remoteValue);
             }
         }
     }
 
-    private void setFieldValue(Object obj, Object remoteValue, String rule, String original, String source) {
-        Object value = null;
-        if (StringUtils.isAllBlank(rule, original)) {
-            value = remoteValue;
-        } else if (StringUtils.isBlank(rule) || !original.contains(rule)) {
-            value = getFieldValue(remoteValue, original);
-        } else {
-            // 包含指定分割规则
-            value = getFieldValue(remoteValue, StringUtils.replace(original, rule, StringUtils.EMPTY));
-        }
-        ReflectUtil.setFieldValue(obj, source, value);
-    }
-
     private Object getFieldValue(Object remoteValue, String fieldName) {
         if (remoteValue instanceof Map) {
             return ((Map<?, ?>) remoteValue).get(fieldName);
         }
-        return ReflectUtil.getFieldValue(remoteValue, fieldName);
+        return ClassManager.getFieldValue(remoteValue, fieldName);
     }
 
     /**
@@ -318,7 +342,7 @@ public class RemoteService {
      * @param typeMap     已查询后的集合
      * @return 已查询后的值
      */
-    private Object getRemoteValue(Remote remote, Object actualValue, Object originalValue, LoadKey loadKey, Map<LoadKey, Map<Object, Object>> typeMap) {
+    private Object getRemoteValue(Object actualValue, LoadKey loadKey, Map<LoadKey, Map<Object, Object>> typeMap) {
         if (ObjectUtil.isEmpty(actualValue)) {
             return null;
         }
@@ -353,78 +377,32 @@ public class RemoteService {
     }
 
     /**
-     * 提取参数
+     * 提取查询值
      *
      * @param obj          当前对象
      * @param field        当前字段
      * @param typeMap      待查询的集合
      * @param consumer     字段为复杂类型时的回调处理
      * @param ignoreFields 忽略回显的字段
-     * @return 字段参数
+     * @return 查询值，无需处理时返回 null
      */
-    private FieldParam getFieldParam(Object obj, Field field, Map<LoadKey, Map<Object, Object>> typeMap,
-                                     Consumer<Map<LoadKey, Map<Object, Object>>> consumer, String... ignoreFields) {
-        String key = obj.getClass().getName() + "###" + field.getName();
-        FieldParam fieldParam;
+    private Object getActualValue(Object obj, ClassManager.RemoteField field, Map<LoadKey, Map<Object, Object>> typeMap,
+                                  Consumer<Map<LoadKey, Map<Object, Object>>> consumer, String... ignoreFields) {
         // 是否排除
         if (ArrayUtil.contains(ignoreFields, field.getName())) {
             log.debug("已经忽略{}字段的解析", field.getName());
             return null;
         }
         // 类型
-        if (isNotBaseType(field)) {
+        if (!field.isBaseType()) {
             consumer.accept(typeMap);
             return null;
         }
-
-        if (CACHE.containsKey(key)) {
-            fieldParam = CACHE.get(key);
-        } else {
-            // 是否标记@Remote注解
-            Remote remote = field.getDeclaredAnnotation(Remote.class);
-            LoadKey loadKey = new LoadKey(remote);
-            fieldParam = FieldParam.builder().remote(remote).loadKey(loadKey)
-                    .fieldName(field.getName()).build();
-            CACHE.put(key, fieldParam);
-        }
-        field.setAccessible(true);
-        Object originalValue = ReflectUtil.getFieldValue(obj, field);
-        if (originalValue == null) {
-            log.debug("字段[{}]为空,跳过", field.getName());
-            return null;
-        }
-        Object actualValue = (Object) originalValue;
+        Object actualValue = field.get(obj);
         if (ObjectUtil.isEmpty(actualValue)) {
+            log.debug("字段[{}]为空,跳过", field.getName());
             return null;
         }
-        fieldParam.setOriginalValue(originalValue);
-        fieldParam.setActualValue(actualValue);
-        return fieldParam;
-    }
-
-    /**
-     * 判断字段是否不为基本类型
-     *
-     * @param field 字段
-     * @return 是基本类型返回false
-     */
-    private boolean isNotBaseType(Field field) {
-        return !isBaseType(field);
-    }
-
-    /**
-     * 判断字段是否为基本类型
-     *
-     * @param field 字段
-     * @return 是基本类型返回true
-     */
-    private boolean isBaseType(Field field) {
-        String typeName = field.getType().getName();
-        for (String baseType : BASE_TYPES) {
-            if (baseType.equals(typeName)) {
-                return true;
-            }
-        }
-        return false;
+        return actualValue;
     }
 }
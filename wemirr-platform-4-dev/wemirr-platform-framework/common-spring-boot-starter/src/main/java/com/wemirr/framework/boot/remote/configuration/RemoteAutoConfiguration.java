@@ -19,19 +19,24 @@
 
 package com.wemirr.framework.boot.remote.configuration;
 
+import com.wemirr.framework.boot.remote.RemoteCache;
 import com.wemirr.framework.boot.remote.RemoteService;
 import com.wemirr.framework.boot.remote.dict.DictLoadService;
 import com.wemirr.framework.boot.remote.properties.RemoteProperties;
 import com.wemirr.framework.commons.remote.LoadService;
 import com.wemirr.framework.i18n.I18nMessageProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.util.Map;
 
@@ -55,8 +60,24 @@ public class RemoteAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public DictLoadService dictLoadService(RedisTemplate<String, Object> redisTemplate, I18nMessageProvider i18nMessageProvider) {
-        return new DictLoadService(redisTemplate, i18nMessageProvider);
+    public DictLoadService dictLoadService(RedisTemplate<String, Object> redisTemplate, I18nMessageProvider i18nMessageProvider,
+                                           ObjectProvider<RemoteCache> remoteCache) {
+        return new DictLoadService(redisTemplate, i18nMessageProvider, remoteCache);
+    }
+
+    /**
+     * 回显数据缓存（L1 本地 + 可选 L2 Redis）
+     *
+     * @param redisTemplate 回显专用 RedisTemplate
+     * @return RemoteCache
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = RemoteProperties.PREFIX, name = "local-cache.enabled", havingValue = "true")
+    public RemoteCache remoteCache(RemoteProperties remoteProperties,
+                                   @Qualifier("remoteAloneRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                   StringRedisTemplate stringRedisTemplate, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RemoteCache(remoteProperties.getLocalCache(), redisTemplate, stringRedisTemplate, meterRegistry.getIfAvailable());
     }
 
     /**
@@ -67,7 +88,8 @@ public class RemoteAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public RemoteService getRemoteService(RemoteProperties remoteProperties, Map<String, LoadService> strategyMap) {
-        return new RemoteService(remoteProperties, strategyMap);
+    public RemoteService getRemoteService(RemoteProperties remoteProperties, Map<String, LoadService> strategyMap,
+                                          ObjectProvider<RemoteCache> remoteCache) {
+        return new RemoteService(remoteProperties, strategyMap, remoteCache.getIfAvailable());
     }
 }
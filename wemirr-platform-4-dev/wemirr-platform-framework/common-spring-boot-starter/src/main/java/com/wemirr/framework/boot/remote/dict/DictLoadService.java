@@ -1,10 +1,12 @@
 package com.wemirr.framework.boot.remote.dict;
 
 import cn.hutool.core.lang.Pair;
+import com.wemirr.framework.boot.remote.RemoteCache;
 import com.wemirr.framework.commons.remote.LoadService;
 import com.wemirr.framework.i18n.I18nMessageProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.redis.core.RedisTemplate;
 
@@ -25,6 +27,10 @@ public class DictLoadService implements LoadService<Object> {
     private static final String PLAT_DICT_HASH_KEY = "dict:platform";
     private final RedisTemplate<String, Object> redisTemplate;
     private final I18nMessageProvider i18nMessageProvider;
+    /**
+     * 回显缓存（未启用时不可用），字典刷新后按 tag 失效
+     */
+    private final ObjectProvider<RemoteCache> remoteCache;
 
     @Override
     public Map<Object, Object> findByIds(Set<Object> ids) {
@@ -66,6 +72,7 @@ public class DictLoadService implements LoadService<Object> {
             }
             Map<String, String> map = value.stream().collect(toMap(Pair::getKey, Pair::getValue));
             redisTemplate.opsForHash().put(PLAT_DICT_HASH_KEY, key, map);
+            remoteCache.ifAvailable(cache -> cache.evict(DictLoadService.class, key, null));
         }
     }
 }
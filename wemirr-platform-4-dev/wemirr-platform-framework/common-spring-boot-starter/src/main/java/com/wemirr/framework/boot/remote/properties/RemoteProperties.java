@@ -22,6 +22,8 @@ package com.wemirr.framework.boot.remote.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * 配置类
  *
@@ -42,6 +44,21 @@ public class RemoteProperties {
      */
     private Integer maxDepth = 3;
 
+    /**
+     * 不同 LoadKey 的数据是否并行加载（虚拟线程）
+     */
+    private Boolean parallel = true;
+
+    /**
+     * 单个 LoadKey 的加载超时时间，超时后该字段不回显，其余字段照常回显
+     */
+    private Duration loadTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 一次回显中全部 LoadKey 的加载截止时间
+     */
+    private Duration loadDeadline = Duration.ofSeconds(5);
+
     /**
      * 本地缓存配置信息
      */
@@ -64,17 +81,21 @@ public class RemoteProperties {
          */
         private Boolean enabled = false;
         /**
-         * guava缓存的 最大数
+         * 每个 LoadKey 本地缓存的最大条数（按单个 id 计数）
          */
         private Integer maximumSize = 1000;
         /**
-         * guava更新缓存的下一次时间,分钟
+         * 本地缓存写入后的过期时间,分钟
          */
         private Integer refreshWriteTime = 2;
         /**
-         * guava自动刷新缓存的线程数量
+         * 是否启用 Redis 二级缓存（使用 remoteAloneRedisTemplate），多实例间共享已加载的回显数据
+         */
+        private Boolean redisEnabled = false;
+        /**
+         * Redis 二级缓存的过期时间,分钟
          */
-        private Integer refreshThreadPoolSize = 10;
+        private Integer redisExpireTime = 30;
     }
 
     @Data
@@ -19,24 +19,32 @@
 
 package com.wemirr.framework.db.configuration;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import com.wemirr.framework.commons.security.AuthenticationContext;
 import com.wemirr.framework.db.mybatisplus.audit.AuditInterceptor;
 import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeHandler;
+import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeInStrategy;
+import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeInterceptor;
+import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeSqlBuilder;
+import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeSqlCache;
+import com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeSqlCacheMetrics;
+import com.wemirr.framework.db.mybatisplus.ext.BulkWriteHelper;
 import com.wemirr.framework.db.mybatisplus.handler.MyBatisMetaObjectHandler;
 import com.wemirr.framework.db.mybatisplus.injector.MySqlInjector;
 import com.wemirr.framework.db.properties.DatabaseProperties;
 import com.wemirr.framework.db.properties.MultiTenantType;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -120,9 +128,15 @@ public abstract class BaseMybatisConfiguration {
 
     protected void loadInnerInterceptor(MybatisPlusInterceptor interceptor) {
         final DatabaseProperties.Intercept intercept = properties.getIntercept();
-        if (properties.getDataPermission().isEnabled()) {
+        final DatabaseProperties.DataPermission dataPermission = properties.getDataPermission();
+        if (dataPermission.isEnabled()) {
+            DataScopeSqlBuilder.setMode(dataPermission.getMode());
+            DataScopeSqlBuilder.setInThreshold(dataPermission.getInThreshold());
+            DataScopeSqlBuilder.setInStrategy(DataScopeInStrategy.of(dataPermission.getInStrategy(),
+                    intercept.getPagination().getDbType(), dataPermission.getInChunkSize()));
             // 分页拦截器之前的插件 => 数据权限插件
-            interceptor.addInnerInterceptor(new DataPermissionInterceptor(new DataScopeHandler(context)));
+            interceptor.addInnerInterceptor(new DataScopeInterceptor(new DataScopeHandler(context), context,
+                    dataPermission.isSqlCache() ? dataScopeSqlCache() : null));
         }
         if (intercept.isBlockAttack()) {
             // 防止全表更新与删除插件: BlockAttackInnerInterceptor
@@ -138,7 +152,10 @@ public abstract class BaseMybatisConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public MySqlInjector getMySqlInjector() {
-        return new MySqlInjector();
+        final DbType dbType = properties.getIntercept().getPagination().getDbType();
+        final DatabaseProperties.Bulk bulk = properties.getBulk();
+        BulkWriteHelper.configure(dbType, bulk.getMaxParameters(), bulk.getMaxPacketSize(), bulk.getMaxRows());
+        return dbType == null ? new MySqlInjector() : new MySqlInjector(dbType);
     }
 
     @Bean
@@ -146,4 +163,20 @@ public abstract class BaseMybatisConfiguration {
     public MetaObjectHandler metaObjectHandler() {
         return new MyBatisMetaObjectHandler(context);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DataScopeSqlCache dataScopeSqlCache() {
+        return new DataScopeSqlCache(properties.getDataPermission().getSqlCacheSize());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class DataScopeSqlCacheMetricsConfiguration {
+
+        @Bean
+        public DataScopeSqlCacheMetrics dataScopeSqlCacheMetrics(DataScopeSqlCache dataScopeSqlCache) {
+            return new DataScopeSqlCacheMetrics(dataScopeSqlCache);
+        }
+    }
 }
@@ -31,9 +31,11 @@ import com.wemirr.framework.db.dynamic.core.redis.RedisDynamicDataSourceEventPub
 import com.wemirr.framework.db.dynamic.feign.TenantFeignClient;
 import com.wemirr.framework.db.properties.DatabaseProperties;
 import com.wemirr.framework.redis.plus.listener.MessageEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationListener;
@@ -97,6 +99,16 @@ public class DynamicDataSourceEventBusAutoConfiguration {
         return headerProcessor;
     }
 
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class TenantPoolMetricsConfiguration {
+
+        @Bean
+        public TenantPoolMetrics tenantPoolMetrics(DynamicDataSourceHandler handler) {
+            return new TenantPoolMetrics(handler);
+        }
+    }
+
     private String getTenantDb(HttpServletRequest request, DatabaseProperties.MultiTenant multiTenant, String tenantCode) {
         if (StringUtils.isBlank(tenantCode) || StringUtils.equals(tenantCode, UNDEFINED)) {
             log.debug("TenantCode is null,Switch the default datasource => {}", multiTenant.getDefaultDsName());
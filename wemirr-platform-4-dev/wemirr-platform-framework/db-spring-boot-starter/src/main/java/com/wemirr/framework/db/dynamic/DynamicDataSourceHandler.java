@@ -32,6 +32,8 @@ import com.wemirr.framework.db.properties.DatabaseProperties;
 import com.wemirr.framework.db.properties.MultiTenantType;
 import com.wemirr.framework.db.utils.JdbcUrlUtils;
 import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -46,9 +48,14 @@ import javax.sql.DataSource;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 动态数据源处理器 (纯净版 - 无业务依赖)
@@ -60,8 +67,18 @@ import java.util.concurrent.ConcurrentHashMap;
 public class DynamicDataSourceHandler {
 
     private static final String TENANT_POOL_PREFIX = "TenantPool_%s";
+    private static final String SHARED_POOL_PREFIX = "TenantSharedPool_%s";
 
-    private final Map<String, DataSource> sharedPools = new ConcurrentHashMap<>();
+    /**
+     * 共享连接池，key = jdbcUrl|username
+     */
+    private final Map<String, TenantPoolDataSource> sharedPools = new ConcurrentHashMap<>();
+    /**
+     * 租户独占连接池，key = dsKey
+     */
+    private final Map<String, TenantPoolDataSource> tenantPools = new ConcurrentHashMap<>();
+    private final TenantPoolDataSource.Stats poolStats = new TenantPoolDataSource.Stats();
+    private ScheduledExecutorService evictor;
 
     @Resource
     private DynamicRoutingDataSource dynamicRoutingDataSource;
@@ -72,6 +89,24 @@ public class DynamicDataSourceHandler {
     @Resource
     private ResourceLoader resourceLoader;
 
+    @PostConstruct
+    public void startEvictor() {
+        var pool = databaseProperties.getMultiTenant().getPool();
+        if (pool.getIdleTimeout().isZero() && pool.getMaxActivePools() <= 0) {
+            return;
+        }
+        var interval = pool.getEvictInterval().toMillis();
+        evictor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("tenant-pool-evictor").daemon(true).factory());
+        evictor.scheduleWithFixedDelay(this::evictIdlePools, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopEvictor() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+
     /**
      * 事件响应入口
      */
@@ -179,8 +214,9 @@ public class DynamicDataSourceHandler {
     }
 
     private void addDataSource(String dsKey, DynamicDataSourceEvent event) {
-        if (isPostgreSqlSchemaStrategy(event)) {
-            addPostgreSqlSchemaDataSource(dsKey, event);
+        removeDataSource(dsKey);
+        if (isSharedPoolStrategy(event)) {
+            addSharedDataSource(dsKey, event);
             return;
         }
 
@@ -189,11 +225,8 @@ public class DynamicDataSourceHandler {
         var poolName = TENANT_POOL_PREFIX.formatted(event.getTenantCode());
         var property = createProperty(poolName, event, finalUrl);
 
-        if (dynamicRoutingDataSource.getDataSources().containsKey(dsKey)) {
-            dynamicRoutingDataSource.removeDataSource(dsKey);
-        }
-
-        var dataSource = hikariDataSourceCreator.createDataSource(property);
+        var dataSource = new TenantPoolDataSource(poolName, () -> hikariDataSourceCreator.createDataSource(property), poolStats);
+        tenantPools.put(dsKey, dataSource);
         dynamicRoutingDataSource.addDataSource(dsKey, dataSource);
         log.info("DataSource [{}] added. URL: {}", dsKey, finalUrl);
     }
@@ -205,21 +238,40 @@ public class DynamicDataSourceHandler {
                 && MultiTenantType.SCHEMA == event.getStrategy();
     }
 
-    private void addPostgreSqlSchemaDataSource(String dsKey, DynamicDataSourceEvent event) {
-        var poolKey = event.getJdbcUrl() + "|" + event.getUsername();
-        var shared = sharedPools.computeIfAbsent(poolKey, k -> {
-            var poolName = "TenantSharedPool_" + Integer.toHexString(k.hashCode());
-            var property = createProperty(poolName, event, event.getJdbcUrl());
-            return hikariDataSourceCreator.createDataSource(property);
-        });
+    /**
+     * PostgreSQL SCHEMA 策略始终共享连接池；开启 pool.sharing 后 MySQL 同一实例的租户也共享连接池
+     */
+    private boolean isSharedPoolStrategy(DynamicDataSourceEvent event) {
+        if (isPostgreSqlSchemaStrategy(event)) {
+            return true;
+        }
+        return databaseProperties.getMultiTenant().getPool().isSharing()
+                && "mysql".equalsIgnoreCase(event.getDbType())
+                && resolveSchemaName(event) != null;
+    }
 
-        if (dynamicRoutingDataSource.getDataSources().containsKey(dsKey)) {
-            dynamicRoutingDataSource.removeDataSource(dsKey);
+    private String resolveSchemaName(DynamicDataSourceEvent event) {
+        if (event.getSchemaName() != null && !event.getSchemaName().isBlank()) {
+            return event.getSchemaName();
         }
+        return JdbcUrlUtils.extractSchema(event.getJdbcUrl());
+    }
+
+    private void addSharedDataSource(String dsKey, DynamicDataSourceEvent event) {
+        // MySQL 共享连接池不指定默认库，由 SchemaSwitchingDataSource 按连接切换 catalog
+        var catalog = !isPostgreSqlSchemaStrategy(event);
+        var schemaName = catalog ? resolveSchemaName(event) : event.getSchemaName();
+        var url = catalog ? JdbcUrlUtils.replaceSchema(event.getJdbcUrl(), "") : event.getJdbcUrl();
+        var poolKey = url + "|" + event.getUsername();
+        var shared = sharedPools.computeIfAbsent(poolKey, k -> {
+            var poolName = SHARED_POOL_PREFIX.formatted(Integer.toHexString(k.hashCode()));
+            var property = createProperty(poolName, event, url);
+            return new TenantPoolDataSource(poolName, () -> hikariDataSourceCreator.createDataSource(property), poolStats);
+        });
 
-        var switching = new SchemaSwitchingDataSource(shared, event.getSchemaName(), poolKey);
+        var switching = new SchemaSwitchingDataSource(shared, schemaName, poolKey, catalog);
         dynamicRoutingDataSource.addDataSource(dsKey, switching);
-        log.info("DataSource [{}] added. URL: {}", dsKey, event.getJdbcUrl());
+        log.info("DataSource [{}] added on shared pool [{}]. URL: {}", dsKey, shared.getName(), url);
     }
 
     private void removeDataSource(String dsKey) {
@@ -238,6 +290,10 @@ public class DynamicDataSourceHandler {
         if (dynamicRoutingDataSource.getDataSources().containsKey(dsKey)) {
             dynamicRoutingDataSource.removeDataSource(dsKey);
         }
+        var removed = tenantPools.remove(dsKey);
+        if (removed != null) {
+            removed.close();
+        }
     }
 
     private void cleanupSharedPoolIfNoLongerUsed(String poolKey) {
@@ -248,11 +304,59 @@ public class DynamicDataSourceHandler {
         }
 
         var removed = sharedPools.remove(poolKey);
-        if (removed instanceof HikariDataSource hikari) {
-            hikari.close();
+        if (removed != null) {
+            removed.close();
         }
     }
 
+    /**
+     * 关闭空闲的连接池；超出 maxActivePools 时再按最近最少使用关闭没有借出连接的连接池
+     */
+    private void evictIdlePools() {
+        try {
+            var pool = databaseProperties.getMultiTenant().getPool();
+            List<TenantPoolDataSource> pools = new ArrayList<>(tenantPools.values());
+            pools.addAll(sharedPools.values());
+            var idleNanos = pool.getIdleTimeout().toNanos();
+            if (idleNanos > 0) {
+                pools.forEach(ds -> ds.evictIfIdle(idleNanos));
+            }
+            if (pool.getMaxActivePools() <= 0) {
+                return;
+            }
+            var open = pools.stream().filter(TenantPoolDataSource::isOpen)
+                    .sorted(Comparator.comparingLong(TenantPoolDataSource::getLastAccessNanos))
+                    .toList();
+            var excess = open.size() - pool.getMaxActivePools();
+            for (int i = 0; i < open.size() && excess > 0; i++) {
+                if (open.get(i).evictIfIdle(0)) {
+                    excess--;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Tenant pool eviction failed", e);
+        }
+    }
+
+    /**
+     * 已注册的连接池数量（含未创建的）
+     */
+    public int getPoolCount() {
+        return tenantPools.size() + sharedPools.size();
+    }
+
+    /**
+     * 已创建（持有物理连接）的连接池数量
+     */
+    public int getOpenPoolCount() {
+        return (int) (tenantPools.values().stream().filter(TenantPoolDataSource::isOpen).count()
+                + sharedPools.values().stream().filter(TenantPoolDataSource::isOpen).count());
+    }
+
+    public TenantPoolDataSource.Stats getPoolStats() {
+        return poolStats;
+    }
+
     @SneakyThrows
     private void runScript(DataSource dataSource, Map<String, Object> variables) {
         Assert.notNull(dataSource, "dataSource");
@@ -1,29 +1,48 @@
 package com.wemirr.framework.db.dynamic;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import javax.sql.DataSource;
 import java.io.PrintWriter;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * 共享连接池下的 Schema 切换包装器：
- * - getConnection 时切换到目标 schema
- * - close(归还连接) 前恢复原 schema，避免串租户
+ * - getConnection 时切换到目标 schema（MySQL 等以 catalog 区分库的数据库切换 catalog）
+ * - 物理连接记录当前 schema 标记，已指向目标 schema 时不再重复切换；
+ *   共享连接池只通过本包装器借出连接，每次借出都会校准 schema，因此归还时无需恢复
+ * - 要求共享连接池本身不配置默认 schema / catalog（否则连接池归还时的重置会让标记失效）
  */
 public final class SchemaSwitchingDataSource implements DataSource {
 
+    /**
+     * 物理连接当前所在的 schema / catalog（弱引用，连接被连接池回收后自动清除）
+     */
+    private static final ConcurrentMap<Connection, String> SCHEMA_TAGS = Caffeine.newBuilder()
+            .weakKeys().<Connection, String>build().asMap();
+
     private final DataSource delegate;
     private final String schemaName;
     private final String poolKey;
+    /**
+     * true = 通过 setCatalog 切换（MySQL），false = 通过 setSchema 切换（PostgreSQL）
+     */
+    private final boolean catalog;
 
     public SchemaSwitchingDataSource(DataSource delegate, String schemaName, String poolKey) {
+        this(delegate, schemaName, poolKey, false);
+    }
+
+    public SchemaSwitchingDataSource(DataSource delegate, String schemaName, String poolKey, boolean catalog) {
         this.delegate = Objects.requireNonNull(delegate, "delegate");
         this.schemaName = Objects.requireNonNull(schemaName, "schemaName");
         this.poolKey = Objects.requireNonNull(poolKey, "poolKey");
+        this.catalog = catalog;
     }
 
     public String getPoolKey() {
@@ -43,45 +62,55 @@ public final class SchemaSwitchingDataSource implements DataSource {
     }
 
     private Connection wrapConnection(Connection conn) throws SQLException {
-        final String originalSchema = safeGetSchema(conn);
+        final Connection physical;
         try {
-            conn.setSchema(schemaName);
-        } catch (SQLException e) {
+            physical = physical(conn);
+            // 物理连接已指向目标 schema 时跳过切换（省去 getSchema / setSchema 往返）
+            if (!schemaName.equals(SCHEMA_TAGS.get(physical))) {
+                if (catalog) {
+                    conn.setCatalog(schemaName);
+                } else {
+                    conn.setSchema(schemaName);
+                }
+                SCHEMA_TAGS.put(physical, schemaName);
+            }
+        } catch (SQLException | RuntimeException e) {
+            untag(conn);
             conn.close();
             throw e;
         }
-
-        return (Connection) Proxy.newProxyInstance(
-                conn.getClass().getClassLoader(),
-                new Class[]{Connection.class},
-                (proxy, method, args) -> {
-                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
-                        try {
-                            String resetSchema = (originalSchema == null || originalSchema.isBlank()) ? "public" : originalSchema;
-                            conn.setSchema(resetSchema);
-                        } finally {
-                            conn.close();
-                        }
-                        return null;
-                    }
-                    if ("isClosed".equals(method.getName()) && method.getParameterCount() == 0) {
-                        return conn.isClosed();
-                    }
-                    return method.invoke(conn, args);
-                }
-        );
+        return new SchemaTaggedConnection(conn, physical, catalog);
     }
 
-    private String safeGetSchema(Connection conn) {
+    /**
+     * 连接池返回的通常是每次借出新建的代理对象，标记需要落在底层物理连接上
+     */
+    private static Connection physical(Connection conn) {
         try {
-            return conn.getSchema();
-        } catch (SQLFeatureNotSupportedException ignored) {
-            return null;
+            final Connection physical = conn.unwrap(Connection.class);
+            return physical == null ? conn : physical;
         } catch (SQLException ignored) {
-            return null;
+            return conn;
         }
     }
 
+    static String tagOf(Connection physical) {
+        return SCHEMA_TAGS.get(physical);
+    }
+
+    static void tag(Connection physical, String schema) {
+        if (schema == null) {
+            SCHEMA_TAGS.remove(physical);
+        } else {
+            SCHEMA_TAGS.put(physical, schema);
+        }
+    }
+
+    static void untag(Connection conn) {
+        SCHEMA_TAGS.remove(conn);
+        SCHEMA_TAGS.remove(physical(conn));
+    }
+
     @Override
     public PrintWriter getLogWriter() throws SQLException {
         return delegate.getLogWriter();
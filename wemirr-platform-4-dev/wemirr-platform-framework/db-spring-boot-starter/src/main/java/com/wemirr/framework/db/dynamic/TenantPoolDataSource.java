@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.dynamic;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 租户连接池（按需创建、空闲回收）
+ * <p>
+ * 注册到 DynamicRoutingDataSource 的始终是该对象本身，真实的连接池在第一次获取连接时才创建；
+ * 空闲超时或超出连接池数量上限时只关闭内部连接池，下次访问会重新创建，路由无需变更
+ *
+ * @author Levin
+ */
+@Slf4j
+public class TenantPoolDataSource extends AbstractDataSource implements Closeable {
+
+    @Getter
+    private final String name;
+    private final Supplier<DataSource> factory;
+    private final Stats stats;
+
+    private volatile DataSource pool;
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    public TenantPoolDataSource(String name, Supplier<DataSource> factory, Stats stats) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.stats = Objects.requireNonNull(stats, "stats");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire(ds -> ds.getConnection(username, password));
+    }
+
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        lastAccessNanos = System.nanoTime();
+        final long start = System.nanoTime();
+        final DataSource ds = obtain();
+        try {
+            return supplier.get(ds);
+        } catch (SQLException e) {
+            // 与空闲回收并发时可能拿到刚被关闭的连接池，重新创建后重试一次
+            if (ds instanceof HikariDataSource hikari && hikari.isClosed()) {
+                return supplier.get(obtain());
+            }
+            throw e;
+        } finally {
+            stats.acquireCount.increment();
+            stats.acquireNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private DataSource obtain() {
+        DataSource ds = pool;
+        if (ds == null) {
+            synchronized (this) {
+                ds = pool;
+                if (ds == null) {
+                    ds = factory.get();
+                    pool = ds;
+                    log.info("Tenant pool [{}] created.", name);
+                }
+            }
+        }
+        return ds;
+    }
+
+    /**
+     * 内部连接池是否已创建
+     */
+    public boolean isOpen() {
+        return pool != null;
+    }
+
+    /**
+     * 最近一次获取连接的时间（System.nanoTime）
+     */
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /**
+     * 空闲超过 idleNanos 且没有借出的连接时关闭内部连接池
+     *
+     * @param idleNanos 空闲时长
+     * @return 是否已关闭
+     */
+    public synchronized boolean evictIfIdle(long idleNanos) {
+        final DataSource ds = pool;
+        if (ds == null || System.nanoTime() - lastAccessNanos < idleNanos) {
+            return false;
+        }
+        if (ds instanceof HikariDataSource hikari) {
+            final HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+            if (mxBean != null && mxBean.getActiveConnections() > 0) {
+                return false;
+            }
+        }
+        pool = null;
+        closeQuietly(ds);
+        log.info("Tenant pool [{}] evicted after being idle.", name);
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        final DataSource ds = pool;
+        pool = null;
+        if (ds != null) {
+            closeQuietly(ds);
+        }
+    }
+
+    private void closeQuietly(DataSource ds) {
+        if (ds instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close tenant pool [{}]", name, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * 所有租户连接池共享的获取连接统计
+     */
+    @Getter
+    public static class Stats {
+
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+    }
+}
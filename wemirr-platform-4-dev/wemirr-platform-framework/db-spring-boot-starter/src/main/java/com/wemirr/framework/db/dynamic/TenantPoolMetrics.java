@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.dynamic;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租户连接池指标
+ * <p>
+ * tenant.datasource.pools：已注册 / 已创建的连接池数量
+ * <p>
+ * tenant.datasource.acquire：获取连接的次数与等待耗时（含连接池按需创建的耗时）
+ *
+ * @author Levin
+ */
+@RequiredArgsConstructor
+public class TenantPoolMetrics implements MeterBinder {
+
+    private final DynamicDataSourceHandler handler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tenant.datasource.pools", handler, DynamicDataSourceHandler::getPoolCount)
+                .tag("state", "registered")
+                .description("已注册的租户连接池数量")
+                .register(registry);
+        Gauge.builder("tenant.datasource.pools", handler, DynamicDataSourceHandler::getOpenPoolCount)
+                .tag("state", "open")
+                .description("已创建的租户连接池数量")
+                .register(registry);
+        FunctionTimer.builder("tenant.datasource.acquire", handler.getPoolStats(),
+                        stats -> stats.getAcquireCount().sum(),
+                        stats -> stats.getAcquireNanos().sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("租户连接池获取连接耗时")
+                .register(registry);
+    }
+}
@@ -108,4 +108,29 @@ public final class DataScopeConstants {
          */
         SEPARATE_DATABASE
     }
+
+    /**
+     * 超过阈值（分库模式）时的 IN 条件构建策略
+     */
+    public enum InStrategy {
+        /**
+         * 按数据库方言自动选择：PostgreSQL 系使用 ARRAY，Oracle/达梦 使用 PARTITIONED，其余使用 IN_LIST
+         */
+        AUTO,
+
+        /**
+         * 单个 IN 列表
+         */
+        IN_LIST,
+
+        /**
+         * 按固定大小切分为多个 IN 并用 OR 连接
+         */
+        PARTITIONED,
+
+        /**
+         * 数组常量 {@code col = ANY('{...}')}（仅 PostgreSQL 系）
+         */
+        ARRAY
+    }
 }
@@ -64,6 +64,19 @@ public class DataScopeHandler implements MultiDataPermissionHandler {
         return DataScopeSqlBuilder.build(context, table, rule);
     }
 
+    /**
+     * 计算当前请求在该语句上的数据权限形状，用于 SQL 模板缓存的 key
+     *
+     * @param mappedStatementId 语句ID
+     * @return 形状描述
+     */
+    public String shape(String mappedStatementId) {
+        if (context.anonymous()) {
+            return "anonymous";
+        }
+        return DataScopeSqlBuilder.shape(context, resolveRule(mappedStatementId));
+    }
+
     /**
      * 解析数据权限规则
      * <p>优先从上下文获取（API方式），其次从注解解析</p>
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.datascope.core;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 数据权限 IN 条件构建策略
+ * <p>
+ * 权限范围较大时，逐个 id 生成 {@link LongValue} 节点会让 SQL 文本与 JSqlParser 语法树同时膨胀，
+ * 可按数据库方言选择更紧凑的写法：
+ * - IN_LIST：单个 IN 列表（默认）
+ * - PARTITIONED：按固定大小切分为多个 IN 再用 OR 连接（Oracle/达梦 单个 IN 最多 1000 项）
+ * - ARRAY：PostgreSQL 系使用 {@code col = ANY('{1,2,3}')}，整段 id 只占一个字符串常量
+ * </p>
+ *
+ * @author Levin
+ */
+@FunctionalInterface
+public interface DataScopeInStrategy {
+
+    /**
+     * 构建条件表达式
+     *
+     * @param column   SQL列
+     * @param values   权限值（非空）
+     * @param javaType 列的Java类型
+     * @return 条件表达式
+     */
+    Expression build(Column column, List<?> values, Class<?> javaType);
+
+    /**
+     * 单个 IN 列表
+     */
+    DataScopeInStrategy IN_LIST = (column, values, javaType) -> new InExpression(column, valuesList(values, javaType));
+
+    /**
+     * PostgreSQL 数组常量，类型由列类型推断
+     */
+    DataScopeInStrategy ARRAY = (column, values, javaType) -> {
+        final StringBuilder literal = new StringBuilder(values.size() * 20 + 2).append('{');
+        final boolean numeric = isNumeric(javaType);
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            if (literal.length() > 1) {
+                literal.append(',');
+            }
+            if (numeric) {
+                literal.append(value);
+            } else {
+                // 数组元素使用双引号包裹，转义反斜杠与双引号
+                literal.append('"').append(value.toString().replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+        }
+        literal.append('}');
+        final Function any = new Function();
+        any.setName("ANY");
+        any.setParameters(new ExpressionList<>(new StringValue(literal.toString().replace("'", "''"))));
+        return new EqualsTo(column, any);
+    };
+
+    /**
+     * 按固定大小切分为多个 IN 并用 OR 连接
+     *
+     * @param chunkSize 单个 IN 的最大元素个数
+     * @return 策略
+     */
+    static DataScopeInStrategy partitioned(int chunkSize) {
+        if (chunkSize <= 0) {
+            return IN_LIST;
+        }
+        return (column, values, javaType) -> {
+            if (values.size() <= chunkSize) {
+                return IN_LIST.build(column, values, javaType);
+            }
+            Expression expression = null;
+            for (int from = 0; from < values.size(); from += chunkSize) {
+                final List<?> chunk = values.subList(from, Math.min(from + chunkSize, values.size()));
+                final Expression in = new InExpression(column, valuesList(chunk, javaType));
+                expression = expression == null ? in : new OrExpression(expression, in);
+            }
+            // 括号包裹，避免与外层 AND 条件优先级混淆
+            return new ParenthesedExpressionList<>(expression);
+        };
+    }
+
+    /**
+     * 按数据库方言选择策略
+     *
+     * @param strategy  配置的策略
+     * @param dbType    数据库类型（可为空）
+     * @param chunkSize 切分大小
+     * @return 策略
+     */
+    static DataScopeInStrategy of(DataScopeConstants.InStrategy strategy, DbType dbType, int chunkSize) {
+        final DataScopeConstants.InStrategy resolved = strategy == null ? DataScopeConstants.InStrategy.AUTO : strategy;
+        return switch (resolved) {
+            case IN_LIST -> IN_LIST;
+            case PARTITIONED -> partitioned(chunkSize);
+            case ARRAY -> ARRAY;
+            case AUTO -> {
+                if (dbType == null) {
+                    yield IN_LIST;
+                }
+                yield switch (dbType) {
+                    case POSTGRE_SQL, KINGBASE_ES, OPENGAUSS, HIGH_GO -> ARRAY;
+                    case ORACLE, ORACLE_12C, DM -> partitioned(chunkSize);
+                    default -> IN_LIST;
+                };
+            }
+        };
+    }
+
+    /**
+     * 构建 IN 条件的值列表
+     */
+    static ParenthesedExpressionList<Expression> valuesList(List<?> values, Class<?> javaType) {
+        final boolean numeric = isNumeric(javaType);
+        final List<Expression> expressions = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (Objects.nonNull(value)) {
+                expressions.add(numeric ? new LongValue(value.toString()) : new StringValue(value.toString()));
+            }
+        }
+        return new ParenthesedExpressionList<>(expressions);
+    }
+
+    private static boolean isNumeric(Class<?> javaType) {
+        return javaType != null && (javaType == Integer.class || javaType == Long.class || Number.class.isAssignableFrom(javaType));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.datascope.core;
+
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.wemirr.framework.commons.security.AuthenticationContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+
+/**
+ * 数据权限拦截器
+ * <p>
+ * 在 {@link DataPermissionInterceptor} 基础上为查询语句增加 SQL 模板缓存，
+ * 相同语句、相同权限形状的查询不再重复解析与输出整条 SQL（增删改仍走原逻辑）
+ * </p>
+ *
+ * @author Levin
+ */
+public class DataScopeInterceptor extends DataPermissionInterceptor {
+
+    private final DataScopeHandler handler;
+    private final AuthenticationContext context;
+    private final DataScopeSqlCache sqlCache;
+
+    public DataScopeInterceptor(DataScopeHandler handler, AuthenticationContext context, DataScopeSqlCache sqlCache) {
+        super(handler);
+        this.handler = handler;
+        this.context = context;
+        this.sqlCache = sqlCache;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        if (sqlCache == null) {
+            super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+            return;
+        }
+        if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+        final PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        final String shape = handler.shape(ms.getId());
+        mpBs.sql(sqlCache.rewrite(context, ms.getId(), shape, mpBs.sql(), sql -> parserSingle(sql, ms.getId())));
+    }
+}
@@ -43,15 +43,14 @@ import net.sf.jsqlparser.statement.select.SelectItem;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * 数据权限SQL条件构建器
  * <p>
  * 支持两种模式：
  * - 同库模式（SAME_DATABASE）：使用 EXISTS 子查询，性能好，无溢出风险
- * - 分库模式（SEPARATE_DATABASE）：使用 IN 列表，适用于微服务/分库架构
+ * - 分库模式（SEPARATE_DATABASE）：使用 IN 列表，适用于微服务/分库架构，超过阈值时按 {@link DataScopeInStrategy} 构建
  * </p>
  *
  * @author Levin
@@ -69,6 +68,21 @@ public final class DataScopeSqlBuilder {
      */
     private static int inThreshold = DataScopeConstants.IN_THRESHOLD;
 
+    /**
+     * 超过阈值时的 IN 条件构建策略
+     */
+    private static DataScopeInStrategy inStrategy = DataScopeInStrategy.IN_LIST;
+
+    /**
+     * 模板占位列前缀
+     */
+    static final String MARKER_PREFIX = "__data_scope_";
+
+    /**
+     * 模板模式下收集的占位绑定（为空表示直接输出真实条件）
+     */
+    private static final ThreadLocal<List<Binding>> TEMPLATE = new ThreadLocal<>();
+
     private DataScopeSqlBuilder() {
     }
 
@@ -86,6 +100,13 @@ public final class DataScopeSqlBuilder {
         DataScopeSqlBuilder.inThreshold = threshold;
     }
 
+    /**
+     * 设置超过阈值时的 IN 条件构建策略（由配置类调用，也可自行扩展）
+     */
+    public static void setInStrategy(DataScopeInStrategy strategy) {
+        DataScopeSqlBuilder.inStrategy = strategy == null ? DataScopeInStrategy.IN_LIST : strategy;
+    }
+
     /**
      * 构建数据权限SQL条件表达式
      *
@@ -125,7 +146,6 @@ public final class DataScopeSqlBuilder {
                                                     List<DataScopeRule.Column> columns,
                                                     DataPermission permission) {
         List<Expression> conditions = new ArrayList<>();
-        Map<DataResourceType, List<Object>> permissionMap = permission.getDataPermissionMap();
 
         for (DataScopeRule.Column column : columns) {
             // 确定最终的权限范围类型
@@ -143,15 +163,104 @@ public final class DataScopeSqlBuilder {
             Column sqlColumn = buildSqlColumn(table, column.getName());
 
             // 根据权限类型构建条件
-            Expression condition = buildConditionByType(context, sqlColumn, column, scopeType, permissionMap);
-            if (condition != null) {
-                conditions.add(condition);
+            Expression condition = buildConditionByType(context, sqlColumn, column, scopeType, permission);
+            if (condition == null) {
+                continue;
             }
+            final List<Binding> bindings = TEMPLATE.get();
+            if (bindings != null) {
+                // 模板模式：以占位列代替真实条件，渲染时再按当前用户的数据权限生成
+                final Binding binding = new Binding(MARKER_PREFIX + bindings.size() + "__", sqlColumn, column, scopeType);
+                bindings.add(binding);
+                condition = new Column(binding.marker());
+            }
+            conditions.add(condition);
         }
 
         return conditions;
     }
 
+    /**
+     * 计算数据权限条件的"形状"，形状相同的请求改写出的 SQL 结构一致，仅条件中的值不同
+     *
+     * @param context 认证上下文
+     * @param rule    数据权限规则
+     * @return 形状描述
+     */
+    static String shape(AuthenticationContext context, DataScopeRule rule) {
+        if (rule == null || rule.isIgnored()) {
+            return "ignored";
+        }
+        DataPermission permission = context.dataPermission();
+        if (permission == null || permission.getScopeType() == DataScopeType.ALL) {
+            return "all";
+        }
+        StringBuilder shape = new StringBuilder(64).append(permission.getScopeType());
+        for (DataScopeRule.Column column : rule.getColumns()) {
+            shape.append('|').append(column.getAlias()).append(':').append(column.getName())
+                    .append(':').append(column.getJavaType() == null ? null : column.getJavaType().getName())
+                    .append(':').append(column.getResourceType()).append(':');
+            DataScopeType scopeType = determineScopeType(column.getScopeType(), permission.getScopeType());
+            if (scopeType == DataScopeType.ALL) {
+                shape.append('A');
+            } else if (scopeType == DataScopeType.SELF) {
+                shape.append('S');
+            } else {
+                List<?> values = permission.values(column.getResourceType());
+                if (CollUtil.isEmpty(values)) {
+                    shape.append('0');
+                } else if (values.size() >= inThreshold) {
+                    shape.append(mode == DataScopeConstants.Mode.SAME_DATABASE ? 'E' : 'L');
+                } else {
+                    shape.append('I');
+                }
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * 以模板模式执行改写，条件以占位列输出
+     *
+     * @param rewriter 改写逻辑
+     * @param bindings 收集到的占位绑定
+     * @return 带占位列的 SQL
+     */
+    static String template(Supplier<String> rewriter, List<Binding> bindings) {
+        TEMPLATE.set(bindings);
+        try {
+            return rewriter.get();
+        } finally {
+            TEMPLATE.remove();
+        }
+    }
+
+    /**
+     * 按当前用户的数据权限渲染占位绑定
+     *
+     * @param context 认证上下文
+     * @param binding 占位绑定
+     * @return 条件表达式
+     */
+    static Expression render(AuthenticationContext context, Binding binding) {
+        DataPermission permission = context.dataPermission();
+        Expression condition = permission == null ? null
+                : buildConditionByType(context, binding.sqlColumn(), binding.column(), binding.scopeType(), permission);
+        // 形状一致时不会为空，兜底为恒真条件保持 SQL 结构
+        return condition == null ? new EqualsTo(new LongValue(1), new LongValue(1)) : condition;
+    }
+
+    /**
+     * 模板占位绑定
+     *
+     * @param marker    占位列名
+     * @param sqlColumn SQL列
+     * @param column    字段规则
+     * @param scopeType 权限范围类型
+     */
+    record Binding(String marker, Column sqlColumn, DataScopeRule.Column column, DataScopeType scopeType) {
+    }
+
     /**
      * 确定最终的权限范围类型
      */
@@ -189,30 +298,30 @@ public final class DataScopeSqlBuilder {
      */
     private static Expression buildConditionByType(AuthenticationContext context, Column sqlColumn,
                                                    DataScopeRule.Column column, DataScopeType scopeType,
-                                                   Map<DataResourceType, List<Object>> permissionMap) {
+                                                   DataPermission permission) {
         // 个人权限使用等于条件，性能更好
         if (scopeType == DataScopeType.SELF) {
             return new EqualsTo(sqlColumn, new LongValue(context.userId()));
         }
 
         // 其他类型使用IN条件或EXISTS子查询
-        if (CollUtil.isEmpty(permissionMap)) {
-            log.debug("Data permission map is empty, skip building condition");
-            return null;
-        }
-
-        List<?> values = permissionMap.get(column.getResourceType());
+        List<?> values = permission.values(column.getResourceType());
         if (CollUtil.isEmpty(values)) {
+            log.debug("Data permission of [{}] is empty, skip building condition", column.getResourceType());
             return null;
         }
 
         // 根据模式和阈值选择策略
-        if (mode == DataScopeConstants.Mode.SAME_DATABASE && values.size() >= inThreshold) {
-            // 同库模式且超过阈值：使用 EXISTS 子查询
-            return buildExistsExpression(context, sqlColumn, column.getResourceType());
+        if (values.size() >= inThreshold) {
+            if (mode == DataScopeConstants.Mode.SAME_DATABASE) {
+                // 同库模式且超过阈值：使用 EXISTS 子查询
+                return buildExistsExpression(context, sqlColumn, column.getResourceType());
+            }
+            // 分库模式且超过阈值：按方言策略构建（数组常量 / 分段 IN）
+            return inStrategy.build(sqlColumn, values, column.getJavaType());
         }
-        // 分库模式或数据量较小：使用 IN 列表
-        return new InExpression(sqlColumn, buildValuesList(values, column.getJavaType()));
+        // 数据量较小：使用 IN 列表
+        return DataScopeInStrategy.IN_LIST.build(sqlColumn, values, column.getJavaType());
     }
 
     /**
@@ -278,26 +387,4 @@ public final class DataScopeSqlBuilder {
         existsExpression.setRightExpression(parenthesedSelect);
         return existsExpression;
     }
-
-    /**
-     * 构建IN条件的值列表
-     */
-    private static Expression buildValuesList(List<?> values, Class<?> javaType) {
-        List<Expression> expressions = values.stream()
-                .filter(Objects::nonNull)
-                .map(value -> convertToExpression(value, javaType))
-                .toList();
-
-        return new ParenthesedExpressionList<>(expressions);
-    }
-
-    /**
-     * 将值转换为SQL表达式
-     */
-    private static Expression convertToExpression(Object value, Class<?> javaType) {
-        if (javaType == Integer.class || javaType == Long.class || Number.class.isAssignableFrom(javaType)) {
-            return new LongValue(value.toString());
-        }
-        return new StringValue(value.toString());
-    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.datascope.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wemirr.framework.commons.security.AuthenticationContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * 数据权限改写后的 SQL 模板缓存
+ * <p>
+ * key 为 语句ID + 数据权限形状 + 原始SQL，value 为以占位列代替权限条件的改写结果；
+ * 命中时只需按当前用户的数据权限渲染条件并拼接，跳过 JSqlParser 解析与整条 SQL 的重新输出
+ * </p>
+ *
+ * @author Levin
+ */
+@Slf4j
+public class DataScopeSqlCache {
+
+    private final Cache<String, Template> cache;
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    public DataScopeSqlCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * 改写 SQL
+     *
+     * @param context     认证上下文
+     * @param statementId 语句ID
+     * @param shape       数据权限形状
+     * @param sql         原始SQL
+     * @param parser      实际的解析改写逻辑
+     * @return 改写后的SQL
+     */
+    public String rewrite(AuthenticationContext context, String statementId, String shape, String sql, UnaryOperator<String> parser) {
+        final String key = statementId + '#' + shape + '#' + sql;
+        final Template cached = cache.getIfPresent(key);
+        if (cached != null) {
+            savedNanos.add(cached.parseNanos());
+            return cached.render(context);
+        }
+        final long start = System.nanoTime();
+        final List<DataScopeSqlBuilder.Binding> bindings = new ArrayList<>();
+        final String rewritten = DataScopeSqlBuilder.template(() -> parser.apply(sql), bindings);
+        final long elapsed = System.nanoTime() - start;
+        parseNanos.add(elapsed);
+        final Template template = Template.of(rewritten, bindings, elapsed);
+        if (template == null) {
+            // 占位列被改写或重复出现，无法安全复用，本次直接走原逻辑
+            log.debug("[数据权限] 语句 {} 无法生成 SQL 模板,跳过缓存", statementId);
+            return parser.apply(sql);
+        }
+        cache.put(key, template);
+        return template.render(context);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 未命中时解析改写的累计耗时（纳秒）
+     */
+    public long parseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * 命中缓存节省的解析改写耗时（按模板首次解析耗时估算，纳秒）
+     */
+    public long savedNanos() {
+        return savedNanos.sum();
+    }
+
+    /**
+     * SQL 模板：parts[i] 与 bindings[i] 交替拼接，最后追加 parts[n]
+     */
+    private record Template(String[] parts, DataScopeSqlBuilder.Binding[] bindings, long parseNanos) {
+
+        static Template of(String sql, List<DataScopeSqlBuilder.Binding> bindings, long parseNanos) {
+            final String[] parts = new String[bindings.size() + 1];
+            final DataScopeSqlBuilder.Binding[] ordered = new DataScopeSqlBuilder.Binding[bindings.size()];
+            int from = 0;
+            for (int i = 0; i < bindings.size(); i++) {
+                final int index = sql.indexOf(DataScopeSqlBuilder.MARKER_PREFIX, from);
+                if (index < 0) {
+                    return null;
+                }
+                final int end = sql.indexOf("__", index + DataScopeSqlBuilder.MARKER_PREFIX.length());
+                if (end < 0) {
+                    return null;
+                }
+                final String marker = sql.substring(index, end + 2);
+                final DataScopeSqlBuilder.Binding binding = bindings.stream()
+                        .filter(x -> x.marker().equals(marker)).findFirst().orElse(null);
+                if (binding == null) {
+                    return null;
+                }
+                parts[i] = sql.substring(from, index);
+                ordered[i] = binding;
+                from = end + 2;
+            }
+            if (sql.indexOf(DataScopeSqlBuilder.MARKER_PREFIX, from) >= 0) {
+                return null;
+            }
+            parts[bindings.size()] = sql.substring(from);
+            return new Template(parts, ordered, parseNanos);
+        }
+
+        String render(AuthenticationContext context) {
+            if (bindings.length == 0) {
+                return parts[0];
+            }
+            final StringBuilder sql = new StringBuilder(parts[0].length() * 2);
+            for (int i = 0; i < bindings.length; i++) {
+                sql.append(parts[i]).append(DataScopeSqlBuilder.render(context, bindings[i]));
+            }
+            return sql.append(parts[bindings.length]).toString();
+        }
+    }
+}
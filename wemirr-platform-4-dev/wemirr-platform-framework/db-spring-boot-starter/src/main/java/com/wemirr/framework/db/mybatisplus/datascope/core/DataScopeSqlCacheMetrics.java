@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.datascope.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据权限 SQL 模板缓存指标
+ * <p>
+ * data.scope.sql.cache：命中 / 未命中次数与命中率
+ * <p>
+ * data.scope.sql.parse：未命中时的解析耗时与命中节省的解析耗时（秒）
+ *
+ * @author Levin
+ */
+@RequiredArgsConstructor
+public class DataScopeSqlCacheMetrics implements MeterBinder {
+
+    private final DataScopeSqlCache sqlCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("data.scope.sql.cache", sqlCache, cache -> cache.stats().hitCount())
+                .tag("result", "hit")
+                .description("数据权限 SQL 模板缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("data.scope.sql.cache", sqlCache, cache -> cache.stats().missCount())
+                .tag("result", "miss")
+                .description("数据权限 SQL 模板缓存未命中次数")
+                .register(registry);
+        Gauge.builder("data.scope.sql.cache.hit.ratio", sqlCache, cache -> cache.stats().hitRate())
+                .description("数据权限 SQL 模板缓存命中率")
+                .register(registry);
+        Gauge.builder("data.scope.sql.cache.size", sqlCache, DataScopeSqlCache::size)
+                .description("数据权限 SQL 模板缓存条目数")
+                .register(registry);
+        FunctionCounter.builder("data.scope.sql.parse", sqlCache, cache -> nanosToSeconds(cache.parseNanos()))
+                .tag("type", "spent")
+                .baseUnit("seconds")
+                .description("数据权限 SQL 解析改写耗时")
+                .register(registry);
+        FunctionCounter.builder("data.scope.sql.parse", sqlCache, cache -> nanosToSeconds(cache.savedNanos()))
+                .tag("type", "saved")
+                .baseUnit("seconds")
+                .description("数据权限 SQL 模板命中节省的解析改写耗时")
+                .register(registry);
+    }
+
+    private static double nanosToSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -44,4 +44,16 @@ public interface DataScopeService {
     default DataPermission getDataScopeById(Long userId, Long orgId) {
         throw new RuntimeException("暂未实现");
     }
+
+    /**
+     * 根据用户编号获取数据权限（显式指定租户，适用于登录等上下文中尚无租户信息的场景）
+     *
+     * @param userId   用户ID
+     * @param orgId    机构ID
+     * @param tenantId 租户ID
+     * @return 查询结果
+     */
+    default DataPermission getDataScopeById(Long userId, Long orgId, Long tenantId) {
+        return getDataScopeById(userId, orgId);
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.ext;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 批量写入分片工具
+ * <p>
+ * 多行 VALUES 的单条 SQL 受两方面限制：
+ * - 占位符个数（MySQL/Oracle 65535，PostgreSQL 32767，SQL Server 2100）
+ * - 报文大小（MySQL max_allowed_packet，5.7 默认 4MB）
+ * 按实体字段数与抽样行的估算字节数计算每批行数，避免手工按固定条数切分
+ * </p>
+ *
+ * @author Levin
+ */
+@Slf4j
+public final class BulkWriteHelper {
+
+    /**
+     * 估算行大小时的抽样行数
+     */
+    private static final int SAMPLE_ROWS = 16;
+
+    /**
+     * 单条 SQL 最大占位符个数
+     */
+    private static int maxParameters = 65535;
+
+    /**
+     * 单条 SQL 最大字节数（留出余量，取 max_allowed_packet 的 80%）
+     */
+    private static long maxPacketBytes = 4L * 1024 * 1024 * 8 / 10;
+
+    /**
+     * 每批最大行数
+     */
+    private static int maxRows = 1000;
+
+    private BulkWriteHelper() {
+    }
+
+    /**
+     * 设置分片参数（由配置类调用）
+     *
+     * @param dbType     数据库类型（用于推断占位符上限，可为空）
+     * @param parameters 占位符上限，小于等于0时按数据库类型推断
+     * @param packetSize 报文上限（字节）
+     * @param rows       每批最大行数
+     */
+    public static void configure(DbType dbType, int parameters, long packetSize, int rows) {
+        BulkWriteHelper.maxParameters = parameters > 0 ? parameters : defaultMaxParameters(dbType);
+        BulkWriteHelper.maxPacketBytes = Math.max(packetSize, 64 * 1024) * 8 / 10;
+        BulkWriteHelper.maxRows = Math.max(rows, 1);
+    }
+
+    /**
+     * 按自适应批大小分片执行
+     *
+     * @param list   数据
+     * @param writer 单批写入（多行 VALUES）
+     * @param <E>    实体
+     * @return 影响行数
+     */
+    public static <E> int execute(Collection<E> list, ToIntFunction<List<E>> writer) {
+        if (list == null || list.isEmpty()) {
+            return 0;
+        }
+        final List<E> rows = list instanceof List<E> l ? l : new ArrayList<>(list);
+        final int batchSize = batchSize(rows);
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            affected += writer.applyAsInt(rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+        return affected;
+    }
+
+    /**
+     * 按自适应批大小分片遍历
+     *
+     * @param list     数据
+     * @param consumer 单批处理
+     * @param <E>      实体
+     */
+    public static <E> void forEach(Collection<E> list, Consumer<List<E>> consumer) {
+        execute(list, batch -> {
+            consumer.accept(batch);
+            return batch.size();
+        });
+    }
+
+    /**
+     * 计算每批行数
+     *
+     * @param rows 数据（非空）
+     * @return 每批行数
+     */
+    public static int batchSize(List<?> rows) {
+        final Object first = rows.getFirst();
+        final TableInfo tableInfo = first == null ? null : TableInfoHelper.getTableInfo(first.getClass());
+        if (tableInfo == null) {
+            return Math.min(maxRows, rows.size());
+        }
+        final int columns = Math.max(tableInfo.getFieldList().size() + (tableInfo.havePK() ? 1 : 0), 1);
+        final long rowBytes = Math.max(estimateRowBytes(tableInfo, rows), 1);
+        final long byParameters = maxParameters / columns;
+        final long byPacket = maxPacketBytes / rowBytes;
+        final int size = (int) Math.max(1, Math.min(maxRows, Math.min(byParameters, byPacket)));
+        if (log.isDebugEnabled()) {
+            log.debug("[批量写入] {} 列数 {} 估算行大小 {}B 每批 {} 行", tableInfo.getTableName(), columns, rowBytes, size);
+        }
+        return size;
+    }
+
+    /**
+     * 抽样估算单行 SQL 字节数（字符串按 UTF-8 最坏 3 字节计，其余按固定长度计）
+     */
+    private static long estimateRowBytes(TableInfo tableInfo, List<?> rows) {
+        final int samples = Math.min(SAMPLE_ROWS, rows.size());
+        final int step = Math.max(rows.size() / samples, 1);
+        long total = 0;
+        int counted = 0;
+        for (int i = 0; i < rows.size() && counted < samples; i += step, counted++) {
+            final Object row = rows.get(i);
+            long bytes = 4;
+            for (TableFieldInfo field : tableInfo.getFieldList()) {
+                bytes += sizeOf(tableInfo.getPropertyValue(row, field.getProperty())) + 2;
+            }
+            total += bytes + 24;
+        }
+        return counted == 0 ? 0 : total * 12 / 10 / counted;
+    }
+
+    private static long sizeOf(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() * 3L + 2;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length * 2L + 3;
+        }
+        return 24;
+    }
+
+    private static int defaultMaxParameters(DbType dbType) {
+        if (dbType == null) {
+            return 65535;
+        }
+        return switch (dbType) {
+            case POSTGRE_SQL, KINGBASE_ES, OPENGAUSS, HIGH_GO -> 32767;
+            case SQL_SERVER, SQL_SERVER2005 -> 2100;
+            default -> 65535;
+        };
+    }
+}
@@ -26,12 +26,13 @@ import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
 
 /**
- * 基于MP的 BaseMapper 新增了2个方法： insertBatchSomeColumn、updateAllById
+ * 基于MP的 BaseMapper 新增了批量方法： insertBatchSomeColumn、updateBatchSomeColumnById、upsertBatchSomeColumn
  *
  * @param <T> 实体
  * @author Levin
@@ -55,6 +56,14 @@ public interface SuperMapper<T> extends BaseMapper<T> {
      */
     int updateBatchSomeColumnById(Collection<?> entityList);
 
+    /**
+     * 批量插入或更新（多行 VALUES，主键冲突时更新），MySQL 与 PostgreSQL 系可用，其他数据库调用时抛出 MybatisPlusException
+     *
+     * @param entityList 实体列表
+     * @return 影响行数
+     */
+    int upsertBatchSomeColumn(Collection<?> entityList);
+
     /**
      * 查询单挑数据
      *
@@ -206,4 +215,36 @@ public interface SuperMapper<T> extends BaseMapper<T> {
         Db.updateBatchById(list, size);
     }
 
+    /**
+     * 多行 VALUES 批量插入，按占位符上限与报文大小自适应分批（走拦截器与字段自动填充）
+     *
+     * @param list 数据集合
+     * @return 影响行数
+     */
+    default int insertBulk(Collection<T> list) {
+        return BulkWriteHelper.execute(list, this::insertBatchSomeColumn);
+    }
+
+    /**
+     * 多行 VALUES 批量插入或更新，按占位符上限与报文大小自适应分批
+     *
+     * @param list 数据集合
+     * @return 影响行数
+     */
+    default int upsertBulk(Collection<T> list) {
+        return BulkWriteHelper.execute(list, this::upsertBatchSomeColumn);
+    }
+
+    /**
+     * 根据ID批量修改（JDBC addBatch，无需 allowMultiQueries），批大小自适应
+     *
+     * @param list 数据集合
+     */
+    default void updateBulk(Collection<T> list) {
+        if (CollUtil.isEmpty(list)) {
+            return;
+        }
+        Db.updateBatchById(list, BulkWriteHelper.batchSize(new ArrayList<>(list)));
+    }
+
 }
@@ -19,7 +19,11 @@
 
 package com.wemirr.framework.db.mybatisplus.ext;
 
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.wemirr.framework.db.mybatisplus.page.KeysetPagination;
+import com.wemirr.framework.db.mybatisplus.page.PageRequest;
 
 import java.util.List;
 
@@ -50,4 +54,15 @@ public interface SuperService<T> extends IService<T> {
      */
     boolean updateBatch(List<T> list);
 
+     * 游标分页（深分页场景使用，耗时与页码无关；排序字段需为 NOT NULL 列，可空列退化为普通分页）
+     * 游标分页（深分页场景使用，耗时与页码无关）
+     *
+     * @param req     分页参数（cursor 不为空）
+     * @param wrapper 查询条件
+     * @return 分页结果
+     */
+    default Page<T> keysetPage(PageRequest req, AbstractWrapper<T, ?, ?> wrapper) {
+        return KeysetPagination.page(getBaseMapper(), getEntityClass(), req, wrapper);
+    }
+
 }
\ No newline at end of file
@@ -19,6 +19,7 @@
 
 package com.wemirr.framework.db.mybatisplus.injector;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.annotation.FieldFill;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
 import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
@@ -36,11 +37,22 @@ import java.util.List;
  */
 public class MySqlInjector extends DefaultSqlInjector {
 
+    private final DbType dbType;
+
+    public MySqlInjector() {
+        this(DbType.MYSQL);
+    }
+
+    public MySqlInjector(DbType dbType) {
+        this.dbType = dbType;
+    }
+
     @Override
     public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
         List<AbstractMethod> methodList = super.getMethodList(configuration, mapperClass, tableInfo);
         methodList.add(new InsertBatchSomeColumn(i -> i.getFieldFill() != FieldFill.UPDATE));
         methodList.add(new UpdateBatchSomeColumn(i -> i.getFieldFill() != FieldFill.INSERT));
+        methodList.add(new UpsertBatchSomeColumn(i -> i.getFieldFill() != FieldFill.UPDATE, i -> i.getFieldFill() != FieldFill.INSERT, dbType));
         return methodList;
     }
 }
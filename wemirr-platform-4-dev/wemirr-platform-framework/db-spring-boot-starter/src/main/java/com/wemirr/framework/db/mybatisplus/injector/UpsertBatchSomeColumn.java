@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.injector;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlInjectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 批量插入或更新（多行 VALUES），主键冲突时更新
+ * <p>
+ * MySQL：INSERT ... ON DUPLICATE KEY UPDATE col = VALUES(col)
+ * <p>
+ * PostgreSQL 系：INSERT ... ON CONFLICT (pk) DO UPDATE SET col = EXCLUDED.col
+ * <p>
+ * 其他数据库没有等价语法，调用时直接抛出不支持的异常（不影响启动，也不会生成错误的 SQL 发往数据库）
+ *
+ * @author Levin
+ */
+public class UpsertBatchSomeColumn extends AbstractMethod {
+
+    private static final String UPSERT_BATCH_SOME_COLUMN = "upsertBatchSomeColumn";
+
+    private final Predicate<TableFieldInfo> insertPredicate;
+    private final Predicate<TableFieldInfo> updatePredicate;
+    private final DbType dbType;
+    private final boolean postgres;
+
+    public UpsertBatchSomeColumn(Predicate<TableFieldInfo> insertPredicate, Predicate<TableFieldInfo> updatePredicate, DbType dbType) {
+        super(UPSERT_BATCH_SOME_COLUMN);
+        this.insertPredicate = insertPredicate;
+        this.updatePredicate = updatePredicate;
+        this.dbType = dbType == null ? DbType.MYSQL : dbType;
+        this.postgres = isPostgresFamily(this.dbType);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        final List<TableFieldInfo> fieldList = tableInfo.getFieldList();
+        String insertSqlColumn = tableInfo.getKeyInsertSqlColumn(true, null, false)
+                + filterTableFieldInfo(fieldList, insertPredicate, TableFieldInfo::getInsertSqlColumn, EMPTY);
+        final String columnScript = LEFT_BRACKET + insertSqlColumn.substring(0, insertSqlColumn.length() - 1) + RIGHT_BRACKET;
+        String insertSqlProperty = tableInfo.getKeyInsertSqlProperty(true, ENTITY_DOT, false)
+                + filterTableFieldInfo(fieldList, insertPredicate, i -> i.getInsertSqlProperty(ENTITY_DOT), EMPTY);
+        insertSqlProperty = LEFT_BRACKET + insertSqlProperty.substring(0, insertSqlProperty.length() - 1) + RIGHT_BRACKET;
+        final String valuesScript = SqlScriptUtils.convertForeach(insertSqlProperty, "list", null, ENTITY, COMMA);
+
+        final String sql = String.format("<script>\nINSERT INTO %s %s VALUES %s %s\n</script>",
+                tableInfo.getTableName(), columnScript, valuesScript, conflictClause(tableInfo));
+
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (tableInfo.havePK() && tableInfo.getIdType() == IdType.AUTO) {
+            keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+            keyProperty = tableInfo.getKeyProperty();
+            keyColumn = SqlInjectionUtils.removeEscapeCharacter(tableInfo.getKeyColumn());
+        }
+        SqlSource sqlSource = postgres || isMysqlFamily(dbType) ? super.createSqlSource(configuration, sql, modelClass) : unsupported(tableInfo);
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+    private String conflictClause(TableInfo tableInfo) {
+        final List<String> columns = tableInfo.getFieldList().stream()
+                .filter(insertPredicate.and(updatePredicate))
+                .map(TableFieldInfo::getColumn)
+                .toList();
+        if (postgres) {
+            if (!tableInfo.havePK() || columns.isEmpty()) {
+                return "ON CONFLICT DO NOTHING";
+            }
+            return "ON CONFLICT (" + tableInfo.getKeyColumn() + ") DO UPDATE SET "
+                    + columns.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(COMMA));
+        }
+        if (columns.isEmpty()) {
+            // 无可更新字段时退化为主键自更新，相当于忽略冲突
+            return "ON DUPLICATE KEY UPDATE " + tableInfo.getKeyColumn() + " = " + tableInfo.getKeyColumn();
+        }
+        return "ON DUPLICATE KEY UPDATE " + columns.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(COMMA));
+    }
+
+    private SqlSource unsupported(TableInfo tableInfo) {
+        final String message = String.format("%s 不支持数据库类型 %s（仅支持 MySQL 与 PostgreSQL 系），表 %s",
+                UPSERT_BATCH_SOME_COLUMN, dbType.getDb(), tableInfo.getTableName());
+        return parameterObject -> {
+            throw new MybatisPlusException(message);
+        };
+    }
+
+    private static boolean isMysqlFamily(DbType dbType) {
+        return dbType == DbType.MYSQL || dbType == DbType.MARIADB;
+    }
+
+    private static boolean isPostgresFamily(DbType dbType) {
+        return switch (dbType) {
+            case POSTGRE_SQL, KINGBASE_ES, OPENGAUSS, HIGH_GO -> true;
+            default -> false;
+        };
+    }
+}
@@ -17,42 +17,34 @@
  * limitations under the License.
  */
 
-package com.wemirr.framework.boot.remote;
+package com.wemirr.framework.db.mybatisplus.page;
 
-import com.wemirr.framework.commons.annotation.remote.Remote;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
- * 封装字段上标记了 Remote 注解的字段
+ * 游标分页结果（兼容 {@link Page} 的返回结构）
  *
+ * @param <T> 实体
  * @author Levin
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
-public class FieldParam {
+@Getter
+@Setter
+@Schema(description = "游标分页对象")
+public class KeysetPage<T> extends Page<T> {
 
-    /**
-     * 当前字段上的注解
-     */
-    private Remote remote;
-    /**
-     * 从当前字段的值构造出的调用api#method方法的参数
-     */
-    private Object actualValue;
-    /**
-     * 当前字段的具体值
-     */
-    private Object originalValue;
+    @Schema(description = "下一页游标，为空表示没有更多数据")
+    private String nextCursor;
 
-    /**
-     * 当前 字段名
-     */
-    private String fieldName;
+    @Schema(description = "是否还有更多数据")
+    private boolean hasMore;
 
-    private LoadKey loadKey;
+    @Schema(description = "总数是否为估算值")
+    private boolean estimated;
+
+    public KeysetPage(long size) {
+        super(1, size, false);
+    }
 }
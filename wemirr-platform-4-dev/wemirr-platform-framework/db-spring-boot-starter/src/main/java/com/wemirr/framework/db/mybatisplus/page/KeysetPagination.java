@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.db.mybatisplus.page;
+
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.baomidou.mybatisplus.annotation.IEnum;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlInjectionUtils;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.wemirr.framework.commons.JacksonUtils;
+import com.wemirr.framework.commons.security.AuthenticationContext;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 游标（keyset / seek）分页
+ * <p>
+ * 以 (排序字段, 主键) 作为游标，查询条件为 {@code (col > v) OR (col = v AND id > k)}，配合索引时每页耗时与页码无关；
+ * 原有的 Wrapper 条件保持不变，额外只追加游标条件与排序，取 size + 1 条判断是否有下一页。
+ * 排序字段必须为 NOT NULL 列：NULL 无法参与比较，且各数据库 NULL 排序不一致，额外的 IS NULL 条件会让 (col, id) 索引失效，
+ * 可空列（以数据库元数据为准）退化为普通分页
+ * </p>
+ *
+ * @author Levin
+ */
+@Slf4j
+public final class KeysetPagination {
+
+    private static final long ESTIMATE_TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final Map<String, long[]> ESTIMATES = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> NULLABLE_COLUMNS = new ConcurrentHashMap<>();
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * 游标分页查询
+     *
+     * @param mapper      mapper
+     * @param entityClass 实体类型
+     * @param req         分页参数
+     * @param wrapper     查询条件（会被追加游标条件）
+     * @param <T>         实体
+     * @return 分页结果
+     */
+    public static <T> Page<T> page(BaseMapper<T> mapper, Class<T> entityClass, PageRequest req, AbstractWrapper<T, ?, ?> wrapper) {
+        final TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        if (tableInfo == null || !tableInfo.havePK()) {
+            // 无主键无法构造稳定游标，退化为普通分页
+            return mapper.selectPage(req.buildPage(), wrapper);
+        }
+        final String keyColumn = tableInfo.getKeyColumn();
+        final TableFieldInfo sortField = resolveSortField(tableInfo, req.getColumn());
+        if (sortField != null && nullable(entityClass, tableInfo.getTableName(), sortField.getColumn())) {
+            return mapper.selectPage(req.buildPage(), wrapper);
+        }
+        final String sortColumn = sortField == null ? keyColumn : sortField.getColumn();
+        final boolean asc = !Boolean.FALSE.equals(req.getAsc());
+        final long size = Math.max(req.getSize(), 1);
+
+        // 统计需在追加游标条件前执行
+        final KeysetPage<T> result = new KeysetPage<>(size);
+        final PageRequest.CountMode countMode = req.getCount() == null ? PageRequest.CountMode.NONE : req.getCount();
+        if (countMode == PageRequest.CountMode.EXACT) {
+            final Long total = mapper.selectCount(wrapper);
+            result.setTotal(total == null ? 0 : total);
+        } else if (countMode == PageRequest.CountMode.ESTIMATE) {
+            result.setTotal(estimate(entityClass, tableInfo.getTableName()));
+            result.setEstimated(true);
+        }
+
+        final Cursor cursor = Cursor.decode(req.getCursor());
+        if (cursor != null && cursor.matches(sortColumn, asc)) {
+            final String op = asc ? ">" : "<";
+            if (sortField == null) {
+                wrapper.apply(keyColumn + " " + op + " {0}", cursor.key());
+            } else if (cursor.value() != null) {
+                wrapper.apply("(" + sortColumn + " " + op + " {0} OR (" + sortColumn + " = {0} AND " + keyColumn + " " + op + " {1}))",
+                        cursor.value(), cursor.key());
+            }
+        }
+        final Page<T> page = new Page<>(1, size + 1, false);
+        page.addOrder(asc ? OrderItem.asc(sortColumn) : OrderItem.desc(sortColumn));
+        if (sortField != null) {
+            page.addOrder(asc ? OrderItem.asc(keyColumn) : OrderItem.desc(keyColumn));
+        }
+        final List<T> records = mapper.selectList(page, wrapper);
+        final boolean hasMore = records.size() > size;
+        final List<T> current = hasMore ? records.subList(0, (int) size) : records;
+        result.setRecords(current);
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            final T last = current.getLast();
+            final Object key = tableInfo.getPropertyValue(last, tableInfo.getKeyProperty());
+            final Object value = sortField == null ? null : dbValue(tableInfo.getPropertyValue(last, sortField.getProperty()));
+            result.setNextCursor(Cursor.encode(sortColumn, asc, value, key));
+        }
+        return result;
+    }
+
+    /**
+     * 解析排序字段（只允许实体中存在的字段，避免注入）
+     */
+    private static TableFieldInfo resolveSortField(TableInfo tableInfo, String column) {
+        if (StrUtil.isBlank(column)) {
+            return null;
+        }
+        final String underline = StrUtil.toUnderlineCase(column);
+        if (StrUtil.equalsAnyIgnoreCase(tableInfo.getKeyColumn(), column, underline)
+                || StrUtil.equals(tableInfo.getKeyProperty(), column)) {
+            return null;
+        }
+        return tableInfo.getFieldList().stream()
+                .filter(field -> field.getProperty().equals(column) || field.getColumn().equalsIgnoreCase(underline))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 枚举转换为入库值（IEnum#getValue / @EnumValue 字段 / name），与 MybatisEnumTypeHandler 保持一致
+     */
+    private static Object dbValue(Object value) {
+        if (!(value instanceof Enum<?> constant)) {
+            return value;
+        }
+        if (constant instanceof IEnum<?> iEnum) {
+            return iEnum.getValue();
+        }
+        return MybatisEnumTypeHandler.findEnumValueFieldName(constant.getDeclaringClass())
+                .map(field -> ReflectUtil.getFieldValue(constant, field))
+                .orElseGet(constant::name);
+    }
+
+    /**
+     * 估算缓存键：同名表在不同数据源 / 租户下统计信息不同
+     */
+    private static String estimateKey(String tableName) {
+        final Long tenantId = SpringUtil.getBean(AuthenticationContext.class).tenantId();
+        return StrUtil.nullToEmpty(DynamicDataSourceContextHolder.peek()) + ":" + tenantId + ":" + tableName;
+    }
+
+    /**
+     * 根据数据库元数据判断列是否可空（按数据源缓存），元数据缺失或读取失败时按可空处理
+     */
+    private static boolean nullable(Class<?> entityClass, String tableName, String column) {
+        final String cacheKey = StrUtil.nullToEmpty(DynamicDataSourceContextHolder.peek()) + ":" + tableName + ":" + column;
+        final Boolean cached = NULLABLE_COLUMNS.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        boolean nullable = true;
+        final SqlSessionFactory sqlSessionFactory = SqlHelper.sqlSessionFactory(entityClass);
+        final SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+        try {
+            final Connection connection = sqlSession.getConnection();
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String name = SqlInjectionUtils.removeEscapeCharacter(column);
+            // PostgreSQL 标识符以小写存储，原样查不到时再按小写查一次
+            for (String candidate : new String[]{name, name.toLowerCase()}) {
+                try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), tableName, candidate)) {
+                    if (rs.next()) {
+                        nullable = rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[游标分页] 读取 {}.{} 元数据失败 - {}", tableName, column, e.getMessage());
+        } finally {
+            SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
+        }
+        NULLABLE_COLUMNS.put(cacheKey, nullable);
+        if (nullable) {
+            log.debug("[游标分页] {}.{} 可为空,退化为普通分页", tableName, column);
+        }
+        return nullable;
+    }
+
+    /**
+     * 基于表统计信息估算总数（缓存 60 秒），不支持的数据库返回 -1
+     */
+    private static long estimate(Class<?> entityClass, String tableName) {
+        final long now = System.nanoTime();
+        final String cacheKey = estimateKey(tableName);
+        final long[] cached = ESTIMATES.get(cacheKey);
+        if (cached != null && now - cached[1] < ESTIMATE_TTL_NANOS) {
+            return cached[0];
+        }
+        long total = -1;
+        final SqlSessionFactory sqlSessionFactory = SqlHelper.sqlSessionFactory(entityClass);
+        final SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+        try {
+            final Connection connection = sqlSession.getConnection();
+            final String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+            final String sql;
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                sql = "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+            } else if (product.contains("postgres")) {
+                sql = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+            } else {
+                sql = null;
+            }
+            if (sql != null) {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, tableName);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        if (rs.next()) {
+                            total = Math.max(rs.getLong(1), 0);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[游标分页] 估算 {} 总数失败 - {}", tableName, e.getMessage());
+        } finally {
+            SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
+        }
+        ESTIMATES.put(cacheKey, new long[]{total, now});
+        return total;
+    }
+
+    /**
+     * 游标：排序字段、方向、排序值（带类型）、主键，序列化为 URL 安全的 Base64 JSON
+     */
+    private record Cursor(String column, boolean asc, Object value, Object key) {
+
+        boolean matches(String sortColumn, boolean sortAsc) {
+            return Objects.equals(column, sortColumn) && asc == sortAsc && key != null;
+        }
+
+        static String encode(String column, boolean asc, Object value, Object key) {
+            final Map<String, Object> token = new HashMap<>(8);
+            token.put("c", column);
+            token.put("a", asc);
+            token.put("k", key == null ? null : key.toString());
+            token.put("kt", typeOf(key));
+            token.put("v", value == null ? null : value.toString());
+            token.put("vt", typeOf(value));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JacksonUtils.toJson(token).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @SuppressWarnings("unchecked")
+        static Cursor decode(String token) {
+            if (StrUtil.isBlank(token)) {
+                return null;
+            }
+            try {
+                final String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                final Map<String, Object> map = JacksonUtils.toBean(json, Map.class);
+                return new Cursor((String) map.get("c"), Boolean.TRUE.equals(map.get("a")),
+                        parse((String) map.get("vt"), (String) map.get("v")), parse((String) map.get("kt"), (String) map.get("k")));
+            } catch (Exception e) {
+                log.debug("[游标分页] 无效游标 {} - {}", token, e.getMessage());
+                return null;
+            }
+        }
+
+        private static String typeOf(Object value) {
+            if (value == null) {
+                return null;
+            }
+            return switch (value) {
+                case Long ignored -> "L";
+                case Integer ignored -> "L";
+                case Short ignored -> "L";
+                case Byte ignored -> "L";
+                case BigDecimal ignored -> "N";
+                case LocalDateTime ignored -> "T";
+                case LocalDate ignored -> "D";
+                case Instant ignored -> "I";
+                default -> "S";
+            };
+        }
+
+        private static Object parse(String type, String value) {
+            if (type == null || value == null) {
+                return null;
+            }
+            return switch (type) {
+                case "L" -> Long.valueOf(value);
+                case "N" -> new BigDecimal(value);
+                case "T" -> LocalDateTime.parse(value);
+                case "D" -> LocalDate.parse(value);
+                case "I" -> Instant.parse(value);
+                default -> value;
+            };
+        }
+    }
+}
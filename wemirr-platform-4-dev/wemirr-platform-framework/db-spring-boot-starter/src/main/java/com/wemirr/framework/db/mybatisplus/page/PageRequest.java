@@ -59,6 +59,24 @@ public class PageRequest {
     @Parameter(description = "排序规则")
     private Boolean asc = true;
 
+    @Schema(description = "游标（传入后使用游标分页，首页传空字符串，后续传上一页返回的 nextCursor）")
+    @Parameter(description = "游标")
+    private String cursor;
+
+    @Schema(description = "游标分页的总数统计方式（默认不统计）", example = "NONE")
+    @Parameter(description = "总数统计方式")
+    private CountMode count;
+
+    /**
+     * 是否游标分页
+     *
+     * @return 是否游标分页
+     */
+    @JsonIgnore
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
     @JsonIgnore
     public <T> Page<T> buildPage() {
         PageRequest params = this;
@@ -73,4 +91,22 @@ public class PageRequest {
         page.setOrders(orders);
         return page;
     }
+
+    /**
+     * 游标分页的总数统计方式
+     */
+    public enum CountMode {
+        /**
+         * 不统计
+         */
+        NONE,
+        /**
+         * 精确统计（COUNT(*)，大表慎用）
+         */
+        EXACT,
+        /**
+         * 表统计信息估算（不含查询条件，MySQL information_schema / PostgreSQL pg_class）
+         */
+        ESTIMATE
+    }
 }
@@ -28,6 +28,7 @@ import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +69,10 @@ public class DatabaseProperties {
      * 是否启用数据权限
      */
     private DataPermission dataPermission = new DataPermission();
+    /**
+     * 批量写入
+     */
+    private Bulk bulk = new Bulk();
 
     @Data
     public static class Encryptor {
@@ -87,6 +92,25 @@ public class DatabaseProperties {
         private boolean blockAttack = true;
     }
 
+    @Data
+    public static class Bulk {
+
+        /**
+         * 单条 SQL 最大占位符个数，小于等于0时按数据库类型推断（MySQL 65535、PostgreSQL 32767、SQL Server 2100）
+         */
+        private int maxParameters = 0;
+
+        /**
+         * 单条 SQL 最大字节数，对应 MySQL max_allowed_packet
+         */
+        private long maxPacketSize = 4 * 1024 * 1024;
+
+        /**
+         * 每批最大行数
+         */
+        private int maxRows = 1000;
+    }
+
     @Data
     public static class Audit {
 
@@ -163,6 +187,27 @@ public class DatabaseProperties {
          * IN 列表阈值，超过此值在同库模式下使用 EXISTS 子查询
          */
         private int inThreshold = 1000;
+
+        /**
+         * 分库模式下超过阈值时的 IN 条件构建策略，AUTO 按数据库方言选择
+         */
+        private com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeConstants.InStrategy inStrategy =
+                com.wemirr.framework.db.mybatisplus.datascope.core.DataScopeConstants.InStrategy.AUTO;
+
+        /**
+         * PARTITIONED 策略下单个 IN 的最大元素个数
+         */
+        private int inChunkSize = 1000;
+
+        /**
+         * 是否缓存数据权限改写后的查询 SQL 模板（按 语句ID + 权限形状 + 原始SQL）
+         */
+        private boolean sqlCache = true;
+
+        /**
+         * SQL 模板缓存最大条目数
+         */
+        private long sqlCacheSize = 2048;
     }
 
     @Data
@@ -211,6 +256,11 @@ public class DatabaseProperties {
          */
         private List<String> tenantSqlScripts = Lists.newArrayList("classpath:db/tenant_schema.sql");
 
+        /**
+         * 租户连接池配置（仅 DATASOURCE 模式生效）
+         */
+        private TenantPool pool = new TenantPool();
+
         public boolean isSuperTenant(String tenantCode) {
             return StringUtils.isNotBlank(tenantCode) && StringUtils.equals(tenantCode, superTenantCode);
         }
@@ -220,4 +270,30 @@ public class DatabaseProperties {
         }
     }
 
+    @Data
+    public static class TenantPool {
+
+        /**
+         * 同一物理实例（jdbcUrl + 用户名相同）的租户是否共享一个连接池，按连接切换库
+         * <p>
+         * MySQL 切换 catalog，PostgreSQL SCHEMA 策略切换 schema（PostgreSQL SCHEMA 策略始终共享）
+         */
+        private boolean sharing = false;
+
+        /**
+         * 连接池空闲多久后关闭，下次访问时重新创建；为 0 时不回收
+         */
+        private Duration idleTimeout = Duration.ofMinutes(30);
+
+        /**
+         * 同时打开的连接池上限，超出后按最近最少使用关闭空闲连接池；为 0 时不限制
+         */
+        private int maxActivePools = 0;
+
+        /**
+         * 空闲检查间隔
+         */
+        private Duration evictInterval = Duration.ofMinutes(1);
+    }
+
 }
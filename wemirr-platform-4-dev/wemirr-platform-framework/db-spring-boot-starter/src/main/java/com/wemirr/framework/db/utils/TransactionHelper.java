@@ -0,0 +1,78 @@
+package com.wemirr.framework.db.utils;
+
+import com.baomidou.dynamic.datasource.tx.TransactionContext;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务回调工具类
+ * <p>
+ * 同时兼容 Spring 事务与 dynamic-datasource 的 {@code @DSTransactional}（后者不是 Spring 事务，
+ * {@link TransactionSynchronizationManager#isSynchronizationActive()} 始终为 false，需要注册到 {@link TransactionContext}）
+ *
+ * @author Levin
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionHelper {
+
+    /**
+     * 判断当前线程是否处于事务中（Spring 事务或 {@code @DSTransactional}）
+     *
+     * @return 是否处于事务中
+     */
+    public static boolean inTransaction() {
+        return StringUtils.isNotBlank(TransactionContext.getXID()) || TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * 事务提交后执行，无事务时立即执行
+     *
+     * @param action 待执行的动作
+     */
+    public static void afterCommit(Runnable action) {
+        register(action, true);
+    }
+
+    /**
+     * 事务回滚后执行，无事务时不执行
+     *
+     * @param action 待执行的动作
+     */
+    public static void afterRollback(Runnable action) {
+        register(action, false);
+    }
+
+    private static void register(Runnable action, boolean onCommit) {
+        final TransactionSynchronization synchronization = new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                final boolean matched = onCommit ? status == STATUS_COMMITTED : status == STATUS_ROLLED_BACK;
+                if (!matched) {
+                    return;
+                }
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.warn("[事务回调] 执行失败 - {}", e.getMessage(), e);
+                }
+            }
+        };
+        // @DSTransactional 优先：其内部连接不受 Spring 事务管理，提交时机以 LocalTxUtil 为准
+        if (StringUtils.isNotBlank(TransactionContext.getXID())) {
+            TransactionContext.registerSynchronization(synchronization);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+            return;
+        }
+        if (onCommit) {
+            action.run();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.wemirr.framework.excel.annotation;
 
 import com.wemirr.framework.excel.handler.read.DefaultValidateAnalysisEventListener;
+import com.wemirr.framework.excel.handler.read.ExcelBatchHandler;
 import com.wemirr.framework.excel.handler.read.ValidateAnalysisEventListener;
 
 import java.lang.annotation.*;
@@ -33,6 +34,21 @@ public @interface RequestExcel {
      */
     Class<? extends ValidateAnalysisEventListener<?>> readListener() default DefaultValidateAnalysisEventListener.class;
 
+    /**
+     * 批次处理器（如批量入库），指定后校验通过的数据按批次回调，控制器参数中的集合为空，
+     * 仅对 {@link DefaultValidateAnalysisEventListener} 生效；默认值表示不分批回调
+     *
+     * @return 批次处理器类型，存在对应 Spring Bean 时使用 Bean，否则直接实例化
+     */
+    Class<? extends ExcelBatchHandler> batchHandler() default ExcelBatchHandler.class;
+
+    /**
+     * 每批行数
+     *
+     * @return 默认 {@link DefaultValidateAnalysisEventListener#DEFAULT_BATCH_SIZE}
+     */
+    int batchSize() default DefaultValidateAnalysisEventListener.DEFAULT_BATCH_SIZE;
+
     /**
      * 是否跳过空行
      *
@@ -23,5 +23,15 @@ public class EasyExcelProperties {
      */
     private Boolean autoColumnWidth = false;
 
+    /**
+     * 流式导出每批写入行数
+     */
+    private int streamBatchSize = 1000;
+
+    /**
+     * 流式导出单个 Sheet 最大行数（xlsx 上限 1048576），超出自动新建 Sheet
+     */
+    private int maxRowsPerSheet = 1000000;
+
 
 }
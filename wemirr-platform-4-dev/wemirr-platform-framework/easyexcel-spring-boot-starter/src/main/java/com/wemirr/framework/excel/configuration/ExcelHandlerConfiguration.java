@@ -3,6 +3,7 @@ package com.wemirr.framework.excel.configuration;
 import com.wemirr.framework.excel.handler.ISheetWriteHandler;
 import com.wemirr.framework.excel.handler.head.I18nHeaderCellWriteHandler;
 import com.wemirr.framework.excel.handler.write.SingleSheetWriteHandler;
+import com.wemirr.framework.excel.handler.write.StreamSheetWriteHandler;
 import com.wemirr.framework.excel.web.handler.ExcelWriteFileReturnValueHandler;
 import com.wemirr.framework.excel.web.handler.ResponseExcelReturnValueHandler;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,12 @@ public class ExcelHandlerConfiguration {
         return new SingleSheetWriteHandler(context);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public StreamSheetWriteHandler streamSheetWriteHandler(ApplicationContext context) {
+        return new StreamSheetWriteHandler(context);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ResponseExcelReturnValueHandler responseExcelReturnValueHandler(ApplicationContext context, List<ISheetWriteHandler> sheetWriteHandlers) {
@@ -0,0 +1,29 @@
+package com.wemirr.framework.excel.domain;
+
+import java.util.function.Consumer;
+
+/**
+ * 流式导出数据源（推模式）
+ * <p>
+ * 在写出 Excel 时才回调 {@link #fetch(Consumer)}，数据逐行推给写出器，适合 MyBatis {@code ResultHandler}
+ * 或在回调内开启事务并消费的 {@code Cursor}，例如：
+ * <pre>{@code
+ * return (ExcelRowSource<User>) sink -> userMapper.selectList(wrapper, ctx -> sink.accept(ctx.getResultObject()));
+ * }</pre>
+ * MySQL 需在 Mapper 上配置 {@code fetchSize = Integer.MIN_VALUE}（或开启 useCursorFetch）才能真正按批拉取
+ * </p>
+ *
+ * @param <T> 行对象
+ * @author Levin
+ */
+@FunctionalInterface
+public interface ExcelRowSource<T> {
+
+    /**
+     * 拉取数据并逐行交给 sink
+     *
+     * @param sink 行消费者
+     */
+    void fetch(Consumer<? super T> sink);
+
+}
@@ -53,6 +53,16 @@ public interface ISheetWriteHandler {
         throw new ExcelException("未匹配到有效的 WriteHandler ");
     }
 
+    /**
+     * 是否支持（可根据导出数据类型判断，默认按 Sheet 判断）
+     *
+     * @param file file
+     * @return 是否支持
+     */
+    default boolean support(ExcelWriteFile file) {
+        return support(file.getSheetList());
+    }
+
     /**
      * 通用的获取ExcelWriter方法
      *
@@ -2,73 +2,218 @@ package com.wemirr.framework.excel.handler.read;
 
 
 import cn.idev.excel.context.AnalysisContext;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.wemirr.framework.commons.concurrent.AsyncExecutor;
 import com.wemirr.framework.excel.annotation.ExcelLine;
 import com.wemirr.framework.excel.domain.ValidateLine;
+import com.wemirr.framework.excel.exception.ExcelException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * 默认带校验的 Excel 监听解析器，如果不符合请自行实现自己的校验逻辑
+ * <p>
+ * 解析出的行按 batchSize 分批校验：
+ * <ul>
+ *     <li>未指定 batchConsumer 时，在解析线程上校验并按原顺序汇总到 {@link #getList()}</li>
+ *     <li>指定 batchConsumer 时（如批量入库），批次交给工作线程校验并回调，解析线程继续读取，
+ *     同时在途批次数不超过 CPU 核数，{@link #getList()} 为空，堆内存与总行数无关；回调可能并发执行，需自行保证线程安全。
+ *     工作线程沿用解析线程的 LocaleContext 与动态数据源 key（按租户切库时写入租户库），校验消息与请求语言一致；
+ *     回调不在调用方的事务内执行，调用方回滚不会撤销已入库的批次，需要时在回调内自行开启事务</li>
+ * </ul>
+ * </p>
  *
  * @author Levin
  */
 @Slf4j
-@Getter
-@RequiredArgsConstructor
 public class DefaultValidateAnalysisEventListener implements ValidateAnalysisEventListener<Object> {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final boolean DYNAMIC_DATASOURCE_PRESENT = ClassUtils.isPresent(
+            "com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder", DefaultValidateAnalysisEventListener.class.getClassLoader());
+
+    /**
+     * 按类型缓存 {@link ExcelLine} 字段，避免每行反射扫描
+     */
+    private static final ClassValue<Optional<Field>> LINE_FIELDS = new ClassValue<>() {
+        @Override
+        protected Optional<Field> computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> field.isAnnotationPresent(ExcelLine.class) && field.getType() == Long.class)
+                    .peek(field -> field.setAccessible(true))
+                    .findFirst();
+        }
+    };
+
     private final Validator validator;
+    private final int batchSize;
+    private final Consumer<List<Object>> batchConsumer;
+    private final int parallelism;
+    private final Semaphore inFlight;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    @Getter
     private final List<Object> list = new ArrayList<>();
-    private final List<ValidateLine> validateLines = new ArrayList<>();
+    @Getter
+    private final List<ValidateLine> validateLines = Collections.synchronizedList(new ArrayList<>());
+    private List<Row> buffer;
 
     private long line = 1L;
 
-    private boolean validate(Object data) {
-        Set<ConstraintViolation<Object>> violations = Optional.ofNullable(validator).orElse(Validation.buildDefaultValidatorFactory().getValidator()).validate(data);
+    public DefaultValidateAnalysisEventListener(Validator validator) {
+        this(validator, DEFAULT_BATCH_SIZE, null);
+    }
+
+    public DefaultValidateAnalysisEventListener(Validator validator, int batchSize, Consumer<List<Object>> batchConsumer) {
+        this.validator = Optional.ofNullable(validator).orElseGet(() -> ValidatorHolder.VALIDATOR);
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchConsumer = batchConsumer;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.inFlight = new Semaphore(parallelism);
+        this.buffer = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * 创建批量处理的监听器
+     *
+     * @param validator     校验器（为空使用默认校验器）
+     * @param batchSize     每批行数
+     * @param batchConsumer 批次回调（校验通过的数据，保持 Excel 中的顺序）
+     * @param <T>           Excel 模型
+     * @return 监听器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DefaultValidateAnalysisEventListener batch(Validator validator, int batchSize, Consumer<List<T>> batchConsumer) {
+        return new DefaultValidateAnalysisEventListener(validator, batchSize, rows -> batchConsumer.accept((List<T>) rows));
+    }
+
+    private boolean validate(Row row) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(row.data());
         if (violations == null || violations.isEmpty()) {
             return true;
         }
         Set<String> messageSet = violations.stream()
                 .map(ConstraintViolation::getMessage)
                 .collect(Collectors.toSet());
-        validateLines.add(ValidateLine.builder().line(line).errors(messageSet).build());
+        validateLines.add(ValidateLine.builder().line(row.line()).errors(messageSet).build());
         return false;
     }
 
-    @Override
-    public void invoke(Object data, AnalysisContext analysisContext) {
-        line++;
-        if (!validate(data)) {
-            return;
-        }
-        Field[] fields = data.getClass().getDeclaredFields();
-        for (Field field : fields) {
-            if (!field.isAnnotationPresent(ExcelLine.class) || field.getType() != Long.class) {
-                continue;
-            }
+    private Object line(Row row) {
+        Object data = row.data();
+        LINE_FIELDS.get(data.getClass()).ifPresent(field -> {
             try {
-                field.setAccessible(true);
-                field.set(data, line);
+                field.set(data, row.line());
             } catch (IllegalAccessException e) {
                 log.error("ExcelLine 设置异常,请检查类型是否匹配", e);
             }
+        });
+        return data;
+    }
+
+    private void process(List<Row> rows) {
+        List<Object> valid = rows.stream()
+                .filter(this::validate)
+                .map(this::line)
+                .toList();
+        if (batchConsumer == null) {
+            list.addAll(valid);
+        } else if (!valid.isEmpty()) {
+            batchConsumer.accept(valid);
+        }
+    }
+
+    private void dispatch() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<Row> rows = buffer;
+        buffer = new ArrayList<>(batchSize);
+        if (batchConsumer == null) {
+            process(rows);
+            return;
+        }
+        checkFailure();
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        final String dataSourceKey = DYNAMIC_DATASOURCE_PRESENT ? DynamicDataSourceContextHolder.peek() : null;
+        // 在途批次达到上限时阻塞解析线程，保证内存有界
+        inFlight.acquireUninterruptibly();
+        try {
+            AsyncExecutor.runAsync(() -> {
+                LocaleContextHolder.setLocaleContext(localeContext);
+                if (dataSourceKey != null) {
+                    DynamicDataSourceContextHolder.push(dataSourceKey);
+                }
+                try {
+                    process(rows);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (dataSourceKey != null) {
+                        DynamicDataSourceContextHolder.poll();
+                    }
+                    LocaleContextHolder.resetLocaleContext();
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void checkFailure() {
+        Throwable e = failure.get();
+        if (e != null) {
+            throw new ExcelException("Excel 批次处理失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void invoke(Object data, AnalysisContext analysisContext) {
+        line++;
+        buffer.add(new Row(line, data));
+        if (buffer.size() >= batchSize) {
+            dispatch();
         }
-        list.add(data);
     }
 
     @Override
     public void doAfterAllAnalysed(AnalysisContext analysisContext) {
+        dispatch();
+        if (batchConsumer != null) {
+            // 等待所有在途批次完成
+            inFlight.acquireUninterruptibly(parallelism);
+            inFlight.release(parallelism);
+        }
+        validateLines.sort(Comparator.comparing(ValidateLine::getLine));
         log.debug("Excel read analysed");
+        checkFailure();
+    }
+
+    private record Row(long line, Object data) {
+    }
+
+    private static final class ValidatorHolder {
+        private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.wemirr.framework.excel.handler.read;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Excel 批次处理器
+ * <p>
+ * 在 {@link com.wemirr.framework.excel.annotation.RequestExcel#batchHandler()} 中指定实现类（优先取 Spring Bean）后，
+ * 校验通过的数据按批次回调，控制器参数中的集合为空；回调可能并发执行，需自行保证线程安全。
+ * 回调线程沿用请求的语言与动态数据源，但不在控制器方法的事务内，需要事务时在回调内自行开启
+ *
+ * @param <T> Excel 模型
+ * @author Levin
+ */
+@FunctionalInterface
+public interface ExcelBatchHandler<T> extends Consumer<List<T>> {
+
+}
@@ -27,6 +27,11 @@ public class SingleSheetWriteHandler implements ISheetWriteHandler {
         return sheets != null && sheets.size() == 1;
     }
 
+    @Override
+    public boolean support(ExcelWriteFile file) {
+        return !StreamSheetWriteHandler.isStream(file.getData()) && support(file.getSheetList());
+    }
+
     @Override
     public void write(HttpServletResponse response, ExcelWriteFile file) {
         List<?> dataList = (List<?>) file.getData();
@@ -0,0 +1,186 @@
+package com.wemirr.framework.excel.handler.write;
+
+import cn.idev.excel.EasyExcel;
+import cn.idev.excel.ExcelWriter;
+import cn.idev.excel.write.metadata.WriteSheet;
+import com.wemirr.framework.excel.configuration.EasyExcelProperties;
+import com.wemirr.framework.excel.domain.ExcelRowSource;
+import com.wemirr.framework.excel.domain.ExcelWriteFile;
+import com.wemirr.framework.excel.domain.SheetInfo;
+import com.wemirr.framework.excel.domain.WriterType;
+import com.wemirr.framework.excel.handler.ISheetWriteHandler;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 流式导出（不在内存中持有完整结果集）
+ * <p>
+ * 支持返回 {@link Stream}、{@link Iterator}、非集合类型的 {@link Iterable} 以及 {@link ExcelRowSource}，
+ * MyBatis 查询需使用 {@link ExcelRowSource} 在写出时执行（Controller 返回的 {@code Cursor} 所在会话和事务此时已关闭），
+ * 数据按固定窗口写入 Sheet，单个 Sheet 超过行数上限时自动新建 Sheet（sheet1、sheet1_2 ...），
+ * 写出完成后会关闭数据源；配合非 inMemory 模式（SXSSF 按行窗口刷盘）堆内存占用与导出行数无关
+ * </p>
+ *
+ * @author Levin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StreamSheetWriteHandler implements ISheetWriteHandler {
+
+    private final ApplicationContext context;
+
+    /**
+     * 是否为流式数据
+     *
+     * @param data 导出数据
+     * @return 是否流式
+     */
+    public static boolean isStream(Object data) {
+        return data instanceof Stream<?> || data instanceof Iterator<?> || data instanceof ExcelRowSource<?>
+                || (data instanceof Iterable<?> && !(data instanceof Collection<?>));
+    }
+
+    @Override
+    public boolean support(List<SheetInfo> sheets) {
+        return false;
+    }
+
+    @Override
+    public boolean support(ExcelWriteFile file) {
+        return isStream(file.getData()) && file.getSheetList() != null && file.getSheetList().size() == 1;
+    }
+
+    @Override
+    public void write(HttpServletResponse response, ExcelWriteFile file) {
+        Object data = file.getData();
+        if (Boolean.TRUE.equals(file.getInMemory())) {
+            log.warn("[Excel] 流式导出 {} 开启了 inMemory，堆内存会随行数增长", file.getFileName());
+        }
+        EasyExcelProperties properties = context.getBean(EasyExcelProperties.class);
+        ExcelWriter excelWriter = getExcelWriter(context, response, file);
+        SheetWindow window = new SheetWindow(excelWriter, file, Math.max(properties.getStreamBatchSize(), 1),
+                Math.max(properties.getMaxRowsPerSheet(), 1));
+        try {
+            if (data instanceof ExcelRowSource<?> source) {
+                source.fetch(window::accept);
+            } else {
+                Iterator<?> iterator = switch (data) {
+                    case Stream<?> stream -> stream.iterator();
+                    case Iterator<?> it -> it;
+                    case Iterable<?> iterable -> iterable.iterator();
+                    default -> throw new IllegalArgumentException("不支持的流式数据类型 " + data.getClass());
+                };
+                while (iterator.hasNext()) {
+                    window.accept(iterator.next());
+                }
+            }
+            window.finish();
+            log.debug("[Excel] 流式导出 {} 完成，共 {} 行 {} 个 Sheet", file.getFileName(), window.total, window.sheetCount);
+        } finally {
+            close(data);
+            excelWriter.finish();
+        }
+    }
+
+    private static void close(Object data) {
+        if (data instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("[Excel] 关闭导出数据源失败 - {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 写入窗口：攒够 batchSize 行写一次，按 maxRows 切分 Sheet
+     */
+    private final class SheetWindow {
+
+        private final ExcelWriter excelWriter;
+        private final ExcelWriteFile file;
+        private final int batchSize;
+        private final int maxRows;
+        private final List<Object> buffer;
+        private final boolean fill;
+        private WriteSheet current;
+        private int rowsInSheet;
+        private int sheetCount;
+        private long total;
+
+        private SheetWindow(ExcelWriter excelWriter, ExcelWriteFile file, int batchSize, int maxRows) {
+            this.excelWriter = excelWriter;
+            this.file = file;
+            this.batchSize = batchSize;
+            this.maxRows = maxRows;
+            this.buffer = new ArrayList<>(batchSize);
+            this.fill = file.getWriterType() == WriterType.FILL;
+        }
+
+        private void accept(Object row) {
+            if (row == null) {
+                return;
+            }
+            buffer.add(row);
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            Class<?> dataClass = buffer.getFirst().getClass();
+            if (fill) {
+                // 模板填充只有一个 Sheet，不做切分
+                if (current == null) {
+                    current = nextSheet(dataClass);
+                }
+                excelWriter.fill(buffer, current);
+            } else {
+                int offset = 0;
+                while (offset < buffer.size()) {
+                    if (current == null || rowsInSheet >= maxRows) {
+                        current = nextSheet(dataClass);
+                        rowsInSheet = 0;
+                    }
+                    int size = Math.min(buffer.size() - offset, maxRows - rowsInSheet);
+                    excelWriter.write(buffer.subList(offset, offset + size), current);
+                    rowsInSheet += size;
+                    offset += size;
+                }
+            }
+            total += buffer.size();
+            buffer.clear();
+        }
+
+        private void finish() {
+            flush();
+            if (current == null) {
+                excelWriter.write(List.of(), EasyExcel.writerSheet(file.getSheetList().getFirst().getName()).build());
+            }
+        }
+
+        private WriteSheet nextSheet(Class<?> dataClass) {
+            SheetInfo base = file.getSheetList().getFirst();
+            SheetInfo info = base;
+            if (sheetCount > 0) {
+                info = SheetInfo.builder().sheetNo(sheetCount).name(base.getName() + "_" + (sheetCount + 1))
+                        .includes(base.getIncludes()).excludes(base.getExcludes())
+                        .headGenerateClass(base.getHeadGenerateClass())
+                        .build();
+            }
+            sheetCount++;
+            return sheet(context, info, dataClass, file.getTemplate(), file.getHeadGenerator());
+        }
+    }
+}
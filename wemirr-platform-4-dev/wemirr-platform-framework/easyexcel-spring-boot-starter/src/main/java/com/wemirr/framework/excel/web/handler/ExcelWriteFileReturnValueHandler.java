@@ -41,7 +41,7 @@ public class ExcelWriteFileReturnValueHandler implements HandlerMethodReturnValu
         mavContainer.setRequestHandled(true);
         ExcelWriteFile writeFile = (ExcelWriteFile) returnValue;
         sheetWriteHandlerList.stream()
-                .filter(handler -> handler.support(writeFile.getSheetList()))
+                .filter(handler -> handler.support(writeFile))
                 .findFirst()
                 .ifPresent(handler -> handler.export(context, response, writeFile));
     }
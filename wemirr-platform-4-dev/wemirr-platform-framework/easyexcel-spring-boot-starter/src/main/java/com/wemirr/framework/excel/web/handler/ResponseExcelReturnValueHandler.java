@@ -44,7 +44,7 @@ public class ResponseExcelReturnValueHandler implements HandlerMethodReturnValue
         mavContainer.setRequestHandled(true);
         ExcelWriteFile writeFile = getExcelWriteFile(returnValue, excel);
         sheetWriteHandlerList.stream()
-                .filter(handler -> handler.support(writeFile.getSheetList()))
+                .filter(handler -> handler.support(writeFile))
                 .findFirst()
                 .ifPresent(handler -> handler.export(context, response, writeFile));
     }
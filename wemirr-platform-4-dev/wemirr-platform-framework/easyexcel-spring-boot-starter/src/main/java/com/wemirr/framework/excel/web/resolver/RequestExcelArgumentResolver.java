@@ -3,6 +3,7 @@ package com.wemirr.framework.excel.web.resolver;
 import com.wemirr.framework.excel.annotation.RequestExcel;
 import com.wemirr.framework.excel.domain.ExcelReadFile;
 import com.wemirr.framework.excel.handler.read.DefaultValidateAnalysisEventListener;
+import com.wemirr.framework.excel.handler.read.ExcelBatchHandler;
 import com.wemirr.framework.excel.handler.read.ValidateAnalysisEventListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Validator;
@@ -77,7 +78,9 @@ public class RequestExcelArgumentResolver implements HandlerMethodArgumentResolv
         Class<? extends ValidateAnalysisEventListener<?>> listener = excel.readListener();
         ValidateAnalysisEventListener<?> readListener;
         if (DefaultValidateAnalysisEventListener.class.isAssignableFrom(listener)) {
-            readListener = new DefaultValidateAnalysisEventListener(context.getBean(Validator.class));
+            readListener = excel.batchHandler() == ExcelBatchHandler.class
+                    ? new DefaultValidateAnalysisEventListener(context.getBean(Validator.class))
+                    : DefaultValidateAnalysisEventListener.batch(context.getBean(Validator.class), excel.batchSize(), batchHandler(excel));
         } else {
             readListener = BeanUtils.instantiateClass(listener);
         }
@@ -89,4 +92,10 @@ public class RequestExcelArgumentResolver implements HandlerMethodArgumentResolv
                 .headRowNumber(excel.headRowNumber())
                 .build());
     }
+
+    @SuppressWarnings("unchecked")
+    private ExcelBatchHandler<Object> batchHandler(RequestExcel excel) {
+        Class<? extends ExcelBatchHandler> type = excel.batchHandler();
+        return context.getBeanProvider(type).getIfAvailable(() -> BeanUtils.instantiateClass(type));
+    }
 }
@@ -46,6 +46,24 @@ public interface I18nMessageProvider {
      */
     List<I18nMessage> list();
 
+    /**
+     * 加载指定语言的 i18n 数据
+     *
+     * @param locale 语言
+     * @return 国际化消息
+     */
+    default List<I18nMessage> list(Locale locale) {
+        final String tag = locale.toString();
+        return list().stream().filter(message -> tag.equals(message.getLocale())).toList();
+    }
+
+    /**
+     * 更新消息并通知所有节点刷新本地缓存（message 为空表示删除）
+     *
+     * @param messages 消息
+     */
+    default void refresh(List<I18nMessage> messages) {
+    }
 
     /**
      * 加载消息到存储列表
@@ -22,6 +22,7 @@ package com.wemirr.framework.i18n.configuration;
 import cn.hutool.core.util.ArrayUtil;
 import com.wemirr.framework.i18n.I18nMessageProvider;
 import com.wemirr.framework.i18n.aspect.I18nAspect;
+import com.wemirr.framework.i18n.core.CachingI18nMessageProvider;
 import com.wemirr.framework.i18n.core.DynamicMessageSource;
 import com.wemirr.framework.i18n.core.I18nMessageRedisProvider;
 import com.wemirr.framework.i18n.core.I18nMessageResource;
@@ -34,6 +35,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Duration;
 import java.util.List;
@@ -92,8 +94,8 @@ public class I18nConfiguration {
 
     @Bean
     @Order
-    public I18nMessageProvider i18nMessageProvider(RedisTemplate<String, Object> redisTemplate) {
-        return new I18nMessageRedisProvider(redisTemplate);
+    public CachingI18nMessageProvider i18nMessageProvider(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate) {
+        return new CachingI18nMessageProvider(new I18nMessageRedisProvider(redisTemplate, stringRedisTemplate));
     }
 
     @Bean
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.framework.i18n.core;
+
+import com.wemirr.framework.i18n.I18nMessageProvider;
+import com.wemirr.framework.i18n.domain.I18nMessage;
+import com.wemirr.framework.i18n.domain.I18nRedisKeyConstants;
+import com.wemirr.framework.redis.plus.listener.AbstractMessageEventListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.Topic;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带本地缓存的国际化消息提供者（near cache）
+ * <p>
+ * 按语言分区，首次访问某个语言时通过 {@link I18nMessageProvider#list(Locale)} 分批加载整个分区，之后的查询都是内存读取；
+ * 消息变更通过 {@link I18nRedisKeyConstants#CHANNEL_I18N_DATA_UPDATED} 通知各节点更新，分区 30 分钟后重新加载兜底
+ *
+ * @author Levin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CachingI18nMessageProvider implements I18nMessageProvider, AbstractMessageEventListener<I18nMessage> {
+
+    /**
+     * 不存在的 code 占位，避免反复回源
+     */
+    private static final String ABSENT = new String();
+    private static final long EXPIRE_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final I18nMessageProvider delegate;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    @Override
+    public String getI18nMessage(String code, Locale locale) {
+        final Partition partition = partition(locale);
+        String message = partition.messages().get(code);
+        if (message == null) {
+            // 分区加载后新增且未收到通知的 code，回源一次并缓存结果
+            message = Objects.requireNonNullElse(delegate.getI18nMessage(code, locale), ABSENT);
+            partition.messages().putIfAbsent(code, message);
+        }
+        return message == ABSENT ? null : message;
+    }
+
+    @Override
+    public List<I18nMessage> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public List<I18nMessage> list(Locale locale) {
+        return delegate.list(locale);
+    }
+
+    @Override
+    public void loadI18nMessage(List<I18nMessage> messages) {
+        delegate.loadI18nMessage(messages);
+    }
+
+    @Override
+    public void refresh(List<I18nMessage> messages) {
+        delegate.refresh(messages);
+    }
+
+    private Partition partition(Locale locale) {
+        final String tag = locale.toString();
+        final Partition partition = partitions.get(tag);
+        if (partition != null && !partition.expired()) {
+            return partition;
+        }
+        // 同一语言只会有一个线程回源加载
+        return partitions.compute(tag, (key, old) -> old != null && !old.expired() ? old : load(locale));
+    }
+
+    private Partition load(Locale locale) {
+        final List<I18nMessage> list = delegate.list(locale);
+        final Map<String, String> messages = new ConcurrentHashMap<>(Math.max(16, list.size() * 4 / 3 + 1));
+        for (I18nMessage message : list) {
+            if (message.getCode() != null && message.getMessage() != null) {
+                messages.put(message.getCode(), message.getMessage());
+            }
+        }
+        log.debug("[i18n] 加载语言 {} 共 {} 条消息", locale, messages.size());
+        return new Partition(messages, System.nanoTime());
+    }
+
+    @Override
+    public void handleMessage(I18nMessage message) {
+        if (message == null) {
+            return;
+        }
+        if (message.getCode() == null || message.getLocale() == null) {
+            partitions.clear();
+            return;
+        }
+        final Partition partition = partitions.get(message.getLocale());
+        if (partition != null) {
+            partition.messages().put(message.getCode(), Objects.requireNonNullElse(message.getMessage(), ABSENT));
+        }
+    }
+
+    @Override
+    public Topic topic() {
+        return new ChannelTopic(I18nRedisKeyConstants.CHANNEL_I18N_DATA_UPDATED);
+    }
+
+    @Override
+    public Type type() {
+        return I18nMessage.class;
+    }
+
+    private record Partition(Map<String, String> messages, long loadedAt) {
+
+        boolean expired() {
+            return System.nanoTime() - loadedAt > EXPIRE_NANOS;
+        }
+    }
+}
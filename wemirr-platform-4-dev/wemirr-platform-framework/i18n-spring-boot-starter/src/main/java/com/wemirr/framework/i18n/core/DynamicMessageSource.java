@@ -20,7 +20,6 @@
 package com.wemirr.framework.i18n.core;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.util.TypeUtil;
 import com.wemirr.framework.i18n.I18nMessageProvider;
 import com.wemirr.framework.i18n.domain.I18nMessage;
 import com.wemirr.framework.i18n.domain.I18nRedisKeyConstants;
@@ -59,6 +58,14 @@ public class DynamicMessageSource extends StaticMessageSource implements Initial
         if (message == null) {
             return;
         }
+        if (message.getCode() == null || message.getLocale() == null) {
+            // 整体重载
+            afterPropertiesSet();
+            return;
+        }
+        if (message.getMessage() == null) {
+            return;
+        }
         addMessage(message.getCode(), LocaleUtils.toLocale(message.getLocale()), message.getMessage());
     }
 
@@ -69,6 +76,6 @@ public class DynamicMessageSource extends StaticMessageSource implements Initial
 
     @Override
     public Type type() {
-        return TypeUtil.getTypeArgument(I18nMessage.class);
+        return I18nMessage.class;
     }
 }
\ No newline at end of file
@@ -19,31 +19,43 @@
 
 package com.wemirr.framework.i18n.core;
 
+import cn.hutool.core.collection.CollUtil;
 import com.wemirr.framework.commons.JacksonUtils;
 import com.wemirr.framework.i18n.I18nMessageProvider;
 import com.wemirr.framework.i18n.domain.I18nMessage;
 import com.wemirr.framework.i18n.domain.I18nRedisKeyConstants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 基于 Redis 的国际化消息提供者
  * <p>
- * 将国际化消息存储在 Redis Hash 结构中，支持分布式环境下的消息同步
+ * 将国际化消息存储在 Redis Hash 结构中，支持分布式环境下的消息同步；
+ * 全量读取使用 HSCAN 分批拉取（可按语言过滤），避免一次 HGETALL 读取整个大 Hash
  *
  * @author Levin
  */
 @RequiredArgsConstructor
 public class I18nMessageRedisProvider implements I18nMessageProvider {
 
+    /**
+     * HSCAN / HSET 每批数量
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
 
     @Override
     public String getI18nMessage(String code, Locale locale) {
@@ -55,11 +67,25 @@ public class I18nMessageRedisProvider implements I18nMessageProvider {
 
     @Override
     public List<I18nMessage> list() {
-        Map<Object, Object> entries = redisTemplate.opsForHash().entries(I18nRedisKeyConstants.I18N_DATA_PREFIX);
-        return entries.values().stream()
-                .filter(Objects::nonNull)
-                .map(I18nMessage.class::cast)
-                .toList();
+        return scan("*");
+    }
+
+    @Override
+    public List<I18nMessage> list(Locale locale) {
+        return scan(locale.toString() + ":*");
+    }
+
+    private List<I18nMessage> scan(String pattern) {
+        List<I18nMessage> messages = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build();
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(I18nRedisKeyConstants.I18N_DATA_PREFIX, options)) {
+            while (cursor.hasNext()) {
+                if (cursor.next().getValue() instanceof I18nMessage message) {
+                    messages.add(message);
+                }
+            }
+        }
+        return messages;
     }
 
     @Override
@@ -67,10 +93,31 @@ public class I18nMessageRedisProvider implements I18nMessageProvider {
         if (messages == null || messages.isEmpty()) {
             return;
         }
-        redisTemplate.delete(I18nRedisKeyConstants.I18N_DATA_PREFIX);
+        // 先写临时 key 再 RENAME，加载过程中其它节点仍可读到旧数据；临时 key 唯一，多个节点同时加载时互不干扰
+        final String loadingKey = I18nRedisKeyConstants.I18N_DATA_PREFIX + ":loading:" + UUID.randomUUID();
         Map<String, I18nMessage> map = messages.stream()
-                .collect(Collectors.toMap(I18nMessage::buildKey, Function.identity()));
-        redisTemplate.opsForHash().putAll(I18nRedisKeyConstants.I18N_DATA_PREFIX, map);
+                .collect(Collectors.toMap(I18nMessage::buildKey, Function.identity(), (left, right) -> right));
+        for (List<I18nMessage> batch : CollUtil.split(map.values(), BATCH_SIZE)) {
+            redisTemplate.opsForHash().putAll(loadingKey, batch.stream().collect(Collectors.toMap(I18nMessage::buildKey, Function.identity())));
+        }
+        redisTemplate.rename(loadingKey, I18nRedisKeyConstants.I18N_DATA_PREFIX);
+        // 通知各节点整体重载
+        publish(new I18nMessage());
+    }
+
+    @Override
+    public void refresh(List<I18nMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        for (I18nMessage message : messages) {
+            if (message.getMessage() == null) {
+                redisTemplate.opsForHash().delete(I18nRedisKeyConstants.I18N_DATA_PREFIX, message.buildKey());
+            } else {
+                redisTemplate.opsForHash().put(I18nRedisKeyConstants.I18N_DATA_PREFIX, message.buildKey(), message);
+            }
+        }
+        publish(messages);
     }
 
     /**
@@ -84,9 +131,9 @@ public class I18nMessageRedisProvider implements I18nMessageProvider {
     }
 
     /**
-     * 发布单条国际化消息更新事件
+     * 发布单条国际化消息更新事件（code 或 locale 为空表示整体重载）
      */
     public void publish(I18nMessage message) {
-        redisTemplate.convertAndSend(I18nRedisKeyConstants.CHANNEL_I18N_DATA_UPDATED, JacksonUtils.toJson(message));
+        stringRedisTemplate.convertAndSend(I18nRedisKeyConstants.CHANNEL_I18N_DATA_UPDATED, JacksonUtils.toJson(message));
     }
 }
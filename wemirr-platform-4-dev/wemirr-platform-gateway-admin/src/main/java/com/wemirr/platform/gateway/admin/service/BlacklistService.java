@@ -38,6 +38,7 @@ import java.util.stream.Collectors;
 
 import static com.wemirr.platform.gateway.admin.service.GatewayRuleConstants.GATEWAY_RULE_BLACKLIST;
 import static com.wemirr.platform.gateway.admin.service.GatewayRuleConstants.GATEWAY_BLACKLIST_VISITS;
+import static com.wemirr.platform.gateway.admin.service.GatewayRuleConstants.GATEWAY_RULE_CHANNEL;
 
 /**
  * 黑名单规则管理服务
@@ -97,6 +98,7 @@ public class BlacklistService {
         }
         final String content = JacksonUtils.toJson(rule);
         stringRedisTemplate.opsForHash().put(GATEWAY_RULE_BLACKLIST, rule.getId(), content);
+        stringRedisTemplate.convertAndSend(GATEWAY_RULE_CHANNEL, GATEWAY_RULE_BLACKLIST);
     }
 
     /**
@@ -104,6 +106,7 @@ public class BlacklistService {
      */
     public void delete(String id) {
         stringRedisTemplate.opsForHash().delete(GATEWAY_RULE_BLACKLIST, id);
+        stringRedisTemplate.convertAndSend(GATEWAY_RULE_CHANNEL, GATEWAY_RULE_BLACKLIST);
     }
 
     /**
@@ -56,6 +56,11 @@ public interface GatewayRuleConstants {
      */
     String DEFAULT_RULE_LIMIT_TOTAL = "gateway:rule:limit:total";
 
+    /**
+     * 规则变更通知频道（Gateway 订阅后重建本地规则索引），消息体为发生变更的规则 Key
+     */
+    String GATEWAY_RULE_CHANNEL = "gateway:rule:changed";
+
     /**
      * 全局限流范围
      */
@@ -83,6 +83,7 @@ public class LimitService {
             rule.setCreateTime(Instant.now());
         }
         stringRedisTemplate.opsForHash().put(GATEWAY_RULE_LIMIT, rule.getId(), JacksonUtils.toJson(rule));
+        stringRedisTemplate.convertAndSend(GATEWAY_RULE_CHANNEL, GATEWAY_RULE_LIMIT);
     }
 
     /**
@@ -90,5 +91,6 @@ public class LimitService {
      */
     public void delete(String id) {
         stringRedisTemplate.opsForHash().delete(GATEWAY_RULE_LIMIT, id);
+        stringRedisTemplate.convertAndSend(GATEWAY_RULE_CHANNEL, GATEWAY_RULE_LIMIT);
     }
 }
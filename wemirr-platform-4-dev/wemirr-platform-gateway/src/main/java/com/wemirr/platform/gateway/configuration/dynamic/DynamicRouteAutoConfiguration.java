@@ -30,7 +30,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * 动态路由自动装配
@@ -48,16 +50,19 @@ public class DynamicRouteAutoConfiguration {
     
     @Bean
     @ConditionalOnProperty(prefix = "spring.cloud.gateway.dynamic-route", name = "type", havingValue = "redis", matchIfMissing = true)
-    public RedisRouteDefinitionRepository redisRouteDefinitionRepository(StringRedisTemplate redisTemplate) {
+    public RedisRouteDefinitionRepository redisRouteDefinitionRepository(ReactiveStringRedisTemplate redisTemplate,
+                                                                         RedisMessageListenerContainer container) {
         log.info(" init redisRouteDefinitionRepository ");
-        return new RedisRouteDefinitionRepository(redisTemplate);
+        RedisRouteDefinitionRepository repository = new RedisRouteDefinitionRepository(redisTemplate, publisher);
+        container.addMessageListener(repository, new ChannelTopic(RedisRouteDefinitionRepository.CHANNEL));
+        return repository;
     }
     
     @Bean
     @ConditionalOnProperty(prefix = "spring.cloud.gateway.dynamic-route", name = "type", havingValue = "redis", matchIfMissing = true)
     public RedisRouteDynamicGatewayService redisRouteDynamicGatewayService(RedisRouteDefinitionRepository redisRouteDefinitionRepository) {
         log.info(" init redisRouteDynamicGatewayService ");
-        return new RedisRouteDynamicGatewayService(publisher, redisRouteDefinitionRepository);
+        return new RedisRouteDynamicGatewayService(redisRouteDefinitionRepository);
     }
     
     @Bean
@@ -50,6 +50,10 @@ public class BlacklistHelper implements GatewayRule<BlacklistRule> {
     
     @Resource
     private StringRedisTemplate stringRedisTemplate;
+    @Resource
+    private GatewayRuleIndex gatewayRuleIndex;
+    @Resource
+    private GatewayRuleCounter gatewayRuleCounter;
     
     public void setBlack(ServerWebExchange exchange) {
         final InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
@@ -105,10 +109,10 @@ public class BlacklistHelper implements GatewayRule<BlacklistRule> {
         if (remoteAddress == null) {
             return false;
         }
-        final BlacklistRule rule = getByPath(stringRedisTemplate, exchange.getRequest(), RULE_BLACKLIST);
+        final BlacklistRule rule = gatewayRuleIndex.<BlacklistRule>match(exchange.getRequest(), RULE_BLACKLIST);
         boolean flag = rule != null;
         if (flag) {
-            stringRedisTemplate.opsForHash().increment(RULE_BLACKLIST.visitsKey(), rule.getId(), 1);
+            gatewayRuleCounter.visit(RULE_BLACKLIST, rule.getId());
         }
         return flag;
     }
@@ -123,12 +127,15 @@ public class BlacklistHelper implements GatewayRule<BlacklistRule> {
         if (rule.getCreateTime() == null) {
             rule.setCreateTime(Instant.now());
         }
+        rule.setMethod(PathRuleMatcher.normalizeMethod(rule.getMethod()));
         final String content = JacksonUtils.toJson(rule);
         stringRedisTemplate.opsForHash().put(RULE_BLACKLIST.hashKey(), rule.getId(), content);
+        gatewayRuleIndex.publish(RULE_BLACKLIST);
     }
     
     public void delete(String id) {
         stringRedisTemplate.opsForHash().delete(RULE_BLACKLIST.hashKey(), id);
+        gatewayRuleIndex.publish(RULE_BLACKLIST);
     }
     
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.gateway.configuration.rule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static com.wemirr.platform.gateway.configuration.rule.GatewayRule.Constants.GATEWAY_RULE_CHANNEL;
+
+/**
+ * 网关规则索引装配
+ *
+ * @author Levin
+ */
+@Slf4j
+@Configuration
+public class GatewayRuleConfiguration {
+    
+    @Bean
+    public GatewayRuleIndex gatewayRuleIndex(StringRedisTemplate stringRedisTemplate) {
+        log.info(" init gatewayRuleIndex ");
+        return new GatewayRuleIndex(stringRedisTemplate);
+    }
+    
+    @Bean
+    public GatewayRuleCounter gatewayRuleCounter(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        log.info(" init gatewayRuleCounter ");
+        return new GatewayRuleCounter(reactiveStringRedisTemplate);
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer gatewayRuleListenerContainer(RedisConnectionFactory factory, GatewayRuleIndex gatewayRuleIndex) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(gatewayRuleIndex, new ChannelTopic(GATEWAY_RULE_CHANNEL));
+        return container;
+    }
+    
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.gateway.configuration.rule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 网关规则计数器（非阻塞）
+ * <p>
+ * 1. 限流计数通过一次 Lua 脚本原子完成自增与阈值判断，每个请求只有一次 Redis 往返
+ * <p>
+ * 2. 规则访问量（visits）只在本地累加，按固定间隔批量 HINCRBY 回写，请求链路不访问 Redis
+ *
+ * @author Levin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayRuleCounter implements InitializingBean, DisposableBean {
+    
+    /**
+     * KEYS[1] 计数 hash，ARGV[1] 计数字段，ARGV[2] 阈值；返回 1 = 超限，0 = 未超限
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = RedisScript.of("""
+            local current = redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            if current > tonumber(ARGV[2]) then
+                return 1
+            end
+            return 0
+            """, Long.class);
+    
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(5);
+    
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    
+    private final Map<GatewayRule.GatewayRuleEnum, Map<String, AtomicLong>> visits = new ConcurrentHashMap<>();
+    
+    private Disposable flushTask;
+    
+    @Override
+    public void afterPropertiesSet() {
+        this.flushTask = Flux.interval(DEFAULT_FLUSH_INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush().onErrorResume(ex -> {
+                    log.warn("[规则访问量回写失败] - {}", ex.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+    
+    @Override
+    public void destroy() {
+        if (flushTask != null) {
+            flushTask.dispose();
+        }
+        flush().block(Duration.ofSeconds(3));
+    }
+    
+    /**
+     * 限流计数自增并判断是否超过阈值
+     *
+     * @param counterKey 计数 hash
+     * @param field      计数字段（规则ID 或 客户端地址）
+     * @param threshold  阈值
+     * @return true = 超限
+     */
+    public Mono<Boolean> incrementAndCheck(String counterKey, String field, long threshold) {
+        return reactiveStringRedisTemplate.execute(INCREMENT_SCRIPT, List.of(counterKey), List.of(field, String.valueOf(threshold)))
+                .next()
+                .map(overflow -> overflow == 1L)
+                .defaultIfEmpty(false);
+    }
+    
+    /**
+     * 记录一次规则命中（本地累加，异步批量回写）
+     *
+     * @param gatewayRule 规则类型
+     * @param ruleId      规则ID
+     */
+    public void visit(GatewayRule.GatewayRuleEnum gatewayRule, String ruleId) {
+        visits.computeIfAbsent(gatewayRule, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(ruleId, key -> new AtomicLong())
+                .incrementAndGet();
+    }
+    
+    private Mono<Void> flush() {
+        return Flux.fromIterable(visits.entrySet())
+                .flatMap(entry -> Flux.fromIterable(entry.getValue().entrySet())
+                        .flatMap(visit -> {
+                            final long delta = visit.getValue().getAndSet(0);
+                            if (delta == 0) {
+                                return Mono.empty();
+                            }
+                            return reactiveStringRedisTemplate.opsForHash()
+                                    .increment(entry.getKey().visitsKey(), visit.getKey(), delta)
+                                    .onErrorResume(ex -> {
+                                        // 回写失败时把增量加回本地，下个周期重试，避免丢失访问量
+                                        visit.getValue().addAndGet(delta);
+                                        log.warn("[规则访问量回写失败] {} - {}", visit.getKey(), ex.getMessage());
+                                        return Mono.empty();
+                                    });
+                        }))
+                .then();
+    }
+}
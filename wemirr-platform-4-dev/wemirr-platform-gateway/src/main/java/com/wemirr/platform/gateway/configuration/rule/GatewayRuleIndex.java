@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.gateway.configuration.rule;
+
+import com.wemirr.framework.commons.JacksonUtils;
+import com.wemirr.platform.gateway.rest.domain.CommonRule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.wemirr.platform.gateway.configuration.rule.GatewayRule.Constants.GATEWAY_RULE_CHANNEL;
+
+/**
+ * 网关规则本地索引
+ * <p>
+ * 启动时从 Redis 全量加载并编译为 {@link PathRuleMatcher}，之后在收到
+ * {@link GatewayRule.Constants#GATEWAY_RULE_CHANNEL} 变更通知时重建对应类型的索引；
+ * Pub/Sub 不保证送达（断线、重连期间的通知会丢失），因此另有定时全量同步兜底，
+ * 请求链路上的规则匹配为纯内存无锁读取，不再访问 Redis
+ *
+ * @author Levin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayRuleIndex implements MessageListener, InitializingBean, DisposableBean {
+    
+    private static final Duration DEFAULT_RESYNC_INTERVAL = Duration.ofMinutes(1);
+    
+    private final StringRedisTemplate stringRedisTemplate;
+    
+    private Disposable resyncTask;
+    
+    /**
+     * 写时复制，读路径只做一次 volatile 读
+     */
+    private volatile Map<GatewayRule.GatewayRuleEnum, PathRuleMatcher<?>> matchers = new EnumMap<>(GatewayRule.GatewayRuleEnum.class);
+    
+    @Override
+    public void afterPropertiesSet() {
+        for (GatewayRule.GatewayRuleEnum rule : GatewayRule.GatewayRuleEnum.values()) {
+            reload(rule);
+        }
+        // HGETALL 为阻塞调用，放在弹性线程上执行
+        this.resyncTask = Flux.interval(DEFAULT_RESYNC_INTERVAL, DEFAULT_RESYNC_INTERVAL, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> {
+                    for (GatewayRule.GatewayRuleEnum rule : GatewayRule.GatewayRuleEnum.values()) {
+                        reload(rule, false);
+                    }
+                });
+    }
+    
+    @Override
+    public void destroy() {
+        if (resyncTask != null) {
+            resyncTask.dispose();
+        }
+    }
+    
+    /**
+     * 匹配当前请求命中的规则
+     *
+     * @param request     request
+     * @param gatewayRule 规则类型
+     * @return 命中的规则，未命中返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T match(ServerHttpRequest request, GatewayRule.GatewayRuleEnum gatewayRule) {
+        final PathRuleMatcher<T> matcher = (PathRuleMatcher<T>) matchers.get(gatewayRule);
+        if (matcher == null) {
+            return null;
+        }
+        final HttpMethod method = request.getMethod();
+        return matcher.match(method == null ? null : method.name(), request.getURI().getPath());
+    }
+    
+    /**
+     * 重新加载指定类型的规则（HGETALL 一次性拉取后编译）
+     *
+     * @param gatewayRule 规则类型
+     */
+    public void reload(GatewayRule.GatewayRuleEnum gatewayRule) {
+        reload(gatewayRule, true);
+    }
+    
+    private void reload(GatewayRule.GatewayRuleEnum gatewayRule, boolean verbose) {
+        try {
+            final Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(gatewayRule.hashKey());
+            List<CommonRule> rules = new ArrayList<>(entries.size());
+            List<Object> items = new ArrayList<>(entries.size());
+            for (Object value : entries.values()) {
+                if (value == null) {
+                    continue;
+                }
+                final String json = value.toString();
+                rules.add(JacksonUtils.readValue(json, CommonRule.class));
+                items.add(JacksonUtils.readValue(json, gatewayRule.clazz()));
+            }
+            final PathRuleMatcher<Object> matcher = PathRuleMatcher.compile(rules, items);
+            synchronized (this) {
+                Map<GatewayRule.GatewayRuleEnum, PathRuleMatcher<?>> copy = new EnumMap<>(GatewayRule.GatewayRuleEnum.class);
+                copy.putAll(matchers);
+                copy.put(gatewayRule, matcher);
+                this.matchers = copy;
+            }
+            if (verbose) {
+                log.info("[网关规则索引] - [{}] 已加载 {} 条规则", gatewayRule.hashKey(), matcher.size());
+            } else {
+                log.debug("[网关规则索引] - [{}] 定时同步 {} 条规则", gatewayRule.hashKey(), matcher.size());
+            }
+        } catch (Exception ex) {
+            log.error("[网关规则索引] - [{}] 加载失败，继续使用旧索引", gatewayRule.hashKey(), ex);
+        }
+    }
+    
+    /**
+     * 通知所有网关实例刷新指定类型的规则索引
+     *
+     * @param gatewayRule 规则类型
+     */
+    public void publish(GatewayRule.GatewayRuleEnum gatewayRule) {
+        stringRedisTemplate.convertAndSend(GATEWAY_RULE_CHANNEL, gatewayRule.hashKey());
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final String hashKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        final GatewayRule.GatewayRuleEnum gatewayRule = GatewayRule.GatewayRuleEnum.of(hashKey);
+        if (gatewayRule == null) {
+            log.warn("[网关规则索引] - 未知的规则类型 {}", hashKey);
+            return;
+        }
+        reload(gatewayRule);
+    }
+}
@@ -30,6 +30,8 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.net.InetSocketAddress;
 import java.time.Instant;
@@ -54,6 +56,10 @@ public class LimitHelper implements GatewayRule<LimitRule> {
     
     private final BlacklistHelper blacklistHelper;
     
+    private final GatewayRuleIndex gatewayRuleIndex;
+    
+    private final GatewayRuleCounter gatewayRuleCounter;
+    
     public List<LimitRule> query() {
         final Set<Object> keys = stringRedisTemplate.opsForHash().keys(RULE_LIMIT.hashKey());
         if (CollectionUtil.isEmpty(keys)) {
@@ -82,50 +88,64 @@ public class LimitHelper implements GatewayRule<LimitRule> {
         if (rule.getCreateTime() == null) {
             rule.setCreateTime(Instant.now());
         }
+        rule.setMethod(PathRuleMatcher.normalizeMethod(rule.getMethod()));
         stringRedisTemplate.opsForHash().put(RULE_LIMIT.hashKey(), rule.getId(), JacksonUtils.toJson(rule));
+        gatewayRuleIndex.publish(RULE_LIMIT);
     }
     
     public void delete(String id) {
         stringRedisTemplate.opsForHash().delete(RULE_LIMIT.hashKey(), id);
+        gatewayRuleIndex.publish(RULE_LIMIT);
     }
     
-    public boolean hostTrace(ServerWebExchange exchange) {
+    /**
+     * 限流计数
+     * <p>
+     * 计数与阈值判断由 {@link GatewayRuleCounter} 一次 Lua 调用完成，访问量本地累加后异步回写，
+     * 只有触发拉黑时才会在弹性线程上访问黑名单规则
+     *
+     * @param exchange exchange
+     * @return true = 超限
+     */
+    public Mono<Boolean> hostTrace(ServerWebExchange exchange) {
         final ServerHttpRequest request = exchange.getRequest();
         final InetSocketAddress remoteAddress = request.getRemoteAddress();
         if (remoteAddress == null) {
-            return false;
+            return Mono.just(false);
         }
-        final String hostName = remoteAddress.getAddress().getHostName();
-        final LimitRule limitRule = getByPath(stringRedisTemplate, exchange.getRequest(), RULE_LIMIT);
+        final LimitRule limitRule = gatewayRuleIndex.<LimitRule>match(request, RULE_LIMIT);
         if (limitRule == null) {
-            return false;
+            return Mono.just(false);
         }
-        Long increment;
-        if (limitRule.getRange() == GLOBAL_RANGE) {
-            increment = stringRedisTemplate.opsForHash().increment(DEFAULT_RULE_LIMIT_TOTAL, limitRule.getId(), 1);
-        } else {
-            increment = stringRedisTemplate.opsForHash().increment(DEFAULT_RULE_LIMIT_TOTAL, hostName, 1);
-        }
-        stringRedisTemplate.opsForHash().put(RULE_LIMIT.visitsKey(), limitRule.getId(), String.valueOf(increment));
-        boolean overflow = increment > limitRule.getTotal();
-        if (overflow && limitRule.getBlacklist()) {
-            final BlacklistRule blacklistRule = blacklistHelper.getById(limitRule.getId());
-            if (blacklistRule != null) {
-                return true;
-            }
-            // 添加黑名单
-            BlacklistRule record = new BlacklistRule();
-            record.setId(limitRule.getId());
-            record.setDescription("访问" + limitRule.getPath() + "频率过快被拉入黑名单24小时");
-            record.setStatus(true);
-            final Instant now = Instant.now();
-            record.setStartTime(now);
-            record.setEndTime(now.plus(1, ChronoUnit.HOURS));
-            record.setIp(remoteAddress.getAddress().getHostAddress());
-            record.setMethod(limitRule.getMethod());
-            record.setPath(limitRule.getPath());
-            blacklistHelper.saveOrUpdate(record);
+        gatewayRuleCounter.visit(RULE_LIMIT, limitRule.getId());
+        final String field = limitRule.getRange() == GLOBAL_RANGE ? limitRule.getId() : remoteAddress.getAddress().getHostAddress();
+        return gatewayRuleCounter.incrementAndCheck(DEFAULT_RULE_LIMIT_TOTAL, field, limitRule.getTotal())
+                .flatMap(overflow -> {
+                    if (!overflow || !Boolean.TRUE.equals(limitRule.getBlacklist())) {
+                        return Mono.just(overflow);
+                    }
+                    return Mono.fromRunnable(() -> addBlacklist(limitRule, remoteAddress))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .thenReturn(true);
+                });
+    }
+    
+    private void addBlacklist(LimitRule limitRule, InetSocketAddress remoteAddress) {
+        final BlacklistRule blacklistRule = blacklistHelper.getById(limitRule.getId());
+        if (blacklistRule != null) {
+            return;
         }
-        return overflow;
+        // 添加黑名单
+        BlacklistRule record = new BlacklistRule();
+        record.setId(limitRule.getId());
+        record.setDescription("访问" + limitRule.getPath() + "频率过快被拉入黑名单24小时");
+        record.setStatus(true);
+        final Instant now = Instant.now();
+        record.setStartTime(now);
+        record.setEndTime(now.plus(1, ChronoUnit.HOURS));
+        record.setIp(remoteAddress.getAddress().getHostAddress());
+        record.setMethod(limitRule.getMethod());
+        record.setPath(limitRule.getPath());
+        blacklistHelper.saveOrUpdate(record);
     }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.gateway.configuration.rule;
+
+import com.wemirr.framework.commons.exception.CheckedException;
+import com.wemirr.platform.gateway.rest.domain.CommonRule;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpMethod;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.wemirr.platform.gateway.configuration.rule.GatewayRule.ANT_PATH_MATCHER;
+
+/**
+ * 预编译的路径规则匹配器（不可变，可无锁并发读取）
+ * <p>
+ * 规则按请求方式分组，每组以路径中不含通配符的前缀段构建前缀树，
+ * 匹配时只沿请求路径走一遍树，对途经节点上挂载的少量候选规则再做 AntPath 校验，
+ * 命中多条时取装载顺序最靠前的一条
+ *
+ * @param <T> 规则类型
+ * @author Levin
+ */
+public final class PathRuleMatcher<T> {
+    
+    private static final String ALL_METHOD = "ALL";
+    private static final String PATH_SEPARATOR = "/";
+    
+    private static final PathRuleMatcher<?> EMPTY = new PathRuleMatcher<>(Map.of(), 0);
+    
+    private final Map<String, Node<T>> methodTrees;
+    private final int size;
+    
+    private PathRuleMatcher(Map<String, Node<T>> methodTrees, int size) {
+        this.methodTrees = methodTrees;
+        this.size = size;
+    }
+    
+    /**
+     * 规范化规则的请求方式（保存规则时调用）：空值视为 ALL，统一转大写，非标准请求方式直接拒绝
+     *
+     * @param method 请求方式
+     * @return 规范化后的请求方式
+     */
+    public static String normalizeMethod(String method) {
+        if (StringUtils.isBlank(method)) {
+            return ALL_METHOD;
+        }
+        final String normalized = method.trim().toUpperCase();
+        if (ALL_METHOD.equals(normalized) || Arrays.stream(HttpMethod.values()).anyMatch(value -> value.name().equals(normalized))) {
+            return normalized;
+        }
+        throw CheckedException.badRequest("不支持的请求方式: " + method);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> PathRuleMatcher<T> empty() {
+        return (PathRuleMatcher<T>) EMPTY;
+    }
+    
+    /**
+     * 编译规则
+     *
+     * @param rules 规则定义（与 rule 一一对应，仅用于提取路径/方式/生效时间）
+     * @param items 完整规则对象
+     * @return 匹配器
+     */
+    public static <T> PathRuleMatcher<T> compile(List<CommonRule> rules, List<T> items) {
+        Map<String, Node<T>> trees = new HashMap<>();
+        int ordinal = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            final CommonRule rule = rules.get(i);
+            if (rule == null || !Boolean.TRUE.equals(rule.getStatus()) || StringUtils.isBlank(rule.getPath())) {
+                continue;
+            }
+            final String method = StringUtils.isBlank(rule.getMethod()) ? ALL_METHOD : rule.getMethod().toUpperCase();
+            Node<T> node = trees.computeIfAbsent(method, key -> new Node<>());
+            for (String segment : StringUtils.split(rule.getPath(), PATH_SEPARATOR)) {
+                if (isPattern(segment)) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, key -> new Node<>());
+            }
+            node.add(new Entry<>(ordinal++, rule.getPath(), rule.getStartTime(), rule.getEndTime(), items.get(i)));
+        }
+        return ordinal == 0 ? empty() : new PathRuleMatcher<>(trees, ordinal);
+    }
+    
+    /**
+     * 匹配规则
+     *
+     * @param method 请求方式
+     * @param path   请求路径
+     * @return 命中的规则，未命中返回 null
+     */
+    public T match(String method, String path) {
+        if (size == 0 || StringUtils.isBlank(path)) {
+            return null;
+        }
+        final Instant now = Instant.now();
+        final String[] segments = StringUtils.split(path, PATH_SEPARATOR);
+        Entry<T> best = walk(methodTrees.get(ALL_METHOD), segments, path, now, null);
+        if (method != null) {
+            best = walk(methodTrees.get(method.toUpperCase()), segments, path, now, best);
+        }
+        return best == null ? null : best.item;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private static <T> Entry<T> walk(Node<T> node, String[] segments, String path, Instant now, Entry<T> best) {
+        int depth = 0;
+        while (node != null) {
+            best = node.match(path, now, best);
+            if (depth >= segments.length) {
+                break;
+            }
+            node = node.children.get(segments[depth++]);
+        }
+        return best;
+    }
+    
+    private static boolean isPattern(String segment) {
+        return StringUtils.containsAny(segment, '*', '?', '{');
+    }
+    
+    private static final class Node<T> {
+        
+        private final Map<String, Node<T>> children = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        private Entry<T>[] entries = new Entry[0];
+        
+        private void add(Entry<T> entry) {
+            final Entry<T>[] copy = Arrays.copyOf(entries, entries.length + 1);
+            copy[entries.length] = entry;
+            entries = copy;
+        }
+        
+        private Entry<T> match(String path, Instant now, Entry<T> best) {
+            for (Entry<T> entry : entries) {
+                if (best != null && best.ordinal < entry.ordinal) {
+                    // 同一节点内按 ordinal 递增，后续条目不可能更优
+                    break;
+                }
+                if (entry.active(now) && ANT_PATH_MATCHER.match(entry.pattern, path)) {
+                    best = entry;
+                    break;
+                }
+            }
+            return best;
+        }
+    }
+    
+    private record Entry<T>(int ordinal, String pattern, Instant startTime, Instant endTime, T item) {
+        
+        private boolean active(Instant now) {
+            if (Objects.isNull(startTime) || Objects.isNull(endTime)) {
+                return true;
+            }
+            return !now.isBefore(startTime) && !now.isAfter(endTime);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package com.wemirr.platform.gateway.filter;
 
 import com.google.common.net.HttpHeaders;
 import com.wemirr.framework.commons.JacksonUtils;
+import com.wemirr.platform.gateway.utils.IpRangeMatcher;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -67,8 +68,8 @@ public class BlackWhiteListGatewayFilterFactory extends AbstractGatewayFilterFac
     
     @Override
     public GatewayFilter apply(Config config) {
-        // 预编译 IP 列表为 Set 提升查询效率
-        var ipSet = config.getIpList() != null ? new java.util.HashSet<>(config.getIpList()) : java.util.Set.<String>of();
+        // 预编译 IP 列表为前缀树，支持 IP / CIDR / 通配符
+        final IpRangeMatcher matcher = IpRangeMatcher.compile(config.getIpList());
 
         return (exchange, chain) -> {
             InetSocketAddress remoteAddress = XForwardedRemoteAddressResolver
@@ -90,14 +91,14 @@ public class BlackWhiteListGatewayFilterFactory extends AbstractGatewayFilterFac
 
             // 黑名单模式：在名单中则拒绝
             if (config.type == BlackWhiteListType.BLACK_LIST) {
-                if (matchIp(ipSet, ip)) {
+                if (matcher.matches(inetAddress)) {
                     log.warn("[黑名单拦截] - IP: {}", ip);
                     return accessRestricted(exchange, "访问受限，IP 已被封禁");
                 }
             }
             // 白名单模式：不在名单中则拒绝
             else if (config.type == BlackWhiteListType.WHITE_LIST) {
-                if (!matchIp(ipSet, ip)) {
+                if (!matcher.matches(inetAddress)) {
                     log.warn("[白名单拦截] - IP: {}", ip);
                     return accessRestricted(exchange, "访问受限，IP 未授权");
                 }
@@ -106,30 +107,6 @@ public class BlackWhiteListGatewayFilterFactory extends AbstractGatewayFilterFac
         };
     }
 
-    /**
-     * IP 匹配（支持 CIDR 和通配符）
-     */
-    private boolean matchIp(java.util.Set<String> ipSet, String clientIp) {
-        if (ipSet.contains(clientIp)) {
-            return true;
-        }
-        // 支持简单通配符匹配，如 192.168.*
-        for (String pattern : ipSet) {
-            if (pattern.contains("*") && matchWildcard(pattern, clientIp)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * 通配符匹配
-     */
-    private boolean matchWildcard(String pattern, String ip) {
-        String regex = pattern.replace(".", "\\.").replace("*", ".*");
-        return ip.matches(regex);
-    }
-    
     private Mono<Void> accessRestricted(ServerWebExchange exchange, String message) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.FORBIDDEN);
@@ -22,40 +22,55 @@ package com.wemirr.platform.gateway.route;
 import com.wemirr.framework.commons.JacksonUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.cloud.gateway.route.RouteDefinitionRepository;
 import org.springframework.cloud.gateway.support.NotFoundException;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
-import static java.util.stream.Collectors.toList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
+ * Redis 路由数据源
+ * <p>
+ * 路由定义通过一次 HVALS 全量加载并缓存反序列化结果，Gateway 刷新路由时直接读取本地缓存；
+ * 收到 {@link #CHANNEL} 变更通知时重新加载并发布 {@link RefreshRoutesEvent}。
+ * {@link #save(Mono)} / {@link #delete(Mono)}（含 actuator 接口）写入后同步更新本地缓存并发布通知，删除不存在的路由不发布
+ *
  * @author Levin
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class RedisRouteDefinitionRepository implements RouteDefinitionRepository {
+public class RedisRouteDefinitionRepository implements RouteDefinitionRepository, MessageListener {
     
     /**
      * 存储的的key
      */
     private static final String KEY = "gateway_dynamic_route";
-    private final StringRedisTemplate redisTemplate;
+    /**
+     * 路由变更通知频道
+     */
+    public static final String CHANNEL = "gateway_dynamic_route:changed";
     
-    public RouteDefinition find(String routeId) {
-        final Object object = redisTemplate.opsForHash().get(KEY, routeId);
-        if (object == null) {
-            return null;
-        }
-        log.debug("[动态路由信息] - [{}]", object);
-        return JacksonUtils.toBean(object.toString(), RouteDefinition.class);
-    }
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher publisher;
+    
+    /**
+     * 本地路由缓存，null 表示尚未加载
+     */
+    private volatile Map<String, RouteDefinition> routes;
     
     /**
      * 获取路由信息
@@ -64,9 +79,7 @@ public class RedisRouteDefinitionRepository implements RouteDefinitionRepository
      */
     @Override
     public Flux<RouteDefinition> getRouteDefinitions() {
-        final List<RouteDefinition> gatewayRouteEntityList = redisTemplate.opsForHash().keys(KEY).stream()
-                .map(routeId -> find(String.valueOf(routeId))).collect(toList());
-        return Flux.fromIterable(gatewayRouteEntityList);
+        return loadIfAbsent().flatMapIterable(Map::values);
     }
     
     /**
@@ -77,10 +90,10 @@ public class RedisRouteDefinitionRepository implements RouteDefinitionRepository
      */
     @Override
     public Mono<Void> save(Mono<RouteDefinition> route) {
-        return route.flatMap(routeDefinition -> {
-            redisTemplate.opsForHash().put(KEY, routeDefinition.getId(), JacksonUtils.toJson(routeDefinition));
-            return Mono.empty();
-        });
+        return route.flatMap(routeDefinition -> redisTemplate.opsForHash()
+                .put(KEY, routeDefinition.getId(), JacksonUtils.toJson(routeDefinition))
+                .doOnNext(saved -> updateCache(definitions -> definitions.put(routeDefinition.getId(), routeDefinition)))
+                .then(publish()));
     }
     
     /**
@@ -91,12 +104,57 @@ public class RedisRouteDefinitionRepository implements RouteDefinitionRepository
      */
     @Override
     public Mono<Void> delete(Mono<String> routeId) {
-        return routeId.flatMap(id -> {
-            if (redisTemplate.opsForHash().hasKey(KEY, id)) {
-                redisTemplate.opsForHash().delete(KEY, id);
-                return Mono.empty();
-            }
-            return Mono.defer(() -> Mono.error(new NotFoundException("route definition is not found, routeId:" + routeId)));
-        });
+        return routeId.flatMap(id -> redisTemplate.opsForHash().remove(KEY, id)
+                .flatMap(removed -> {
+                    if (removed == null || removed <= 0) {
+                        return Mono.error(new NotFoundException("route definition is not found, routeId:" + id));
+                    }
+                    updateCache(definitions -> definitions.remove(id));
+                    return publish();
+                }));
+    }
+    
+    /**
+     * 通知所有 Gateway 实例路由已变更
+     *
+     * @return Mono
+     */
+    public Mono<Void> publish() {
+        return redisTemplate.convertAndSend(CHANNEL, KEY).then();
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        load().subscribe(definitions -> publisher.publishEvent(new RefreshRoutesEvent(this)),
+                ex -> log.error("[动态路由刷新失败]", ex));
+    }
+    
+    /**
+     * 写时复制更新本地缓存（尚未加载时跳过，首次读取会从 Redis 全量加载）
+     */
+    private synchronized void updateCache(Consumer<Map<String, RouteDefinition>> mutation) {
+        final Map<String, RouteDefinition> cached = this.routes;
+        if (cached == null) {
+            return;
+        }
+        final Map<String, RouteDefinition> copy = new HashMap<>(cached);
+        mutation.accept(copy);
+        this.routes = Map.copyOf(copy);
+    }
+    
+    private Mono<Map<String, RouteDefinition>> loadIfAbsent() {
+        final Map<String, RouteDefinition> cached = this.routes;
+        return cached != null ? Mono.just(cached) : load();
+    }
+    
+    private Mono<Map<String, RouteDefinition>> load() {
+        return redisTemplate.<String, String>opsForHash().values(KEY)
+                .map(value -> JacksonUtils.toBean(value, RouteDefinition.class))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableMap(RouteDefinition::getId, Function.identity(), (a, b) -> b))
+                .doOnNext(definitions -> {
+                    log.debug("[动态路由信息] - 已加载 {} 条", definitions.size());
+                    this.routes = definitions;
+                });
     }
 }
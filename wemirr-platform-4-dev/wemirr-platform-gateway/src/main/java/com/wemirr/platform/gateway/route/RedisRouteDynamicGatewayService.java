@@ -20,48 +20,42 @@
 package com.wemirr.platform.gateway.route;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.cloud.gateway.support.NotFoundException;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 
 /**
+ * 动态路由维护，写入 Redis 后由 {@link RedisRouteDefinitionRepository} 通过 {@link RedisRouteDefinitionRepository#CHANNEL} 通知各 Gateway 实例刷新
+ *
  * @author Levin
  */
+@Slf4j
 @RequiredArgsConstructor
 public class RedisRouteDynamicGatewayService {
     
-    private final ApplicationEventPublisher applicationEventPublisher;
     private final RedisRouteDefinitionRepository redisRouteDefinitionRepository;
     
     public void saveOrUpdate(RouteDefinition routeDefinition) {
-        final String id = routeDefinition.getId();
-        final RouteDefinition definition = redisRouteDefinitionRepository.find(id);
-        if (definition != null) {
-            redisRouteDefinitionRepository.delete(Mono.just(id));
-        }
-        redisRouteDefinitionRepository.save(Mono.just(routeDefinition)).subscribe();
-        applicationEventPublisher.publishEvent(new RefreshRoutesEvent(this));
-        
+        redisRouteDefinitionRepository.save(Mono.just(routeDefinition))
+                .subscribe(null, ex -> log.error("[动态路由保存失败] - {}", routeDefinition.getId(), ex));
     }
     
     public void create(RouteDefinition routeDefinition) {
-        redisRouteDefinitionRepository.save(Mono.just(routeDefinition)).subscribe();
-        applicationEventPublisher.publishEvent(new RefreshRoutesEvent(this));
+        saveOrUpdate(routeDefinition);
     }
     
     public void update(RouteDefinition routeDefinition) {
-        redisRouteDefinitionRepository.delete(Mono.just(routeDefinition.getId()));
-        redisRouteDefinitionRepository.save(Mono.just(routeDefinition)).subscribe();
-        applicationEventPublisher.publishEvent(new RefreshRoutesEvent(this));
+        saveOrUpdate(routeDefinition);
     }
     
     public void delete(String id) {
-        redisRouteDefinitionRepository.delete(Mono.just(id)).then(Mono.defer(() -> Mono.just(ResponseEntity.ok().build())))
-                .onErrorResume(t -> t instanceof NotFoundException, t -> Mono.just(ResponseEntity.notFound().build())).subscribe();
-        applicationEventPublisher.publishEvent(new RefreshRoutesEvent(this));
+        redisRouteDefinitionRepository.delete(Mono.just(id))
+                .onErrorResume(NotFoundException.class, ex -> {
+                    log.debug("[动态路由不存在] - {}", id);
+                    return Mono.empty();
+                })
+                .subscribe(null, ex -> log.error("[动态路由删除失败] - {}", id, ex));
     }
     
 }
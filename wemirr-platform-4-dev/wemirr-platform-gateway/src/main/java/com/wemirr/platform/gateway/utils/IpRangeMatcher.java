@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.gateway.utils;
+
+import com.google.common.net.InetAddresses;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * IP 段匹配器（二叉前缀树）
+ * <p>
+ * 在构建时把 IP、CIDR（IPv4 / IPv6）以及尾部通配符（如 192.168.*）统一编译为前缀，
+ * 匹配时按地址位逐位下探，最多 32 / 128 步，不产生任何对象分配；
+ * 中间位置出现通配符（如 192.*.1.1）无法表示为前缀，退化为预编译正则
+ *
+ * @author Levin
+ */
+@Slf4j
+public final class IpRangeMatcher {
+    
+    private static final int IPV4_BITS = 32;
+    private static final int IPV6_BITS = 128;
+    
+    private final Trie ipv4 = new Trie();
+    private final Trie ipv6 = new Trie();
+    private final List<Pattern> wildcards = new ArrayList<>();
+    
+    private IpRangeMatcher() {
+    }
+    
+    /**
+     * 编译 IP 规则
+     *
+     * @param patterns IP / CIDR / 通配符
+     * @return 匹配器
+     */
+    public static IpRangeMatcher compile(Collection<String> patterns) {
+        IpRangeMatcher matcher = new IpRangeMatcher();
+        if (patterns == null) {
+            return matcher;
+        }
+        for (String pattern : patterns) {
+            if (StringUtils.isBlank(pattern)) {
+                continue;
+            }
+            try {
+                matcher.add(pattern.trim());
+            } catch (IllegalArgumentException ex) {
+                log.warn("[无效的IP规则] - {}", pattern);
+            }
+        }
+        return matcher;
+    }
+    
+    public boolean matches(InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        if (bytes.length == 4 ? ipv4.contains(bytes) : ipv6.contains(bytes)) {
+            return true;
+        }
+        if (wildcards.isEmpty()) {
+            return false;
+        }
+        final String ip = address.getHostAddress();
+        for (Pattern wildcard : wildcards) {
+            if (wildcard.matcher(ip).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void add(String pattern) {
+        if (pattern.contains("*")) {
+            addWildcard(pattern);
+            return;
+        }
+        final int slash = pattern.indexOf('/');
+        final InetAddress address = InetAddresses.forString(slash < 0 ? pattern : pattern.substring(0, slash));
+        final byte[] bytes = address.getAddress();
+        final int maxBits = bytes.length == 4 ? IPV4_BITS : IPV6_BITS;
+        final int prefix = slash < 0 ? maxBits : Integer.parseInt(pattern.substring(slash + 1));
+        if (prefix < 0 || prefix > maxBits) {
+            throw new IllegalArgumentException("invalid prefix length " + pattern);
+        }
+        (bytes.length == 4 ? ipv4 : ipv6).insert(bytes, prefix);
+    }
+    
+    /**
+     * 尾部通配的 IPv4（192.168.* / 10.*.*.*）转为 CIDR，其余退化为正则
+     */
+    private void addWildcard(String pattern) {
+        final String[] octets = StringUtils.split(pattern, '.');
+        int fixed = 0;
+        while (fixed < octets.length && !"*".equals(octets[fixed])) {
+            fixed++;
+        }
+        boolean trailing = fixed < octets.length && octets.length <= 4;
+        for (int i = fixed; trailing && i < octets.length; i++) {
+            trailing = "*".equals(octets[i]);
+        }
+        if (trailing) {
+            String[] base = Arrays.copyOf(octets, 4);
+            Arrays.fill(base, fixed, 4, "0");
+            ipv4.insert(InetAddresses.forString(String.join(".", base)).getAddress(), fixed * 8);
+            return;
+        }
+        wildcards.add(Pattern.compile(pattern.replace(".", "\\.").replace("*", ".*")));
+    }
+    
+    /**
+     * 以数组存储的二叉前缀树，节点 n 的左右孩子分别位于 children[2n] / children[2n+1]
+     */
+    private static final class Trie {
+        
+        private int[] children = new int[2];
+        private boolean[] terminal = new boolean[1];
+        private int size = 1;
+        
+        private void insert(byte[] address, int prefix) {
+            int node = 0;
+            for (int i = 0; i < prefix; i++) {
+                if (terminal[node]) {
+                    // 已被更短的前缀覆盖
+                    return;
+                }
+                final int slot = (node << 1) | bit(address, i);
+                if (children[slot] == 0) {
+                    // 先扩容再取数组引用，避免写入扩容前的旧数组
+                    final int child = newNode();
+                    children[slot] = child;
+                }
+                node = children[slot];
+            }
+            terminal[node] = true;
+        }
+        
+        private boolean contains(byte[] address) {
+            final int bits = address.length * 8;
+            int node = 0;
+            for (int i = 0; i < bits; i++) {
+                if (terminal[node]) {
+                    return true;
+                }
+                node = children[(node << 1) | bit(address, i)];
+                if (node == 0) {
+                    return false;
+                }
+            }
+            return terminal[node];
+        }
+        
+        private int newNode() {
+            if (size == terminal.length) {
+                terminal = Arrays.copyOf(terminal, size << 1);
+                children = Arrays.copyOf(children, size << 2);
+            }
+            return size++;
+        }
+        
+        private static int bit(byte[] address, int index) {
+            return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+        }
+    }
+}
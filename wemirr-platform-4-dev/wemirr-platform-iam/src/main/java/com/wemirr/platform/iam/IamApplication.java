@@ -91,7 +91,7 @@ public class IamApplication {
      */
     @Bean
     public AccessLogListener accessLogListener(final OptLogService optLogService) {
-        return new AccessLogListener(optLogService::listener);
+        return new AccessLogListener(optLogService::batchListener);
     }
     
 }
@@ -54,10 +54,11 @@ public class LoginLogController {
     @Operation(summary = "查询日志 - [DONE] - [Levin]", description = "查询日志 - [DONE] - [Levin]")
     @SaCheckPermission(value = {"monitor:log:login"})
     public Page<LoginLog> pageList(LoginLogPageReq req) {
-        return DataScope.run(() -> loginLogService.page(req.buildPage(), Wraps.<LoginLog>lbQ()
+        var wrapper = Wraps.<LoginLog>lbQ()
                 .like(LoginLog::getCreateBy, req.getNickName())
                 .like(LoginLog::getPrincipal, req.getPrincipal())
-                .eq(LoginLog::getPlatform, req.getPlatform())));
+                .eq(LoginLog::getPlatform, req.getPlatform());
+        return DataScope.run(() -> req.isKeyset() ? loginLogService.keysetPage(req, wrapper) : loginLogService.page(req.buildPage(), wrapper));
     }
     
 }
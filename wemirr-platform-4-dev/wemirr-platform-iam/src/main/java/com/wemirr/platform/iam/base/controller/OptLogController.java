@@ -38,6 +38,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 /**
  * 操作日志
@@ -58,10 +59,11 @@ public class OptLogController {
     @Operation(summary = "查询日志 - [DONE] - [Levin]", description = "查询日志 - [DONE] - [Levin]")
     @SaCheckPermission(value = {"monitor:log:opt"})
     public Page<OptLog> page(OptLogPageReq req) {
-        return this.optLogService.page(req.buildPage(), Wraps.<OptLog>lbQ()
+        var wrapper = Wraps.<OptLog>lbQ()
                 .eq(OptLog::getHttpMethod, req.getHttpMethod())
                 .eq(OptLog::getStatus, req.getStatus())
-                .eq(OptLog::getPlatform, req.getPlatform()));
+                .eq(OptLog::getPlatform, req.getPlatform());
+        return req.isKeyset() ? this.optLogService.keysetPage(req, wrapper) : this.optLogService.page(req.buildPage(), wrapper);
     }
     
     @DeleteMapping("/{day}")
@@ -79,4 +81,10 @@ public class OptLogController {
         this.optLogService.listener(info);
     }
     
+    @PostMapping("/listener/batch")
+    @Operation(summary = "批量监听日志 - [DONE] - [Levin]", description = "批量监听日志 - [DONE] - [Levin]")
+    public void batchListener(@RequestBody List<AccessLogInfo> infos) {
+        this.optLogService.batchListener(infos);
+    }
+    
 }
@@ -23,6 +23,8 @@ import com.wemirr.framework.boot.log.AccessLogInfo;
 import com.wemirr.framework.db.mybatisplus.ext.SuperService;
 import com.wemirr.platform.iam.base.domain.entity.OptLog;
 
+import java.util.List;
+
 /**
  * @author Levin
  */
@@ -34,4 +36,11 @@ public interface OptLogService extends SuperService<OptLog> {
      * @param logInfo logInfo
      */
     void listener(AccessLogInfo logInfo);
+    
+    /**
+     * 批量保存操作日志
+     *
+     * @param infos 日志信息
+     */
+    void batchListener(List<AccessLogInfo> infos);
 }
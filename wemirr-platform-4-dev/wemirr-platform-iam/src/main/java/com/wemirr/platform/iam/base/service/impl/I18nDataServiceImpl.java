@@ -27,6 +27,7 @@ import com.wemirr.framework.commons.JacksonUtils;
 import com.wemirr.framework.commons.security.AuthenticationContext;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.framework.db.utils.TransactionHelper;
 import com.wemirr.framework.i18n.I18nMessageProvider;
 import com.wemirr.framework.i18n.domain.I18nMessage;
 import com.wemirr.platform.iam.base.domain.dto.req.I18nDataSaveReq;
@@ -43,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -97,11 +99,13 @@ public class I18nDataServiceImpl extends SuperServiceImpl<I18nDataMapper, I18nDa
                         .parentId(i18nData.getId()).locale(lang.getLocale()).message(lang.getMessage()).build())
                 .toList();
         this.i18nLocaleMessageMapper.insertBatchSomeColumn(list);
+        refreshMessages(List.of(), req);
     }
 
     @Override
     @DSTransactional(rollbackFor = Exception.class)
     public void edit(Long id, I18nDataSaveReq req) {
+        final List<I18nMessage> previous = loadMessages(id);
         this.i18nLocaleMessageMapper.delete(Wraps.<I18nLocaleMessage>lbQ().eq(I18nLocaleMessage::getParentId, id));
         this.baseMapper.updateById(I18nData.builder().id(id).code(req.getCode()).remark(req.getRemark()).build());
         final List<?> list = req.getLanguages()
@@ -110,12 +114,51 @@ public class I18nDataServiceImpl extends SuperServiceImpl<I18nDataMapper, I18nDa
                         .parentId(id).locale(lang.getLocale()).message(lang.getMessage()).build())
                 .toList();
         this.i18nLocaleMessageMapper.insertBatchSomeColumn(list);
+        refreshMessages(previous, req);
     }
 
     @Override
     @DSTransactional(rollbackFor = Exception.class)
     public boolean removeById(Serializable id) {
+        final List<I18nMessage> previous = loadMessages(id);
         this.i18nLocaleMessageMapper.delete(Wraps.<I18nLocaleMessage>lbQ().eq(I18nLocaleMessage::getParentId, id));
-        return this.baseMapper.deleteById(id) > 0;
+        final boolean removed = this.baseMapper.deleteById(id) > 0;
+        refreshMessages(previous, null);
+        return removed;
+    }
+
+    private List<I18nMessage> loadMessages(Serializable id) {
+        final I18nData data = this.baseMapper.selectById(id);
+        if (data == null) {
+            return List.of();
+        }
+        return this.i18nLocaleMessageMapper.selectList(Wraps.<I18nLocaleMessage>lbQ().eq(I18nLocaleMessage::getParentId, id))
+                .stream()
+                .map(x -> I18nMessage.builder().code(data.getCode()).locale(x.getLocale()).build())
+                .toList();
+    }
+
+    /**
+     * 同步 Redis 并通知各节点刷新本地缓存（提交后执行），不再存在的 code/locale 以空消息表示删除
+     *
+     * @param previous 修改前的消息
+     * @param req      修改后的数据，删除时为空
+     */
+    private void refreshMessages(List<I18nMessage> previous, I18nDataSaveReq req) {
+        final Map<String, I18nMessage> messages = new LinkedHashMap<>();
+        previous.forEach(message -> messages.put(message.buildKey(), message));
+        if (req != null && req.getLanguages() != null) {
+            for (I18nDataSaveReq.LocaleLanguage lang : req.getLanguages()) {
+                final I18nMessage message = I18nMessage.builder().code(req.getCode()).locale(lang.getLocale())
+                        .message(lang.getMessage()).tenantId(context.tenantId()).build();
+                messages.put(message.buildKey(), message);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        final List<I18nMessage> list = List.copyOf(messages.values());
+        // @DSTransactional 不是 Spring 事务，需要通过 TransactionHelper 在提交后刷新，回滚时不刷新
+        TransactionHelper.afterCommit(() -> i18nMessageProvider.refresh(list));
     }
 }
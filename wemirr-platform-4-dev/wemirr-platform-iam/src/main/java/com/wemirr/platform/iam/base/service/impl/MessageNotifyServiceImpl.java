@@ -84,7 +84,7 @@ public class MessageNotifyServiceImpl extends SuperServiceImpl<MessageNotifyMapp
                             .createName(context.nickName()).createTime(Instant.now())
                             .build()).toList();
                 }).flatMap(Collection::stream).collect(Collectors.toList());
-        CollUtil.split(list, 600).forEach(messageNotifyMapper::insertBatchSomeColumn);
+        messageNotifyMapper.insertBulk(list);
         // 鉴于大部分系统对性能要求没那么极致,采用 spring event 一样可以解耦提高性能
         // 如果消息负载压力过高可以采用 MQ 异步投递解耦
         SpringUtil.publishEvent(new MessageNotifyEvent(template, list));
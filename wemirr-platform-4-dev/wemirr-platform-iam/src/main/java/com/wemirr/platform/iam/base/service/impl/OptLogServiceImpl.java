@@ -31,6 +31,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * @author Levin
  */
@@ -49,4 +54,20 @@ public class OptLogServiceImpl extends SuperServiceImpl<OptLogMapper, OptLog> im
         });
     }
     
+    @Override
+    public void batchListener(List<AccessLogInfo> infos) {
+        // 不同租户可能位于不同的数据源，按租户分组后各自批量写入
+        Map<String, List<OptLog>> groups = infos.stream().filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(info -> Objects.toString(info.getTenantCode(), ""),
+                        Collectors.mapping(info -> BeanUtil.toBean(info, OptLog.class), Collectors.toList())));
+        groups.forEach((tenantCode, logs) -> {
+            try {
+                TenantHelper.executeWithTenantDb(tenantCode.isEmpty() ? null : tenantCode,
+                        () -> this.optLogMapper.insertBatchSomeColumn(logs));
+            } catch (Exception e) {
+                log.error("[日志信息] - 批量保存失败, tenantCode = {}, size = {}", tenantCode, logs.size(), e);
+            }
+        });
+    }
+    
 }
@@ -24,7 +24,6 @@ import cn.hutool.core.lang.tree.Tree;
 import cn.hutool.core.lang.tree.TreeNode;
 import cn.hutool.core.lang.tree.TreeUtil;
 import com.google.common.collect.Maps;
-import com.wemirr.framework.commons.BeanUtilPlus;
 import com.wemirr.framework.commons.annotation.log.AccessLog;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
 import com.wemirr.platform.iam.system.domain.dto.req.OrgSaveReq;
@@ -87,7 +86,7 @@ public class OrgController {
     @Operation(summary = "编辑组织架构")
     @SaCheckPermission(value = {"sys:org:edit"})
     public void modify(@PathVariable Long id, @Validated @RequestBody OrgSaveReq req) {
-        orgService.updateById(BeanUtilPlus.toBean(id, req, Org.class));
+        orgService.modify(id, req);
     }
     
     @DeleteMapping("/{id}")
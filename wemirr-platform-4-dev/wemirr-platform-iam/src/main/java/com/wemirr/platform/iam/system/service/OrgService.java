@@ -50,6 +50,14 @@ public interface OrgService extends SuperService<Org> {
      */
     void create(OrgSaveReq req);
     
+    /**
+     * 编辑组织（父节点变化时同步子孙节点路径与组织索引）
+     *
+     * @param id  id
+     * @param req req
+     */
+    void modify(Long id, OrgSaveReq req);
+    
     /**
      * 获取当前机构本级及子级的ID
      *
@@ -57,4 +65,13 @@ public interface OrgService extends SuperService<Org> {
      * @return 本级及子级ID
      */
     List<Long> getFullTreeIdPath(Long id);
+    
+    /**
+     * 获取指定租户下机构本级及子级的ID（登录等上下文中尚无租户信息时使用）
+     *
+     * @param tenantId 租户ID
+     * @param id       id
+     * @return 本级及子级ID
+     */
+    List<Long> getFullTreeIdPath(Long tenantId, Long id);
 }
@@ -28,6 +28,7 @@ import com.wemirr.platform.iam.system.domain.dto.req.DataPermissionAssignReq;
 import com.wemirr.platform.iam.system.domain.entity.DataPermissionRef;
 import com.wemirr.platform.iam.system.repository.DataPermissionRefMapper;
 import com.wemirr.platform.iam.system.service.DataPermissionRefService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -40,9 +41,12 @@ import java.util.List;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DataPermissionRefServiceImpl extends SuperServiceImpl<DataPermissionRefMapper, DataPermissionRef>
         implements DataPermissionRefService {
 
+    private final DataScopeCache dataScopeCache;
+
     @Override
     public List<DataPermissionRef> listByOwner(DataResourceType ownerType, Long ownerId, DataResourceType dataType) {
         var wrapper = Wraps.<DataPermissionRef>lbQ()
@@ -94,6 +98,7 @@ public class DataPermissionRefServiceImpl extends SuperServiceImpl<DataPermissio
             wrapper.eq(DataPermissionRef::getDataType, dataType);
         }
         baseMapper.delete(wrapper);
+        dataScopeCache.bump(DataScopeCache.ROLE);
     }
 
     private DataPermissionRef buildRef(DataResourceType ownerType, Long ownerId,
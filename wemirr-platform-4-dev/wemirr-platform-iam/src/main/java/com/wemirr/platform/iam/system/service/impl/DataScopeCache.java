@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.iam.system.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wemirr.framework.commons.JacksonUtils;
+import com.wemirr.framework.commons.security.AuthenticationContext;
+import com.wemirr.framework.commons.security.DataScopeType;
+import com.wemirr.framework.db.utils.TransactionHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 数据权限物化缓存（本地 Caffeine + Redis）
+ * <p>
+ * 版本号与缓存 key 均按租户隔离，key 中携带维度版本号，数据变更时只递增对应维度的版本，旧 key 不再命中并自然过期；
+ * 租户为空时（如登录阶段上下文尚未写入租户）不读写缓存，避免不同租户共用同一份版本与数据：
+ * <ul>
+ *     <li>org：用户与机构的归属关系变化（用户新增、删除、调整机构，机构新增、删除）</li>
+ *     <li>role：用户与角色、角色与数据权限的关系变化</li>
+ * </ul>
+ * 用户主键集合以升序 long[] 形式缓存，写入 Redis 时采用差值 + varint 编码后 Base64
+ *
+ * @author Levin
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataScopeCache {
+
+    public static final String ORG = "org";
+    public static final String ROLE = "role";
+    public static final String TREE = "tree";
+
+    private static final String KEY_PREFIX = "iam:data_scope:";
+    private static final String VERSION_KEY = KEY_PREFIX + "version:";
+    private static final Duration REDIS_EXPIRE = Duration.ofHours(12);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AuthenticationContext context;
+    private final Cache<String, Object> localCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /**
+     * 一次 HMGET 读取指定租户全部维度的版本
+     *
+     * @param tenantId 租户ID
+     * @return 版本号，租户为空或读取失败时返回 null（调用方直接查库）
+     */
+    public Versions versions(Long tenantId) {
+        if (tenantId == null) {
+            return null;
+        }
+        try {
+            final List<Object> values = stringRedisTemplate.opsForHash().multiGet(VERSION_KEY + tenantId, List.of(ORG, ROLE));
+            return new Versions(tenantId, toLong(values.get(0)), toLong(values.get(1)));
+        } catch (Exception e) {
+            log.warn("[数据权限] 读取缓存版本失败,本次跳过缓存 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 读取单个版本字段
+     *
+     * @param tenantId 租户ID
+     * @param field    版本字段
+     * @return 版本号，租户为空或读取失败时返回 -1
+     */
+    public long version(Long tenantId, String field) {
+        if (tenantId == null) {
+            return -1;
+        }
+        try {
+            return toLong(stringRedisTemplate.opsForHash().get(VERSION_KEY + tenantId, field));
+        } catch (Exception e) {
+            log.warn("[数据权限] 读取版本 {} 失败 - {}", field, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 立即递增版本字段（不等待事务提交）
+     *
+     * @param tenantId 租户ID
+     * @param field    版本字段
+     * @return 递增后的版本号，租户为空或失败时返回 -1
+     */
+    public long increment(Long tenantId, String field) {
+        if (tenantId == null) {
+            return -1;
+        }
+        try {
+            final Long value = stringRedisTemplate.opsForHash().increment(VERSION_KEY + tenantId, field, 1);
+            return value == null ? -1 : value;
+        } catch (Exception e) {
+            log.warn("[数据权限] 递增版本 {} 失败 - {}", field, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 递增当前租户的维度版本，存在事务（含 {@code @DSTransactional}）时在提交后执行，避免并发读把旧数据写入新版本
+     *
+     * @param dimensions 维度（{@link #ORG}、{@link #ROLE}）
+     */
+    public void bump(String... dimensions) {
+        bump(context.tenantId(), dimensions);
+    }
+
+    /**
+     * 递增指定租户的维度版本，存在事务（含 {@code @DSTransactional}）时在提交后执行
+     *
+     * @param tenantId   租户ID
+     * @param dimensions 维度（{@link #ORG}、{@link #ROLE}）
+     */
+    public void bump(Long tenantId, String... dimensions) {
+        if (tenantId == null) {
+            // 租户为空时不会写入任何缓存，无需递增
+            return;
+        }
+        final String versionKey = VERSION_KEY + tenantId;
+        TransactionHelper.afterCommit(() -> doBump(versionKey, dimensions));
+    }
+
+    /**
+     * 获取用户的角色范围
+     *
+     * @param userId   用户ID
+     * @param versions 版本号
+     * @param loader   数据加载
+     * @return 角色范围
+     */
+    public UserScope getUserScope(Long userId, Versions versions, Supplier<UserScope> loader) {
+        if (versions == null) {
+            return loader.get();
+        }
+        final String key = KEY_PREFIX + versions.tenantId() + ":user:" + userId + ":" + versions.role();
+        final Object local = localCache.getIfPresent(key);
+        if (local instanceof UserScope scope) {
+            return scope;
+        }
+        UserScope scope = null;
+        try {
+            final String json = stringRedisTemplate.opsForValue().get(key);
+            if (StringUtils.isNotBlank(json)) {
+                scope = JacksonUtils.toBean(json, UserScope.class);
+            }
+        } catch (Exception e) {
+            log.warn("[数据权限] 读取用户角色缓存失败 - {}", e.getMessage());
+        }
+        if (scope == null) {
+            scope = loader.get();
+            writeRedis(key, JacksonUtils.toJson(scope));
+        }
+        localCache.put(key, scope);
+        return scope;
+    }
+
+    /**
+     * 获取升序排列的主键集合
+     *
+     * @param key      业务 key（需自行拼接版本号，租户由 versions 携带）
+     * @param versions 版本号（为空时直接加载）
+     * @param loader   数据加载
+     * @return 升序去重后的主键
+     */
+    public long[] getIds(String key, Versions versions, Supplier<Collection<Long>> loader) {
+        if (versions == null) {
+            return sorted(loader.get());
+        }
+        final String cacheKey = KEY_PREFIX + versions.tenantId() + ":" + key;
+        final Object local = localCache.getIfPresent(cacheKey);
+        if (local instanceof long[] ids) {
+            return ids;
+        }
+        long[] ids = null;
+        try {
+            final String encoded = stringRedisTemplate.opsForValue().get(cacheKey);
+            if (encoded != null) {
+                ids = decode(encoded);
+            }
+        } catch (Exception e) {
+            log.warn("[数据权限] 读取主键缓存失败 - {}", e.getMessage());
+        }
+        if (ids == null) {
+            ids = sorted(loader.get());
+            writeRedis(cacheKey, encode(ids));
+        }
+        localCache.put(cacheKey, ids);
+        return ids;
+    }
+
+    private void doBump(String versionKey, String... dimensions) {
+        for (String dimension : dimensions) {
+            stringRedisTemplate.opsForHash().increment(versionKey, dimension, 1);
+        }
+    }
+
+    private void writeRedis(String key, String value) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, value, REDIS_EXPIRE);
+        } catch (Exception e) {
+            log.warn("[数据权限] 写入缓存失败 - {}", e.getMessage());
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    private static long[] sorted(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new long[0];
+        }
+        return ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    /**
+     * 差值 + varint 编码（首个元素 zigzag，后续差值非负）
+     */
+    static String encode(long[] ids) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length * 4 + 8);
+        long prev = 0;
+        for (int i = 0; i < ids.length; i++) {
+            final long value = i == 0 ? (ids[0] << 1) ^ (ids[0] >> 63) : ids[i] - prev;
+            writeVarLong(out, value);
+            prev = ids[i];
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    static long[] decode(String encoded) {
+        final ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        long[] ids = new long[Math.max(buffer.remaining() / 4, 4)];
+        int size = 0;
+        long prev = 0;
+        while (buffer.hasRemaining()) {
+            final long raw = readVarLong(buffer);
+            final long value = size == 0 ? (raw >>> 1) ^ -(raw & 1) : prev + raw;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = value;
+            prev = value;
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    /**
+     * 维度版本号
+     *
+     * @param tenantId 租户ID
+     * @param org      机构维度版本
+     * @param role     角色维度版本
+     */
+    public record Versions(long tenantId, long org, long role) {
+    }
+
+    /**
+     * 用户角色范围
+     *
+     * @param scopeType 权限最大角色的数据范围（无角色时为空）
+     * @param roleId    权限最大的角色ID
+     * @param roleIds   全部角色ID
+     */
+    public record UserScope(DataScopeType scopeType, Long roleId, List<Long> roleIds) {
+    }
+}
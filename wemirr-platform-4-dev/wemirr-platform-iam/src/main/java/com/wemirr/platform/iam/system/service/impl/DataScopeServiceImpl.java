@@ -21,10 +21,12 @@ package com.wemirr.platform.iam.system.service.impl;
 
 import com.wemirr.framework.commons.entity.Entity;
 import com.wemirr.framework.commons.exception.CheckedException;
+import com.wemirr.framework.commons.security.AuthenticationContext;
 import com.wemirr.framework.commons.security.DataPermission;
 import com.wemirr.framework.commons.security.DataResourceType;
 import com.wemirr.framework.db.mybatisplus.datascope.service.DataScopeService;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.framework.db.mybatisplus.wrap.query.LbqWrapper;
 import com.wemirr.platform.iam.system.domain.entity.DataPermissionRef;
 import com.wemirr.platform.iam.system.domain.entity.Role;
 import com.wemirr.platform.iam.system.domain.entity.User;
@@ -39,6 +41,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static com.wemirr.framework.commons.security.DataScopeType.*;
@@ -55,53 +58,77 @@ public class DataScopeServiceImpl implements DataScopeService {
     private final DataPermissionRefMapper dataPermissionRefMapper;
     private final UserMapper userMapper;
     private final OrgService orgService;
+    private final DataScopeCache dataScopeCache;
+    private final AuthenticationContext context;
 
     @Override
     public DataPermission getDataScopeById(Long userId) {
         final User user = Optional.ofNullable(this.userMapper.selectById(userId)).orElseThrow(() -> CheckedException.notFound("用户不存在"));
-        return getDataScopeById(userId, user.getOrgId());
+        return getDataScopeById(userId, user.getOrgId(), user.getTenantId());
+    }
+
+    @Override
+    public DataPermission getDataScopeById(Long userId, Long orgId) {
+        return getDataScopeById(userId, orgId, context.tenantId());
     }
 
     /**
      * 开发者可以根据自己企业需求动态扩展数据权限（默认就支撑多维度数据权限，此处以用户维护演示）
      *
-     * @param userId 用户ID
-     * @param orgId  用户当前机构
+     * @param userId   用户ID
+     * @param orgId    用户当前机构
+     * @param tenantId 用户所属租户（为空时不走缓存）
      * @return 数据权限
      */
     @Override
-    public DataPermission getDataScopeById(Long userId, Long orgId) {
+    public DataPermission getDataScopeById(Long userId, Long orgId, Long tenantId) {
+        final DataScopeCache.Versions versions = dataScopeCache.versions(tenantId);
+        final DataScopeCache.UserScope scope = dataScopeCache.getUserScope(userId, versions, () -> loadUserScope(userId));
+        if (scope.scopeType() == null) {
+            return DataPermission.builder().build();
+        }
+        DataPermission permission = DataPermission.builder().scopeType(scope.scopeType()).roleIds(scope.roleIds()).orgId(orgId).build();
+        // 用户集合按 角色/机构 + 维度版本 缓存，角色或机构关系变化时版本递增自动失效（versions 为空时直接查库）
+        final long orgVersion = versions == null ? 0 : versions.org();
+        final long roleVersion = versions == null ? 0 : versions.role();
+        final long[] userIds = switch (scope.scopeType()) {
+            case CUSTOMIZE -> dataScopeCache.getIds("role:" + scope.roleId() + ":" + roleVersion + ":" + orgVersion, versions,
+                    () -> loadCustomizeUserIds(scope.roleId()));
+            case THIS_LEVEL -> dataScopeCache.getIds("org:" + orgId + ":" + orgVersion, versions,
+                    () -> selectUserIds(Wraps.<User>lbQ().select(User::getId).eq(User::getOrgId, orgId)));
+            case THIS_LEVEL_CHILDREN -> dataScopeCache.getIds("org_tree:" + orgId + ":" + orgVersion, versions,
+                    () -> selectUserIds(Wraps.<User>lbQ().select(User::getId).in(User::getOrgId, orgService.getFullTreeIdPath(tenantId, orgId))));
+            default -> null;
+        };
+        if (userIds != null) {
+            permission.getSortedIdMap().put(DataResourceType.USER, userIds);
+        }
+        // 如果你还有其他维度可以自行扩展
+        return permission;
+    }
+
+    private DataScopeCache.UserScope loadUserScope(Long userId) {
         List<Role> list = roleMapper.findRoleByUserId(userId);
         if (CollectionUtils.isEmpty(list)) {
-            return DataPermission.builder().build();
+            return new DataScopeCache.UserScope(null, null, List.of());
         }
         // 找到 dsType 最大的角色， dsType越大，角色拥有的权限最大
         Role role = list.stream().max(Comparator.comparingInt(item -> item.getScopeType().getType())).get();
         // 收集所有角色ID（用于 EXISTS 子查询）
         List<Long> roleIds = list.stream().map(Role::getId).toList();
-        DataPermission permission = DataPermission.builder().scopeType(role.getScopeType()).roleIds(roleIds).orgId(orgId).build();
+        return new DataScopeCache.UserScope(role.getScopeType(), role.getId(), roleIds);
+    }
 
-        List<Long> userIdList = null;
-        if (role.getScopeType() == CUSTOMIZE) {
-            List<Long> orgIdList = dataPermissionRefMapper.selectList(Wraps.<DataPermissionRef>lbQ().select(DataPermissionRef::getDataId)
-                    .eq(DataPermissionRef::getOwnerId, role.getId())
-                    .eq(DataPermissionRef::getOwnerType, DataResourceType.ROLE)
-                    .eq(DataPermissionRef::getDataType, DataResourceType.ORG))
-                    .stream().map(DataPermissionRef::getDataId).filter(java.util.Objects::nonNull).distinct().toList();
-            userIdList = this.userMapper.selectList(Wraps.<User>lbQ().select(User::getId).in(User::getOrgId, orgIdList))
-                    .stream().map(Entity::getId).toList();
-        } else if (role.getScopeType() == THIS_LEVEL) {
-            userIdList = this.userMapper.selectList(Wraps.<User>lbQ().select(User::getId).eq(User::getOrgId, orgId))
-                    .stream().map(Entity::getId).toList();
-        } else if (role.getScopeType() == THIS_LEVEL_CHILDREN) {
-            final List<Long> orgIdList = orgService.getFullTreeIdPath(orgId);
-            userIdList = this.userMapper.selectList(Wraps.<User>lbQ().select(User::getId).in(User::getOrgId, orgIdList))
-                    .stream().map(Entity::getId).toList();
-        }
-        if (userIdList != null) {
-            permission.getDataPermissionMap().put(DataResourceType.USER, userIdList.stream().map(x -> (Object) x).toList());
-        }
-        // 如果你还有其他维度可以自行扩展
-        return permission;
+    private List<Long> loadCustomizeUserIds(Long roleId) {
+        List<Long> orgIdList = dataPermissionRefMapper.selectList(Wraps.<DataPermissionRef>lbQ().select(DataPermissionRef::getDataId)
+                .eq(DataPermissionRef::getOwnerId, roleId)
+                .eq(DataPermissionRef::getOwnerType, DataResourceType.ROLE)
+                .eq(DataPermissionRef::getDataType, DataResourceType.ORG))
+                .stream().map(DataPermissionRef::getDataId).filter(Objects::nonNull).distinct().toList();
+        return selectUserIds(Wraps.<User>lbQ().select(User::getId).in(User::getOrgId, orgIdList));
+    }
+
+    private List<Long> selectUserIds(LbqWrapper<User> wrapper) {
+        return this.userMapper.selectList(wrapper).stream().map(Entity::getId).toList();
     }
 }
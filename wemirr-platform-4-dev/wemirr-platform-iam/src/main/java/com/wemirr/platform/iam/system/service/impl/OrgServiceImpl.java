@@ -21,8 +21,11 @@ package com.wemirr.platform.iam.system.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
+import com.baomidou.dynamic.datasource.annotation.DSTransactional;
+import com.wemirr.framework.commons.BeanUtilPlus;
 import com.wemirr.framework.commons.entity.Entity;
 import com.wemirr.framework.commons.exception.CheckedException;
+import com.wemirr.framework.commons.security.AuthenticationContext;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
 import com.wemirr.platform.iam.system.domain.dto.req.OrgSaveReq;
@@ -33,7 +36,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
@@ -47,6 +52,10 @@ import static java.util.stream.Collectors.toList;
 @Service
 @RequiredArgsConstructor
 public class OrgServiceImpl extends SuperServiceImpl<OrgMapper, Org> implements OrgService {
+
+    private final DataScopeCache dataScopeCache;
+    private final OrgTreeIndex orgTreeIndex;
+    private final AuthenticationContext context;
     
     @Override
     public void remove(Long id) {
@@ -55,6 +64,8 @@ public class OrgServiceImpl extends SuperServiceImpl<OrgMapper, Org> implements
             throw CheckedException.badRequest("当前组织下还存在子节点,请先移除子节点");
         }
         this.baseMapper.deleteById(id);
+        orgTreeIndex.onDelete(context.tenantId(), id);
+        dataScopeCache.bump(DataScopeCache.ORG);
     }
     
     @Override
@@ -62,13 +73,46 @@ public class OrgServiceImpl extends SuperServiceImpl<OrgMapper, Org> implements
         final Org bean = BeanUtil.toBean(req, Org.class);
         bean.setTreePath(buildNewTreePath(req.getParentId()));
         this.baseMapper.insert(bean);
+        orgTreeIndex.onSave(context.tenantId(), bean.getId(), bean.getParentId());
+        dataScopeCache.bump(DataScopeCache.ORG);
+    }
+    
+    @Override
+    @DSTransactional(rollbackFor = Exception.class)
+    public void modify(Long id, OrgSaveReq req) {
+        final Org org = Optional.ofNullable(this.baseMapper.selectById(id)).orElseThrow(() -> CheckedException.notFound("组织不存在"));
+        final Org bean = BeanUtilPlus.toBean(id, req, Org.class);
+        final Long parentId = req.getParentId();
+        final boolean moved = parentId != null && !Objects.equals(parentId, org.getParentId());
+        if (moved) {
+            if (Objects.equals(id, parentId) || orgTreeIndex.isDescendant(context.tenantId(), id, parentId)) {
+                throw CheckedException.badRequest("不能移动到当前组织或其子节点下");
+            }
+            final List<Long> treePath = buildNewTreePath(parentId);
+            bean.setTreePath(treePath);
+            moveDescendants(id, org.getTreePath(), treePath);
+        }
+        this.baseMapper.updateById(bean);
+        if (moved) {
+            orgTreeIndex.onSave(context.tenantId(), id, parentId);
+            dataScopeCache.bump(DataScopeCache.ORG);
+        }
     }
     
     @Override
     public List<Long> getFullTreeIdPath(Long id) {
+        return getFullTreeIdPath(context.tenantId(), id);
+    }
+    
+    @Override
+    public List<Long> getFullTreeIdPath(Long tenantId, Long id) {
         if (id == null) {
             return null;
         }
+        final List<Long> indexed = orgTreeIndex.descendants(tenantId, id);
+        if (indexed != null) {
+            return indexed;
+        }
         final Org org = this.baseMapper.selectById(id);
         if (org == null) {
             return null;
@@ -85,6 +129,30 @@ public class OrgServiceImpl extends SuperServiceImpl<OrgMapper, Org> implements
         return list;
     }
     
+    /**
+     * 节点移动后同步子孙节点的 tree_path（将旧前缀替换为新前缀）
+     */
+    private void moveDescendants(Long id, List<Long> oldTreePath, List<Long> newTreePath) {
+        final List<Long> descendants = getFullTreeIdPath(id);
+        if (descendants == null) {
+            return;
+        }
+        descendants.remove(id);
+        if (descendants.isEmpty()) {
+            return;
+        }
+        final int oldPrefixSize = (oldTreePath == null ? 0 : oldTreePath.size()) + 1;
+        for (Org child : this.baseMapper.selectBatchIds(descendants)) {
+            final List<Long> childPath = child.getTreePath();
+            final List<Long> treePath = new ArrayList<>(newTreePath);
+            treePath.add(id);
+            if (childPath != null && childPath.size() >= oldPrefixSize) {
+                treePath.addAll(childPath.subList(oldPrefixSize, childPath.size()));
+            }
+            this.baseMapper.updateById(Org.builder().id(child.getId()).treePath(treePath).build());
+        }
+    }
+    
     private List<Long> buildNewTreePath(Long id) {
         final Org org = Optional.ofNullable(this.baseMapper.selectById(id)).orElseThrow(() -> CheckedException.notFound("父节点不存在"));
         final List<Long> treePath = org.getTreePath();
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023 WEMIRR-PLATFORM Authors. All Rights Reserved.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wemirr.platform.iam.system.service.impl;
+
+import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.framework.db.utils.TransactionHelper;
+import com.wemirr.platform.iam.system.domain.entity.Org;
+import com.wemirr.platform.iam.system.repository.OrgMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 组织层级索引
+ * <p>
+ * 按租户在内存中维护组织树快照，节点按先序遍历编号，每个节点对应 [start, end) 区间，
+ * 子孙查询即为区间切片，无需再按 tree_path 做 LIKE 扫描。
+ * <p>
+ * 快照携带租户版本号（{@link DataScopeCache#TREE}），本实例的新增/移动/删除在事务提交后递增版本并在内存中增量重建，
+ * 其它实例发现版本不一致时重新加载；快照最长保留 {@link #SNAPSHOT_TTL}，防止版本递增失败时长期使用旧树。
+ * 租户为空时（如登录阶段）不使用快照：子孙查询返回 null 由调用方查库，层级判断临时加载当前数据源的组织树
+ *
+ * @author Levin
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrgTreeIndex {
+
+    private static final long SNAPSHOT_TTL = Duration.ofMinutes(10).toNanos();
+
+    private final OrgMapper orgMapper;
+    private final DataScopeCache dataScopeCache;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 获取本级及子级组织ID
+     *
+     * @param tenantId 租户ID
+     * @param orgId    组织ID
+     * @return 本级及子级ID，租户为空或索引中不存在时返回 null
+     */
+    public List<Long> descendants(Long tenantId, Long orgId) {
+        if (tenantId == null) {
+            return null;
+        }
+        return snapshot(tenantId).descendants(orgId);
+    }
+
+    /**
+     * 判断 node 是否为 ancestor 的子孙节点（包含自身）
+     *
+     * @param tenantId 租户ID
+     * @param ancestor 祖先节点
+     * @param node     待判断节点
+     * @return 是否子孙
+     */
+    public boolean isDescendant(Long tenantId, Long ancestor, Long node) {
+        final Snapshot snapshot = tenantId == null ? Snapshot.build(-1, load()) : snapshot(tenantId);
+        return snapshot.contains(ancestor, node);
+    }
+
+    /**
+     * 节点新增或移动
+     *
+     * @param tenantId 租户ID
+     * @param orgId    组织ID
+     * @param parentId 父节点ID
+     */
+    public void onSave(Long tenantId, Long orgId, Long parentId) {
+        apply(tenantId, parents -> parents.put(orgId, parentId));
+    }
+
+    /**
+     * 节点删除
+     *
+     * @param tenantId 租户ID
+     * @param orgId    组织ID
+     */
+    public void onDelete(Long tenantId, Long orgId) {
+        apply(tenantId, parents -> parents.remove(orgId));
+    }
+
+    private void apply(Long tenantId, Consumer<Map<Long, Long>> mutation) {
+        if (tenantId == null) {
+            // 租户为空时从不缓存快照，无需维护
+            return;
+        }
+        // 提交后再递增版本并重建：提交前递增会让其它实例按新版本加载到旧树，回滚也会让本实例留下不存在的树
+        TransactionHelper.afterCommit(() -> rebuild(tenantId, mutation));
+    }
+
+    private void rebuild(Long tenantId, Consumer<Map<Long, Long>> mutation) {
+        final long version = dataScopeCache.increment(tenantId, DataScopeCache.TREE);
+        final Snapshot current = snapshots.get(tenantId);
+        // 版本连续说明期间无其它实例修改，可直接在内存中重建；否则丢弃快照等待下次加载
+        if (current == null || version < 0 || version != current.version + 1) {
+            snapshots.remove(tenantId);
+            return;
+        }
+        final Map<Long, Long> parents = new HashMap<>(current.parents);
+        mutation.accept(parents);
+        snapshots.put(tenantId, Snapshot.build(version, parents));
+    }
+
+    private Snapshot snapshot(Long tenantId) {
+        final long version = dataScopeCache.version(tenantId, DataScopeCache.TREE);
+        final Snapshot current = snapshots.get(tenantId);
+        if (current != null && !current.expired() && (version < 0 || current.version == version)) {
+            return current;
+        }
+        final Map<Long, Long> parents = load();
+        final Snapshot snapshot = Snapshot.build(version, parents);
+        snapshots.put(tenantId, snapshot);
+        log.debug("[组织索引] 租户 {} 加载组织树快照,节点数 {} 版本 {}", tenantId, parents.size(), version);
+        return snapshot;
+    }
+
+    private Map<Long, Long> load() {
+        final Map<Long, Long> parents = new HashMap<>();
+        for (Org org : orgMapper.selectList(Wraps.<Org>lbQ().select(Org::getId, Org::getParentId))) {
+            parents.put(org.getId(), org.getParentId());
+        }
+        return parents;
+    }
+
+    /**
+     * 不可变的组织树快照
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final long createdAt = System.nanoTime();
+        private final Map<Long, Long> parents;
+        private final long[] order;
+        private final Map<Long, int[]> intervals;
+
+        private Snapshot(long version, Map<Long, Long> parents, long[] order, Map<Long, int[]> intervals) {
+            this.version = version;
+            this.parents = parents;
+            this.order = order;
+            this.intervals = intervals;
+        }
+
+        static Snapshot build(long version, Map<Long, Long> parents) {
+            final Map<Long, List<Long>> children = new HashMap<>();
+            final List<Long> roots = new ArrayList<>();
+            parents.forEach((id, parentId) -> {
+                if (parentId != null && !Objects.equals(id, parentId) && parents.containsKey(parentId)) {
+                    children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(id);
+                } else {
+                    roots.add(id);
+                }
+            });
+            final long[] order = new long[parents.size()];
+            final Map<Long, int[]> intervals = new HashMap<>(parents.size() * 4 / 3 + 1);
+            int index = 0;
+            // 迭代先序遍历，出栈第二次时写入区间结束位置（脏数据成环的节点不会被遍历到，查询时回退到数据库）
+            final Deque<long[]> stack = new ArrayDeque<>();
+            for (Long root : roots) {
+                stack.push(new long[]{root, 0});
+                while (!stack.isEmpty()) {
+                    final long[] frame = stack.pop();
+                    final long id = frame[0];
+                    if (frame[1] == 1) {
+                        intervals.get(id)[1] = index;
+                        continue;
+                    }
+                    intervals.put(id, new int[]{index, index});
+                    order[index++] = id;
+                    stack.push(new long[]{id, 1});
+                    final List<Long> nodes = children.get(id);
+                    if (nodes != null) {
+                        for (Long child : nodes) {
+                            stack.push(new long[]{child, 0});
+                        }
+                    }
+                }
+            }
+            return new Snapshot(version, parents, order, intervals);
+        }
+
+        boolean expired() {
+            return System.nanoTime() - createdAt > SNAPSHOT_TTL;
+        }
+
+        List<Long> descendants(Long orgId) {
+            final int[] interval = orgId == null ? null : intervals.get(orgId);
+            if (interval == null) {
+                return null;
+            }
+            return new ArrayList<>(Arrays.stream(order, interval[0], interval[1]).boxed().toList());
+        }
+
+        boolean contains(Long ancestor, Long node) {
+            final int[] outer = ancestor == null ? null : intervals.get(ancestor);
+            final int[] inner = node == null ? null : intervals.get(node);
+            return outer != null && inner != null && outer[0] <= inner[0] && inner[0] < outer[1];
+        }
+    }
+}
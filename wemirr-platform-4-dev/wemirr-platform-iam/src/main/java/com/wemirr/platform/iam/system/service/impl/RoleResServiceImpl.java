@@ -51,6 +51,7 @@ import static java.util.stream.Collectors.toList;
 public class RoleResServiceImpl extends SuperServiceImpl<RoleResMapper, RoleRes> implements RoleResService {
 
     private final UserRoleMapper userRoleMapper;
+    private final DataScopeCache dataScopeCache;
 
     @Override
     @DSTransactional(rollbackFor = Exception.class)
@@ -59,6 +60,7 @@ public class RoleResServiceImpl extends SuperServiceImpl<RoleResMapper, RoleRes>
         List<UserRole> list = req.getUserIdList().stream()
                 .map(userId -> UserRole.builder().userId(userId).roleId(req.getRoleId()).build()).collect(toList());
         userRoleMapper.insertBatchSomeColumn(list);
+        dataScopeCache.bump(DataScopeCache.ROLE);
         return true;
     }
 
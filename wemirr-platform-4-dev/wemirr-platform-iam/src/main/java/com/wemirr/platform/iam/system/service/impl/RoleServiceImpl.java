@@ -62,6 +62,7 @@ public class RoleServiceImpl extends SuperServiceImpl<RoleMapper, Role> implemen
     private final DataPermissionRefMapper dataPermissionRefMapper;
     private final UserRoleMapper userRoleMapper;
     private final ResourceMapper resourceMapper;
+    private final DataScopeCache dataScopeCache;
 
     @Override
     public List<Role> list() {
@@ -103,6 +104,7 @@ public class RoleServiceImpl extends SuperServiceImpl<RoleMapper, Role> implemen
                 .eq(DataPermissionRef::getOwnerType, DataResourceType.ROLE));
         roleResMapper.delete(Wraps.<RoleRes>lbQ().eq(RoleRes::getRoleId, roleId));
         userRoleMapper.delete(Wraps.<UserRole>lbQ().eq(UserRole::getRoleId, roleId));
+        dataScopeCache.bump(DataScopeCache.ROLE);
     }
 
     @Override
@@ -129,12 +131,14 @@ public class RoleServiceImpl extends SuperServiceImpl<RoleMapper, Role> implemen
         }
         var bean = BeanUtilPlus.toBean(roleId, req, Role.class);
         this.baseMapper.updateById(bean);
+        dataScopeCache.bump(DataScopeCache.ROLE);
     }
 
     @Override
     @DSTransactional(rollbackFor = Exception.class)
     public void assignUser(Long roleId, List<Long> userIdList) {
         this.userRoleMapper.delete(Wraps.<UserRole>lbQ().eq(UserRole::getRoleId, roleId));
+        dataScopeCache.bump(DataScopeCache.ROLE);
         if (CollUtil.isEmpty(userIdList)) {
             return;
         }
@@ -149,6 +153,7 @@ public class RoleServiceImpl extends SuperServiceImpl<RoleMapper, Role> implemen
                 .eq(DataPermissionRef::getOwnerId, roleId)
                 .eq(DataPermissionRef::getOwnerType, DataResourceType.ROLE)
                 .eq(DataPermissionRef::getDataType, DataResourceType.ORG));
+        dataScopeCache.bump(DataScopeCache.ROLE);
         if (CollectionUtil.isEmpty(orgList)) {
             return;
         }
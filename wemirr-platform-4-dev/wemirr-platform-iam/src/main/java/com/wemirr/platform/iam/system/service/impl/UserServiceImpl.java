@@ -31,6 +31,7 @@ import com.baomidou.dynamic.datasource.annotation.DSTransactional;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.wemirr.framework.boot.remote.RemoteCache;
 import com.wemirr.framework.commons.BeanUtilPlus;
 import com.wemirr.framework.commons.JacksonUtils;
 import com.wemirr.framework.commons.annotation.remote.RemoteResult;
@@ -44,6 +45,7 @@ import com.wemirr.framework.db.mybatisplus.wrap.query.LbqWrapper;
 import com.wemirr.framework.db.properties.DatabaseProperties;
 import com.wemirr.framework.db.properties.MultiTenantType;
 import com.wemirr.framework.db.utils.TenantHelper;
+import com.wemirr.framework.db.utils.TransactionHelper;
 import com.wemirr.framework.log.diff.core.annotation.DiffLog;
 import com.wemirr.framework.log.diff.core.context.DiffLogContext;
 import com.wemirr.framework.security.configuration.SecurityExtProperties;
@@ -72,11 +74,13 @@ import com.wemirr.platform.iam.tenant.repository.TenantMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.utils.Lists;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -87,6 +91,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implements UserService {
 
+    /**
+     * 用户回显 LoadService（UserFeign），IAM 不依赖 iam-api，按类名失效
+     */
+    private static final String USER_LOAD_SERVICE = "com.wemirr.platform.iam.feign.UserFeign";
+
     private final UserRoleMapper userRoleMapper;
     private final AuthenticationContext context;
     private final OrgService orgService;
@@ -96,6 +105,8 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
     private final DataScopeService dataScopeService;
     private final SaTokenDao saTokenDao;
     private final SecurityExtProperties extProperties;
+    private final DataScopeCache dataScopeCache;
+    private final ObjectProvider<RemoteCache> remoteCache;
 
     @Override
     public void create(UserSaveReq req) {
@@ -107,6 +118,7 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
         bean.setPassword(PasswordEncoderHelper.encode(req.getPassword()));
         bean.setTenantId(context.tenantId());
         this.baseMapper.insert(bean);
+        dataScopeCache.bump(DataScopeCache.ORG);
     }
 
     @Override
@@ -119,6 +131,10 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
         User newUser = BeanUtilPlus.toBean(id, req, User.class);
         DiffLogContext.putDiffItem(oldUser, newUser);
         this.baseMapper.updateById(newUser);
+        if (newUser.getOrgId() != null && !Objects.equals(oldUser.getOrgId(), newUser.getOrgId())) {
+            dataScopeCache.bump(DataScopeCache.ORG);
+        }
+        evictRemoteCache(id);
     }
 
     @Override
@@ -154,6 +170,8 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
         }
         baseMapper.deleteById(id);
         userRoleMapper.delete(Wraps.<UserRole>lbQ().eq(UserRole::getUserId, id));
+        dataScopeCache.bump(DataScopeCache.ORG, DataScopeCache.ROLE);
+        evictRemoteCache(id);
     }
 
     @Override
@@ -164,6 +182,7 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
                 .nickName(req.getNickName()).birthday(req.getBirthday())
                 .description(req.getDescription()).build();
         this.baseMapper.updateById(bean);
+        evictRemoteCache(userId);
     }
 
     @Override
@@ -216,7 +235,7 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
             info.setRoles(roles.stream().map(Role::getCode).toList());
             setFuncPermissions(info);
             // 为了减少一次数据库查询,所以用了这个不规范写法
-            info.setDataPermission(dataScopeService.getDataScopeById(user.getId(), user.getOrgId()));
+            info.setDataPermission(dataScopeService.getDataScopeById(user.getId(), user.getOrgId(), user.getTenantId()));
             return info;
         });
     }
@@ -289,4 +308,13 @@ public class UserServiceImpl extends SuperServiceImpl<UserMapper, User> implemen
         page.setRecords(records);
         return page;
     }
+
+    /**
+     * 用户信息变更后失效各服务的回显缓存，事务提交后执行
+     *
+     * @param userId 用户ID
+     */
+    private void evictRemoteCache(Long userId) {
+        remoteCache.ifAvailable(cache -> TransactionHelper.afterCommit(() -> cache.evict(USER_LOAD_SERVICE, null, List.of(userId))));
+    }
 }
@@ -45,6 +45,7 @@ import com.wemirr.platform.iam.base.repository.AreaMapper;
 import com.wemirr.platform.iam.base.repository.SysDictMapper;
 import com.wemirr.platform.iam.system.domain.entity.*;
 import com.wemirr.platform.iam.system.repository.*;
+import com.wemirr.platform.iam.system.service.impl.DataScopeCache;
 import com.wemirr.platform.iam.tenant.domain.dto.req.TenantConfigReq;
 import com.wemirr.platform.iam.tenant.domain.dto.req.TenantDbBindingSaveReq;
 import com.wemirr.platform.iam.tenant.domain.dto.req.TenantSaveReq;
@@ -94,6 +95,7 @@ public class TenantServiceImpl extends SuperServiceImpl<TenantMapper, Tenant> im
     private final OrgMapper orgMapper;
     private final SysDictMapper dictMapper;
     private final TenantDictMapper tenantDictMapper;
+    private final DataScopeCache dataScopeCache;
 
     private String getNameById(Long id) {
         if (Objects.isNull(id)) {
@@ -190,6 +192,7 @@ public class TenantServiceImpl extends SuperServiceImpl<TenantMapper, Tenant> im
             this.roleMapper.delete(Role::getTenantId, tenant.getId());
             this.orgMapper.delete(Org::getTenantId, tenant.getId());
         });
+        dataScopeCache.bump(tenant.getId(), DataScopeCache.ORG, DataScopeCache.ROLE, DataScopeCache.TREE);
 
     }
 
@@ -251,6 +254,7 @@ public class TenantServiceImpl extends SuperServiceImpl<TenantMapper, Tenant> im
         user.setStatus(true);
         this.userMapper.insert(user);
         this.userRoleMapper.insert(UserRole.builder().userId(user.getId()).roleId(role.getId()).build());
+        dataScopeCache.bump(tenant.getId(), DataScopeCache.ORG, DataScopeCache.ROLE, DataScopeCache.TREE);
     }
 
     void validTenant(Long tenantId) {
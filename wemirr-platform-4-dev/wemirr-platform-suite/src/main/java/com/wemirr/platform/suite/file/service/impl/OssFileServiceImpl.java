@@ -24,10 +24,12 @@ import cn.hutool.core.lang.Dict;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.wemirr.framework.boot.remote.RemoteCache;
 import com.wemirr.framework.commons.JacksonUtils;
 import com.wemirr.framework.commons.exception.CheckedException;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.platform.suite.feign.OssFileFeign;
 import com.wemirr.platform.suite.feign.domain.resp.OssFilePreviewResp;
 import com.wemirr.platform.suite.file.domain.dto.req.FileStoragePageReq;
 import com.wemirr.platform.suite.file.domain.dto.resp.OssFilePageResp;
@@ -43,6 +45,7 @@ import org.dromara.x.file.storage.core.FileInfo;
 import org.dromara.x.file.storage.core.FileStorageService;
 import org.dromara.x.file.storage.core.hash.HashInfo;
 import org.dromara.x.file.storage.core.platform.FileStorage;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -59,6 +62,7 @@ public class OssFileServiceImpl extends SuperServiceImpl<OssFileMapper, OssFile>
 
     private final FileStorageService fileStorageService;
     private final OssConfigTemplate ossConfigTemplate;
+    private final ObjectProvider<RemoteCache> remoteCache;
 
     @Override
     public OssFile upload(MultipartFile file) {
@@ -98,6 +102,8 @@ public class OssFileServiceImpl extends SuperServiceImpl<OssFileMapper, OssFile>
         FileInfo fileInfo = toFileInfo(storage);
         if (fileStorageService.delete(fileInfo)) {
             this.baseMapper.deleteById(id);
+            // 回显缓存按文件地址缓存预览信息，失效整个 LoadKey
+            remoteCache.ifAvailable(cache -> cache.evict(OssFileFeign.class, null, null));
         }
     }
 
@@ -31,6 +31,21 @@ public class VectorStoreProperties {
 
     private ElasticsearchConfig elasticsearch = new ElasticsearchConfig();
 
+    /**
+     * 向量缓存配置（按内容哈希复用已生成的向量）
+     */
+    private EmbeddingCacheConfig embeddingCache = new EmbeddingCacheConfig();
+
+    /**
+     * 大文档流式导入配置
+     */
+    private IngestConfig ingest = new IngestConfig();
+
+    /**
+     * 混合检索配置
+     */
+    private HybridConfig hybrid = new HybridConfig();
+
 
     /**
      * 知识图谱配置
@@ -155,6 +170,53 @@ public class VectorStoreProperties {
         private int initialCapacity = 1000;
     }
 
+    @Data
+    public static class EmbeddingCacheConfig {
+        /** 是否启用 */
+        private boolean enabled = true;
+        /** 本地（堆外）缓存最大字节数 */
+        private long localMaxBytes = 64L * 1024 * 1024;
+        /** 是否启用 Redis 持久层 */
+        private boolean redisEnabled = true;
+        /** Redis 过期天数 */
+        private int redisExpireDays = 30;
+    }
+
+    @Data
+    public static class IngestConfig {
+        /** 文件大小达到该值（字节）时走流式导入，不再整篇抽取正文 */
+        private long streamingThreshold = 8L * 1024 * 1024;
+        /** 解析阶段每个段落块的最大字符数 */
+        private int sectionChars = 8 * 1024;
+        /** 每批分片数（入库、向量化、写向量库） */
+        private int batchSize = 64;
+        /** 阶段间队列容量 */
+        private int queueCapacity = 4;
+    }
+
+    @Data
+    public static class HybridConfig {
+        /** 融合方式 */
+        private FusionMode fusion = FusionMode.RRF;
+        /** RRF 平滑常数 k */
+        private int rrfK = 60;
+        /** 语义检索权重（关键词检索权重为 1 - semanticWeight） */
+        private double semanticWeight = 0.5;
+        /** 每路召回数量 = topK × candidateMultiplier */
+        private int candidateMultiplier = 2;
+        /** 两路检索的截止时间（毫秒），超时的一路按空结果参与融合 */
+        private long timeoutMillis = 1500;
+        /** 关键词索引实现 */
+        private String lexicalIndex = "sql";
+    }
+
+    public enum FusionMode {
+        /** 倒数排名融合 */
+        RRF,
+        /** 分数归一化后加权 */
+        WEIGHTED
+    }
+
     @Data
     public static class ElasticsearchConfig {
         private String host = "localhost";
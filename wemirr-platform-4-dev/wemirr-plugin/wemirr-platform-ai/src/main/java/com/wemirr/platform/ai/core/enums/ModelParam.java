@@ -18,6 +18,9 @@ public enum ModelParam {
 
     // 向量模型参数
     DIMENSIONS("dimensions", ModelType.EMBEDDING, Integer.class),
+    EMBEDDING_BATCH_SIZE("embedding_batch_size", ModelType.EMBEDDING, Integer.class),
+    EMBEDDING_BATCH_TOKENS("embedding_batch_tokens", ModelType.EMBEDDING, Integer.class),
+    EMBEDDING_CONCURRENCY("embedding_concurrency", ModelType.EMBEDDING, Integer.class),
 
     // 图像模型参数
     IMAGE_SIZE("image_size", ModelType.IMAGE, String.class),
@@ -0,0 +1,23 @@
+package com.wemirr.platform.ai.core.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.File;
+
+/**
+ * 大文档上传完成事件，事务提交后交由流式导入管道处理
+ *
+ * @author xJh
+ * @since 2025/10/20
+ **/
+@Data
+@AllArgsConstructor
+public class DocumentIngestEvent {
+
+    private Long kbId;
+    private Long itemId;
+    private File file;
+    private String contentType;
+
+}
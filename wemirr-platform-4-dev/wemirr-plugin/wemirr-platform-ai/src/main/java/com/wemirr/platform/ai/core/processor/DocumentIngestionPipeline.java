@@ -0,0 +1,268 @@
+package com.wemirr.platform.ai.core.processor;
+
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
+import com.wemirr.platform.ai.core.provider.vectorStore.EnhancedVectorStoreFactory;
+import com.wemirr.platform.ai.domain.entity.KnowledgeBase;
+import com.wemirr.platform.ai.domain.entity.KnowledgeChunk;
+import com.wemirr.platform.ai.domain.entity.KnowledgeItem;
+import com.wemirr.platform.ai.domain.entity.ModelConfig;
+import com.wemirr.platform.ai.domain.entity.VectorMetadata;
+import com.wemirr.platform.ai.service.KnowledgeChunkService;
+import com.wemirr.platform.ai.service.VectorMetadataService;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 文档流式导入管道
+ * <p>
+ * 解析 → 增量分片 → 分片入库 + 向量化 → 写向量库，四个阶段各占一个虚拟线程，阶段之间是有界队列：
+ * 下游变慢时上游在 put 处阻塞（背压），内存中最多只有 队列容量 × 批大小 个分片，与文档大小无关；
+ * 任一阶段失败，其余阶段在下一次 put/take 时退出；已写入的分片、向量元数据和向量由调用方通过 {@link #discard} 清理，
+ * 调用方在导入前登记 outbox，进程崩溃时由定时恢复认领后清理
+ *
+ * @author xJh
+ * @since 2025/10/20
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentIngestionPipeline {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final DocumentProcessor documentProcessor;
+    private final VectorizationProcessor vectorizationProcessor;
+    private final EnhancedVectorStoreFactory enhancedVectorStoreFactory;
+    private final KnowledgeChunkService knowledgeChunkService;
+    private final VectorMetadataService vectorMetadataService;
+    private final VectorStoreProperties vectorStoreProperties;
+
+    /**
+     * 流式导入文档：边解析边分片、入库、向量化并写入向量库，失败时不清理已写入的数据
+     *
+     * @param kb          知识库
+     * @param item        知识条目（已入库）
+     * @param modelConfig 向量模型配置
+     * @param file        文档文件
+     * @param contentType 内容类型
+     * @return 导入结果
+     */
+    public Result ingest(KnowledgeBase kb, KnowledgeItem item, ModelConfig modelConfig, File file, String contentType) {
+        VectorStoreProperties.IngestConfig config = vectorStoreProperties.getIngest();
+        int capacity = Math.max(config.getQueueCapacity(), 1);
+        int batchSize = Math.max(config.getBatchSize(), 1);
+        int chunkSize = kb.getIngestMaxLength() != null && kb.getIngestMaxOverlap() != null ? kb.getIngestMaxLength() : DocumentProcessor.DEFAULT_CHUNK_SIZE;
+        int chunkOverlap = kb.getIngestMaxLength() != null && kb.getIngestMaxOverlap() != null ? kb.getIngestMaxOverlap() : DocumentProcessor.DEFAULT_CHUNK_OVERLAP;
+        EmbeddingStore<TextSegment> embeddingStore = enhancedVectorStoreFactory.createForKnowledgeBase(kb, modelConfig);
+
+        BlockingQueue<Optional<String>> sections = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<Optional<List<String>>> batches = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<Optional<EmbeddedBatch>> embedded = new ArrayBlockingQueue<>(capacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger chunkCount = new AtomicInteger();
+        AtomicInteger batchCount = new AtomicInteger();
+        AtomicLong tokenUsage = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // 1. 解析：按段落块输出
+            executor.execute(stage(failure, () -> {
+                documentProcessor.streamSections(file, contentType, config.getSectionChars(),
+                        section -> put(sections, Optional.of(section), failure));
+                put(sections, Optional.empty(), failure);
+            }));
+            // 2. 增量分片并按批大小打包
+            executor.execute(stage(failure, () -> {
+                IncrementalSplitter splitter = new IncrementalSplitter(chunkSize, chunkOverlap);
+                List<String> batch = new ArrayList<>(batchSize);
+                for (Optional<String> section = take(sections, failure); section.isPresent(); section = take(sections, failure)) {
+                    for (String chunk : splitter.accept(section.get())) {
+                        batch.add(chunk);
+                        if (batch.size() >= batchSize) {
+                            put(batches, Optional.of(batch), failure);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+                batch.addAll(splitter.finish());
+                if (!batch.isEmpty()) {
+                    put(batches, Optional.of(batch), failure);
+                }
+                put(batches, Optional.empty(), failure);
+            }));
+            // 3. 分片入库（预分配向量ID写入 vectorRef，后续无需逐条回写）并向量化
+            executor.execute(stage(failure, () -> {
+                int chunkIndex = 0;
+                for (Optional<List<String>> batch = take(batches, failure); batch.isPresent(); batch = take(batches, failure)) {
+                    List<String> texts = batch.get().stream().filter(text -> !text.isBlank()).toList();
+                    if (texts.isEmpty()) {
+                        continue;
+                    }
+                    List<String> vectorIds = texts.stream().map(text -> UUID.randomUUID().toString()).toList();
+                    List<KnowledgeChunk> chunks = knowledgeChunkService.appendDocumentChunks(kb.getId(), item.getId(), chunkIndex, texts, vectorIds);
+                    chunkIndex += texts.size();
+                    List<TextSegment> segments = chunks.stream().map(chunk -> toSegment(kb, item, chunk)).toList();
+                    EmbeddingBatcher.Result result = vectorizationProcessor.embed(segments, modelConfig);
+                    tokenUsage.addAndGet(result.tokenUsage());
+                    put(embedded, Optional.of(new EmbeddedBatch(chunks, vectorIds, segments, result.embeddings())), failure);
+                }
+                put(embedded, Optional.empty(), failure);
+            }));
+            // 4. 先写向量元数据再写向量库，失败清理时能按元数据找回向量ID
+            executor.execute(stage(failure, () -> {
+                for (Optional<EmbeddedBatch> next = take(embedded, failure); next.isPresent(); next = take(embedded, failure)) {
+                    EmbeddedBatch batch = next.get();
+                    vectorMetadataService.batchSave(toVectorMetadata(kb, item, batch));
+                    embeddingStore.addAll(batch.vectorIds(), batch.embeddings(), batch.segments());
+                    chunkCount.addAndGet(batch.chunks().size());
+                    batchCount.incrementAndGet();
+                }
+            }));
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("文档流式导入失败: " + error.getMessage(), error);
+        }
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        log.info("[流式导入] kbId={} itemId={} 分片={} 批次={} tokens={} 耗时={}ms 吞吐={} chunks/s", kb.getId(), item.getId(),
+                chunkCount.get(), batchCount.get(), tokenUsage.get(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                String.format("%.1f", chunkCount.get() * 1e9 / elapsed));
+        return new Result(chunkCount.get(), batchCount.get(), tokenUsage.get());
+    }
+
+    private TextSegment toSegment(KnowledgeBase kb, KnowledgeItem item, KnowledgeChunk chunk) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("kbId", String.valueOf(chunk.getKbId()));
+        metadata.put("itemId", String.valueOf(chunk.getItemId()));
+        metadata.put("chunkId", String.valueOf(chunk.getId()));
+        metadata.put("chunkType", chunk.getChunkType().getCode());
+        metadata.put("kbName", kb.getName());
+        metadata.put("itemTitle", item.getTitle());
+        chunk.getMetadata().forEach((key, value) -> metadata.put(key, value != null ? value.toString() : ""));
+        return TextSegment.from(chunk.getContent(), Metadata.from(metadata));
+    }
+
+    private List<VectorMetadata> toVectorMetadata(KnowledgeBase kb, KnowledgeItem item, EmbeddedBatch batch) {
+        List<VectorMetadata> list = new ArrayList<>(batch.chunks().size());
+        for (int i = 0; i < batch.chunks().size(); i++) {
+            KnowledgeChunk chunk = batch.chunks().get(i);
+            Map<String, Object> metadata = new HashMap<>(chunk.getMetadata());
+            metadata.put("kbName", kb.getName());
+            metadata.put("itemTitle", item.getTitle());
+            metadata.put("chunkType", chunk.getChunkType().getCode());
+            list.add(VectorMetadata.builder()
+                    .vectorId(batch.vectorIds().get(i))
+                    .kbId(chunk.getKbId())
+                    .itemId(chunk.getItemId())
+                    .chunkId(chunk.getId())
+                    .chunkType(chunk.getChunkType())
+                    .collectionName("kb_" + kb.getId() + "_vectors")
+                    .textContent(chunk.getContent())
+                    .textHash(chunk.getContentHash())
+                    .metadata(metadata)
+                    .deleted(false)
+                    .build());
+        }
+        return list;
+    }
+
+    /**
+     * 清理导入已写入的向量、向量元数据和分片
+     * <p>
+     * 向量元数据先于向量库写入，按元数据能找回所有已写入的向量ID；可重复执行
+     *
+     * @param kb          知识库
+     * @param modelConfig 向量模型配置
+     * @param itemId      知识条目ID
+     */
+    public void discard(KnowledgeBase kb, ModelConfig modelConfig, Long itemId) {
+        List<String> vectorIds = vectorMetadataService.findByItemId(itemId).stream().map(VectorMetadata::getVectorId).toList();
+        if (!vectorIds.isEmpty()) {
+            enhancedVectorStoreFactory.createForKnowledgeBase(kb, modelConfig).removeAll(vectorIds);
+        }
+        vectorMetadataService.deleteByItemId(itemId);
+        knowledgeChunkService.deleteByItemId(itemId);
+    }
+
+    private static Runnable stage(AtomicReference<Throwable> failure, Stage stage) {
+        return () -> {
+            try {
+                stage.run();
+            } catch (Throwable e) {
+                // 只保留最先发生的异常，其余阶段因此退出时抛出的 CancellationException 忽略
+                failure.compareAndSet(null, e);
+            }
+        };
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T value, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(value, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure(failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("文档导入被中断");
+        }
+    }
+
+    private static <T> T take(BlockingQueue<T> queue, AtomicReference<Throwable> failure) {
+        try {
+            T value;
+            while ((value = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkFailure(failure);
+            }
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("文档导入被中断");
+        }
+    }
+
+    private static void checkFailure(AtomicReference<Throwable> failure) {
+        if (failure.get() != null) {
+            throw new CancellationException("上游或下游阶段已失败");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private record EmbeddedBatch(List<KnowledgeChunk> chunks, List<String> vectorIds, List<TextSegment> segments, List<Embedding> embeddings) {
+    }
+
+    /**
+     * 导入结果
+     *
+     * @param chunks     分片数
+     * @param batches    批次数
+     * @param tokenUsage 向量模型 token 消耗（命中缓存的分片不计）
+     */
+    public record Result(int chunks, int batches, long tokenUsage) {
+    }
+}
@@ -7,15 +7,29 @@ import dev.langchain4j.data.document.parser.TextDocumentParser;
 import dev.langchain4j.data.document.parser.apache.tika.ApacheTikaDocumentParser;
 import dev.langchain4j.data.document.splitter.DocumentSplitters;
 import dev.langchain4j.data.segment.TextSegment;
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,12 +46,18 @@ public class DocumentProcessor {
     /**
      * 默认分片大小（字符数） 【如果有token计算器，按token计算】
      */
-    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
     
     /**
      * 默认分片重叠大小（字符数） 【如果有token计算器，按token计算】
      */
-    private static final int DEFAULT_CHUNK_OVERLAP = 200;
+    public static final int DEFAULT_CHUNK_OVERLAP = 200;
+
+    /**
+     * 导入配置（段落块大小取 rag.ingest.section-chars），脱离容器使用时取默认配置
+     */
+    @Autowired(required = false)
+    private VectorStoreProperties vectorStoreProperties;
 
     /**
      * 从文件中提取文本
@@ -49,9 +69,48 @@ public class DocumentProcessor {
      */
     public String extractText(File file, String contentType) throws IOException {
         DocumentParser parser = getParserByContentType(contentType);
-        FileInputStream fileInputStream = new FileInputStream(file);
-        Document document = parser.parse(fileInputStream);
-        return document.text();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return parser.parse(inputStream).text();
+        }
+    }
+
+    /**
+     * 流式解析文件，按段落（PDF 为页、Office/HTML 为块级元素、文本为空行）累积到约 sectionChars 后回调，
+     * 不构建整篇文档，回调阻塞时解析随之暂停
+     *
+     * @param file         文件
+     * @param contentType  内容类型
+     * @param sectionChars 段落块大小（字符数）
+     * @param consumer     段落块回调
+     * @throws IOException IO异常
+     */
+    public void streamSections(File file, String contentType, int sectionChars, Consumer<String> consumer) throws IOException {
+        int limit = Math.max(sectionChars, DEFAULT_CHUNK_SIZE);
+        if (isTikaContentType(contentType)) {
+            SectionContentHandler handler = new SectionContentHandler(limit, consumer);
+            try (TikaInputStream inputStream = TikaInputStream.get(file.toPath())) {
+                new AutoDetectParser().parse(inputStream, handler, new org.apache.tika.metadata.Metadata(), new ParseContext());
+            } catch (SAXException | TikaException e) {
+                throw new IOException("文档解析失败: " + e.getMessage(), e);
+            }
+            handler.flush();
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            StringBuilder buffer = new StringBuilder(limit);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                buffer.append(line).append('\n');
+                // 优先在空行（段落）处切，超长段落按两倍上限硬切
+                if ((line.isBlank() && buffer.length() >= limit) || buffer.length() >= limit * 2) {
+                    consumer.accept(buffer.toString());
+                    buffer.setLength(0);
+                }
+            }
+            if (!buffer.isEmpty()) {
+                consumer.accept(buffer.toString());
+            }
+        }
     }
 
     /**
@@ -113,21 +172,29 @@ public class DocumentProcessor {
      * @return 文档解析器
      */
     private DocumentParser getParserByContentType(String contentType) {
+        return isTikaContentType(contentType) ? new ApacheTikaDocumentParser() : new TextDocumentParser();
+    }
+
+    /**
+     * 是否需要 Tika 解析（PDF、Office、HTML）
+     *
+     * @param contentType 内容类型
+     * @return 是否 Tika 解析
+     */
+    private boolean isTikaContentType(String contentType) {
         if (contentType == null) {
             contentType = "";
         }
         
         if (contentType.contains("pdf")) {
-            return new ApacheTikaDocumentParser();
+            return true;
         } else if (contentType.contains("word") || contentType.contains("docx") || 
                    contentType.contains("excel") || contentType.contains("xlsx") || 
                    contentType.contains("powerpoint") || contentType.contains("pptx")) {
-            return new ApacheTikaDocumentParser();
-        } else if (contentType.contains("html")) {
-            return new ApacheTikaDocumentParser();
+            return true;
         } else {
             // 默认使用文本解析器
-            return new TextDocumentParser();
+            return contentType.contains("html");
         }
     }
     
@@ -142,16 +209,11 @@ public class DocumentProcessor {
      * @throws IOException IO异常
      */
     public List<String> processFileAndSplit(File file, String contentType, int chunkSize, int chunkOverlap) throws IOException {
-        DocumentParser parser = getParserByContentType(contentType);
-        FileInputStream inputStream = new FileInputStream(file);
-        Document document = parser.parse(inputStream);
-        
-        DocumentSplitter splitter = DocumentSplitters.recursive(chunkSize, chunkOverlap);
-        List<TextSegment> segments = splitter.split(document);
-        
-        return segments.stream()
-                .map(TextSegment::text)
-                .collect(Collectors.toList());
+        IncrementalSplitter splitter = new IncrementalSplitter(chunkSize, chunkOverlap);
+        List<String> chunks = new ArrayList<>();
+        streamSections(file, contentType, sectionChars(), section -> chunks.addAll(splitter.accept(section)));
+        chunks.addAll(splitter.finish());
+        return chunks;
     }
     
     /**
@@ -165,4 +227,59 @@ public class DocumentProcessor {
     public List<String> processFileAndSplit(File file, String contentType) throws IOException {
         return processFileAndSplit(file, contentType, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_OVERLAP);
     }
+
+    private int sectionChars() {
+        VectorStoreProperties.IngestConfig ingest = vectorStoreProperties != null
+                ? vectorStoreProperties.getIngest() : new VectorStoreProperties.IngestConfig();
+        return ingest.getSectionChars();
+    }
+
+    /**
+     * 接收 Tika SAX 事件，在块级元素结束处按大小切出段落块
+     */
+    private static final class SectionContentHandler extends DefaultHandler {
+
+        private static final Set<String> BLOCK_ELEMENTS = Set.of("div", "p", "li", "tr", "table", "h1", "h2", "h3", "h4", "h5", "h6", "br");
+
+        private final int sectionChars;
+        private final Consumer<String> consumer;
+        private final StringBuilder buffer;
+
+        private SectionContentHandler(int sectionChars, Consumer<String> consumer) {
+            this.sectionChars = sectionChars;
+            this.consumer = consumer;
+            this.buffer = new StringBuilder(sectionChars);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            buffer.append(ch, start, length);
+            if (buffer.length() >= sectionChars * 2) {
+                flush();
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            characters(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (BLOCK_ELEMENTS.contains(localName)) {
+                buffer.append('\n');
+                if (buffer.length() >= sectionChars) {
+                    flush();
+                }
+            }
+        }
+
+        private void flush() {
+            String section = buffer.toString();
+            if (!section.isBlank()) {
+                consumer.accept(section);
+            }
+            buffer.setLength(0);
+        }
+    }
 }
@@ -0,0 +1,200 @@
+package com.wemirr.platform.ai.core.processor;
+
+import com.wemirr.platform.ai.core.provider.embedding.EmbeddingBatchLimits;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.RetriableException;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量向量化执行器
+ * <p>
+ * 1. 按提供商的条数/token 限制把分片切成批次，调用 {@link EmbeddingModel#embedAll(List)}
+ * <p>
+ * 2. 批次在虚拟线程上执行，同一模型配置共享一个信号量限制并发，避免触发限流
+ * <p>
+ * 3. 单批因超时 / 429 / 5xx 失败时先退避重试，仍失败则拆成两半分别处理，直到单条仍失败才抛出异常；
+ * 其余错误（鉴权、参数错误、返回数量不一致等）重试无意义，直接抛出
+ * <p>
+ * 4. 按批累计 token（提供商未返回时使用估算值）
+ *
+ * @author xJh
+ * @since 2025/10/20
+ **/
+@Slf4j
+@Component
+public class EmbeddingBatcher {
+
+    private static final int MAX_RETRIES = 2;
+    private static final long BACKOFF_MILLIS = 200;
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * 批量向量化
+     *
+     * @param model          向量模型
+     * @param segments       文本分片
+     * @param limits         批量限制
+     * @param concurrencyKey 并发控制 key（一般为模型配置 ID）
+     * @return 与 segments 顺序一致的向量及 token 统计
+     */
+    public Result embedAll(EmbeddingModel model, List<TextSegment> segments, EmbeddingBatchLimits limits, String concurrencyKey) {
+        if (segments.isEmpty()) {
+            return new Result(List.of(), 0, 0);
+        }
+        final List<List<TextSegment>> batches = partition(segments, limits);
+        final Semaphore semaphore = permits.computeIfAbsent(concurrencyKey + ":" + limits.concurrency(), key -> new Semaphore(limits.concurrency()));
+        final AtomicLong tokens = new AtomicLong();
+        final List<Embedding> embeddings = new ArrayList<>(segments.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<List<Embedding>>> futures = new ArrayList<>(batches.size());
+            for (List<TextSegment> batch : batches) {
+                futures.add(executor.submit(() -> embed(model, batch, semaphore, tokens)));
+            }
+            for (Future<List<Embedding>> future : futures) {
+                embeddings.addAll(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("批量向量化失败: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量向量化被中断", e);
+        }
+        return new Result(embeddings, tokens.get(), batches.size());
+    }
+
+    /**
+     * 按条数与 token 上限贪心切分批次
+     */
+    static List<List<TextSegment>> partition(List<TextSegment> segments, EmbeddingBatchLimits limits) {
+        final List<List<TextSegment>> batches = new ArrayList<>();
+        List<TextSegment> current = new ArrayList<>();
+        long currentTokens = 0;
+        for (TextSegment segment : segments) {
+            final int segmentTokens = estimateTokens(segment.text());
+            if (!current.isEmpty() && (current.size() >= limits.maxItems() || currentTokens + segmentTokens > limits.maxTokens())) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            current.add(segment);
+            currentTokens += segmentTokens;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    /**
+     * 估算 token 数：非 ASCII 字符（中文等）按 1 个，ASCII 按 4 个字符 1 个
+     */
+    static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 1;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return other + ascii / 4 + 1;
+    }
+
+    private List<Embedding> embed(EmbeddingModel model, List<TextSegment> batch, Semaphore semaphore, AtomicLong tokens) throws InterruptedException {
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            if (attempt > 0) {
+                TimeUnit.MILLISECONDS.sleep(BACKOFF_MILLIS << (attempt - 1));
+            }
+            semaphore.acquire();
+            try {
+                final Response<List<Embedding>> response = model.embedAll(batch);
+                final List<Embedding> content = response.content();
+                if (content == null || content.size() != batch.size()) {
+                    throw new IllegalStateException("向量数量与分片数量不一致: " + (content == null ? 0 : content.size()) + "/" + batch.size());
+                }
+                tokens.addAndGet(tokenCount(response.tokenUsage(), batch));
+                return content;
+            } catch (RuntimeException e) {
+                if (!retryable(e)) {
+                    throw e;
+                }
+                failure = e;
+                log.warn("向量化批次失败（{} 条，第 {} 次）: {}", batch.size(), attempt + 1, e.getMessage());
+            } finally {
+                semaphore.release();
+            }
+        }
+        if (batch.size() == 1) {
+            throw failure;
+        }
+        // 拆分重试，定位导致失败的分片（如超长文本）
+        final int middle = batch.size() / 2;
+        final List<Embedding> embeddings = new ArrayList<>(batch.size());
+        embeddings.addAll(embed(model, batch.subList(0, middle), semaphore, tokens));
+        embeddings.addAll(embed(model, batch.subList(middle, batch.size()), semaphore, tokens));
+        return embeddings;
+    }
+
+    /**
+     * 是否为可重试的瞬时错误：超时、限流（429）、服务端错误（5xx）
+     */
+    static boolean retryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof HttpTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof HttpException http) {
+                final int status = http.statusCode();
+                return status == 408 || status == 429 || status >= 500;
+            }
+        }
+        return false;
+    }
+
+    private static long tokenCount(TokenUsage usage, List<TextSegment> batch) {
+        if (usage != null && usage.totalTokenCount() != null) {
+            return usage.totalTokenCount();
+        }
+        return batch.stream().mapToLong(segment -> estimateTokens(segment.text())).sum();
+    }
+
+    /**
+     * 批量向量化结果
+     *
+     * @param embeddings 向量（与输入顺序一致）
+     * @param tokenUsage token 消耗
+     * @param batches    批次数
+     */
+    public record Result(List<Embedding> embeddings, long tokenUsage, int batches) {
+    }
+}
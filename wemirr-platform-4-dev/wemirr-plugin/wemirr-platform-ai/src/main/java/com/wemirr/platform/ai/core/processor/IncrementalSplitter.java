@@ -0,0 +1,66 @@
+package com.wemirr.platform.ai.core.processor;
+
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.DocumentSplitter;
+import dev.langchain4j.data.document.splitter.DocumentSplitters;
+import dev.langchain4j.data.segment.TextSegment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 增量分片器
+ * <p>
+ * 段落块逐段喂入，只保留最后一个（可能被段落边界截断的）分片作为尾巴，与下一段拼接后重新切分，
+ * 常驻内存不超过 一个分片 + 一个段落块，与文档总长度无关
+ *
+ * @author xJh
+ * @since 2025/10/20
+ **/
+public class IncrementalSplitter {
+
+    private static final String SECTION_SEPARATOR = "\n\n";
+
+    private final DocumentSplitter splitter;
+    private String tail = "";
+
+    public IncrementalSplitter(int chunkSize, int chunkOverlap) {
+        this.splitter = DocumentSplitters.recursive(chunkSize, chunkOverlap);
+    }
+
+    /**
+     * 喂入一个段落块
+     *
+     * @param section 段落块
+     * @return 已确定的分片（不含尾巴）
+     */
+    public List<String> accept(String section) {
+        if (section == null || section.isBlank()) {
+            return List.of();
+        }
+        String text = tail.isEmpty() ? section : tail + SECTION_SEPARATOR + section;
+        List<TextSegment> segments = splitter.split(Document.from(text));
+        if (segments.isEmpty()) {
+            tail = "";
+            return List.of();
+        }
+        int last = segments.size() - 1;
+        List<String> chunks = new ArrayList<>(last);
+        for (int i = 0; i < last; i++) {
+            chunks.add(segments.get(i).text());
+        }
+        tail = segments.get(last).text();
+        return chunks;
+    }
+
+    /**
+     * 结束输入，返回剩余的尾巴分片
+     *
+     * @return 剩余分片
+     */
+    public List<String> finish() {
+        String rest = tail;
+        tail = "";
+        return rest.isBlank() ? List.of() : List.of(rest);
+    }
+}
@@ -1,5 +1,7 @@
 package com.wemirr.platform.ai.core.processor;
 
+import com.wemirr.platform.ai.core.provider.embedding.EmbeddingBatchLimits;
+import com.wemirr.platform.ai.core.provider.embedding.EmbeddingCache;
 import com.wemirr.platform.ai.core.provider.embedding.EmbeddingModelService;
 import com.wemirr.platform.ai.core.provider.vectorStore.EnhancedVectorStoreFactory;
 import com.wemirr.platform.ai.domain.dto.result.BatchVectorResult;
@@ -15,18 +17,19 @@ import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.model.output.Response;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 向量化处理器
@@ -40,12 +43,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class VectorizationProcessor {
 
+    /**
+     * 远程调用为 IO 密集型，使用虚拟线程而不是公共 ForkJoin 池
+     */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     private final EnhancedVectorStoreFactory enhancedVectorStoreFactory;
     private final EmbeddingModelService embeddingModelService;
     private final KnowledgeBaseService knowledgeBaseService;
     private final KnowledgeItemService knowledgeItemService;
     private final KnowledgeChunkService knowledgeChunkService;
     private final VectorMetadataService vectorMetadataService;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
 
 //    public VectorizationProcessor(EnhancedVectorStoreFactory enhancedVectorStoreFactory,
 //                                  EmbeddingModelService embeddingModelService) {
@@ -85,7 +95,7 @@ public class VectorizationProcessor {
                 log.error("向量化处理失败: {}", e.getMessage(), e);
                 throw new RuntimeException("向量化处理失败", e);
             }
-        });
+        }, EXECUTOR);
     }
     
     /**
@@ -118,7 +128,7 @@ public class VectorizationProcessor {
                 log.error("向量化处理失败: {}", e.getMessage(), e);
                 throw new RuntimeException("向量化处理失败", e);
             }
-        });
+        }, EXECUTOR);
     }
 
     /**
@@ -132,37 +142,51 @@ public class VectorizationProcessor {
      */
     public CompletableFuture<BatchVectorResult> batchVectorAndStore(List<String> texts, List<Map<String, String>> metadataList,
                                                                     KnowledgeBase knowledgeBase, ModelConfig modelConfig) {
+        return batchVectorAndStore(null, texts, metadataList, knowledgeBase, modelConfig);
+    }
+
+    /**
+     * 批量向量化文本并以预分配的向量ID存储（配合 outbox 登记，崩溃后可按ID清理）
+     *
+     * @param vectorIds 预分配的向量ID，为空时由向量库生成
+     * @param texts 文本列表
+     * @param metadataList 元数据列表
+     * @param knowledgeBase 知识库
+     * @param modelConfig 模型配置
+     * @return 向量ID列表
+     */
+    public CompletableFuture<BatchVectorResult> batchVectorAndStore(List<String> vectorIds, List<String> texts, List<Map<String, String>> metadataList,
+                                                                    KnowledgeBase knowledgeBase, ModelConfig modelConfig) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // 获取知识库专用的向量存储
                 EmbeddingStore<TextSegment> embeddingStore = enhancedVectorStoreFactory.createForKnowledgeBase(knowledgeBase, modelConfig);
-                
-                // 动态获取嵌入模型
-                EmbeddingModel embeddingModel = embeddingModelService.getModel(modelConfig);
-                AtomicInteger totalTokens = new AtomicInteger(0);
-                // 生成嵌入向量
-                List<Embedding> embeddings = texts.stream()
-                        .map(text ->{
-                            Response<Embedding> result = embeddingModel.embed(text);
-                            totalTokens.addAndGet(Objects.requireNonNull(result.tokenUsage()).totalTokenCount());
-                            return result.content();
-                        })
-                        .collect(Collectors.toList());
 
-                // 创建文本分片
+                // 创建文本分片并批量生成嵌入向量
                 List<TextSegment> segments = createTextSegments(texts, metadataList);
+                long start = System.nanoTime();
+                EmbeddingBatcher.Result result = embed(segments, modelConfig);
+                long elapsed = Math.max(System.nanoTime() - start, 1);
+                log.info("[向量化] kbId={} 分片={} 批次={} tokens={} 耗时={}ms 吞吐={} chunks/s", knowledgeBase.getId(), segments.size(),
+                        result.batches(), result.tokenUsage(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        String.format("%.1f", segments.size() * 1e9 / elapsed));
 
                 // 存储向量
-                List<String> vectorIds = embeddingStore.addAll(embeddings, segments);
+                List<String> storedIds = vectorIds;
+                if (storedIds == null) {
+                    storedIds = embeddingStore.addAll(result.embeddings(), segments);
+                } else {
+                    embeddingStore.addAll(storedIds, result.embeddings(), segments);
+                }
                 return BatchVectorResult.builder()
-                        .vectorIds(vectorIds)
-                        .tokenUsage(totalTokens.get())
+                        .vectorIds(storedIds)
+                        .tokenUsage((int) Math.min(result.tokenUsage(), Integer.MAX_VALUE))
                         .build();
             } catch (Exception e) {
                 log.error("批量向量化处理失败: {}", e.getMessage(), e);
                 throw new RuntimeException("批量向量化处理失败", e);
             }
-        });
+        }, EXECUTOR);
     }
     
     /**
@@ -178,17 +202,10 @@ public class VectorizationProcessor {
             try {
                 // 使用默认向量存储
                 EmbeddingStore<TextSegment> embeddingStore = enhancedVectorStoreFactory.createefault();
-                
-                // 动态获取嵌入模型
-                EmbeddingModel embeddingModel = embeddingModelService.getModel(modelConfig);
-                
-                // 生成嵌入向量
-                List<Embedding> embeddings = texts.stream()
-                        .map(text -> embeddingModel.embed(text).content())
-                        .collect(Collectors.toList());
 
-                // 创建文本分片
+                // 创建文本分片并批量生成嵌入向量
                 List<TextSegment> segments = createTextSegments(texts, metadataList);
+                List<Embedding> embeddings = embed(segments, modelConfig).embeddings();
 
                 // 存储向量
                 List<String> vectorIds = embeddingStore.addAll(embeddings, segments);
@@ -198,7 +215,7 @@ public class VectorizationProcessor {
                 log.error("批量向量化处理失败: {}", e.getMessage(), e);
                 throw new RuntimeException("批量向量化处理失败", e);
             }
-        });
+        }, EXECUTOR);
     }
     
     /**
@@ -209,14 +226,47 @@ public class VectorizationProcessor {
      * @return 文本分片列表
      */
     private List<TextSegment> createTextSegments(List<String> texts, List<Map<String, String>> metadataList) {
-        return texts.stream()
-                .map(text -> {
-                    int index = texts.indexOf(text);
-                    Map<String, String> metadata = index < metadataList.size() ? metadataList.get(index) : Map.of();
-                    Metadata from = Metadata.from(metadata);
-                    return TextSegment.from(text, from);
-                })
-                .collect(Collectors.toList());
+        List<TextSegment> segments = new ArrayList<>(texts.size());
+        for (int index = 0; index < texts.size(); index++) {
+            Map<String, String> metadata = index < metadataList.size() ? metadataList.get(index) : Map.of();
+            segments.add(TextSegment.from(texts.get(index), Metadata.from(metadata)));
+        }
+        return segments;
+    }
+
+    /**
+     * 先按内容哈希命中向量缓存，未命中的分片按模型配置的批量限制调用 embedAll
+     *
+     * @param segments    文本分片
+     * @param modelConfig 模型配置
+     * @return 向量化结果（token 只统计实际调用模型的部分）
+     */
+    public EmbeddingBatcher.Result embed(List<TextSegment> segments, ModelConfig modelConfig) {
+        String modelKey = embeddingModelService.cacheKey(modelConfig);
+        List<String> texts = segments.stream().map(TextSegment::text).toList();
+        Embedding[] embeddings = embeddingCache.getAll(modelKey, texts);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < embeddings.length; i++) {
+            if (embeddings[i] == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            log.info("[向量化] 全部 {} 个分片命中向量缓存", segments.size());
+            return new EmbeddingBatcher.Result(Arrays.asList(embeddings), 0, 0);
+        }
+        List<TextSegment> pending = missing.stream().map(segments::get).toList();
+        EmbeddingModel embeddingModel = embeddingModelService.getModel(modelConfig);
+        EmbeddingBatchLimits limits = embeddingModelService.getLimits(modelConfig);
+        String concurrencyKey = modelConfig.getId() != null ? String.valueOf(modelConfig.getId())
+                : modelConfig.getProvider() + ":" + modelConfig.getModelName();
+        EmbeddingBatcher.Result result = embeddingBatcher.embedAll(embeddingModel, pending, limits, concurrencyKey);
+        embeddingCache.putAll(modelKey, pending.stream().map(TextSegment::text).toList(), result.embeddings());
+        for (int i = 0; i < missing.size(); i++) {
+            embeddings[missing.get(i)] = result.embeddings().get(i);
+        }
+        log.debug("[向量化] 向量缓存命中 {}/{}", segments.size() - missing.size(), segments.size());
+        return new EmbeddingBatcher.Result(Arrays.asList(embeddings), result.tokenUsage(), result.batches());
     }
     
     /**
@@ -30,6 +30,15 @@ public class DeepSeekEmbeddingModelProvider implements EmbeddingModelProvider {
                 .build();
     }
 
+    /**
+     * DeepSeek 未公布向量接口的批量上限，且按服务负载动态限流，取较小批次与并发；
+     * 私有化部署可通过 embedding_batch_size / embedding_batch_tokens / embedding_concurrency 覆盖
+     */
+    @Override
+    public EmbeddingBatchLimits limits(ModelConfig config) {
+        return new EmbeddingBatchLimits(64, 16_000, 2);
+    }
+
     @Override
     public String providerId() {
         return AiProvider.DEEP_SEEK.getCode();
@@ -0,0 +1,43 @@
+package com.wemirr.platform.ai.core.provider.embedding;
+
+import com.wemirr.platform.ai.core.enums.ModelParam;
+
+import java.util.Map;
+
+/**
+ * 向量模型批量调用限制
+ *
+ * @param maxItems    单次请求最大条数
+ * @param maxTokens   单次请求最大 token 数（估算）
+ * @param concurrency 同一模型配置的最大并发请求数
+ * @author xJh
+ * @since 2025/10/12
+ **/
+public record EmbeddingBatchLimits(int maxItems, int maxTokens, int concurrency) {
+
+    public static final EmbeddingBatchLimits DEFAULT = new EmbeddingBatchLimits(16, 8192, 2);
+
+    public EmbeddingBatchLimits {
+        maxItems = Math.max(maxItems, 1);
+        maxTokens = Math.max(maxTokens, 1);
+        concurrency = Math.max(concurrency, 1);
+    }
+
+    /**
+     * 使用模型配置变量覆盖（embedding_batch_size / embedding_batch_tokens / embedding_concurrency）
+     *
+     * @param variables 模型配置变量
+     * @return 覆盖后的限制
+     */
+    public EmbeddingBatchLimits override(Map<String, Object> variables) {
+        Integer items = ModelParam.EMBEDDING_BATCH_SIZE.getValueFrom(variables);
+        Integer tokens = ModelParam.EMBEDDING_BATCH_TOKENS.getValueFrom(variables);
+        Integer threads = ModelParam.EMBEDDING_CONCURRENCY.getValueFrom(variables);
+        if (items == null && tokens == null && threads == null) {
+            return this;
+        }
+        return new EmbeddingBatchLimits(items != null ? items : maxItems,
+                tokens != null ? tokens : maxTokens,
+                threads != null ? threads : concurrency);
+    }
+}
@@ -0,0 +1,156 @@
+package com.wemirr.platform.ai.core.provider.embedding;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
+import dev.langchain4j.data.embedding.Embedding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 向量缓存
+ * <p>
+ * key 为 (模型标识, 文本 MD5)，与 KnowledgeChunk.contentHash 一致；向量以 float32 小端二进制存储
+ * <p>
+ * 1. L1：Caffeine 按字节数淘汰（LRU），向量存放在堆外 DirectByteBuffer
+ * <p>
+ * 2. L2：Redis，多实例共享，重复上传的文档只需要为变化的分片调用模型
+ *
+ * @author xJh
+ * @since 2025/10/20
+ **/
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+    private static final String KEY_PREFIX = "ai:embedding:";
+
+    private final VectorStoreProperties.EmbeddingCacheConfig config;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, ByteBuffer> local;
+
+    public EmbeddingCache(VectorStoreProperties properties, StringRedisTemplate stringRedisTemplate) {
+        this.config = properties.getEmbeddingCache();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(config.getLocalMaxBytes())
+                .weigher((String key, ByteBuffer value) -> key.length() + value.capacity())
+                .build();
+    }
+
+    /**
+     * 批量读取
+     *
+     * @param modelKey 模型标识
+     * @param texts    文本
+     * @return 与 texts 顺序一致，未命中为 null
+     */
+    public Embedding[] getAll(String modelKey, List<String> texts) {
+        final Embedding[] result = new Embedding[texts.size()];
+        if (!config.isEnabled() || texts.isEmpty()) {
+            return result;
+        }
+        final List<String> keys = texts.stream().map(text -> key(modelKey, text)).toList();
+        final List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final ByteBuffer buffer = local.getIfPresent(keys.get(i));
+            if (buffer == null) {
+                missing.add(i);
+            } else {
+                result[i] = decode(buffer.duplicate());
+            }
+        }
+        if (missing.isEmpty() || !config.isRedisEnabled()) {
+            return result;
+        }
+        try {
+            final byte[][] rawKeys = missing.stream().map(i -> keys.get(i).getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+            final List<byte[]> values = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+            if (values == null) {
+                return result;
+            }
+            for (int j = 0; j < missing.size() && j < values.size(); j++) {
+                final byte[] value = values.get(j);
+                if (value == null || value.length == 0 || value.length % Float.BYTES != 0) {
+                    continue;
+                }
+                final int index = missing.get(j);
+                final ByteBuffer buffer = offHeap(value);
+                local.put(keys.get(index), buffer);
+                result[index] = decode(buffer.duplicate());
+            }
+        } catch (Exception e) {
+            log.warn("读取向量缓存失败，回退到模型调用 - {}", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入
+     *
+     * @param modelKey   模型标识
+     * @param texts      文本
+     * @param embeddings 向量（与 texts 顺序一致）
+     */
+    public void putAll(String modelKey, List<String> texts, List<Embedding> embeddings) {
+        if (!config.isEnabled() || texts.isEmpty()) {
+            return;
+        }
+        final Map<byte[], byte[]> values = new LinkedHashMap<>(texts.size());
+        for (int i = 0; i < texts.size() && i < embeddings.size(); i++) {
+            final String key = key(modelKey, texts.get(i));
+            final byte[] value = encode(embeddings.get(i));
+            local.put(key, offHeap(value));
+            values.put(key.getBytes(StandardCharsets.UTF_8), value);
+        }
+        if (!config.isRedisEnabled() || values.isEmpty()) {
+            return;
+        }
+        try {
+            final Expiration expiration = Expiration.from(config.getRedisExpireDays(), TimeUnit.DAYS);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                values.forEach((key, value) -> connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("写入向量缓存失败 - {}", e.getMessage());
+        }
+    }
+
+    private static String key(String modelKey, String text) {
+        return KEY_PREFIX + modelKey + ":" + DigestUtil.md5Hex(text);
+    }
+
+    static byte[] encode(Embedding embedding) {
+        final float[] vector = embedding.vector();
+        final ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static Embedding decode(ByteBuffer buffer) {
+        final float[] vector = new float[buffer.remaining() / Float.BYTES];
+        buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return Embedding.from(vector);
+    }
+
+    private static ByteBuffer offHeap(byte[] value) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(value.length);
+        buffer.put(value).flip();
+        return buffer;
+    }
+}
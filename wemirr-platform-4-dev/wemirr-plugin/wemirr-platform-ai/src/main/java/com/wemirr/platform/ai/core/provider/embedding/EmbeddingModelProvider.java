@@ -23,4 +23,11 @@ public interface EmbeddingModelProvider {
      * 获取提供商标识（使用枚举 code）
      */
     String providerId();
+
+    /**
+     * 批量向量化限制（单次请求条数、token 数及并发数），可通过模型配置变量覆盖
+     */
+    default EmbeddingBatchLimits limits(ModelConfig config) {
+        return EmbeddingBatchLimits.DEFAULT;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.wemirr.platform.ai.core.provider.embedding;
 
+import com.wemirr.platform.ai.core.enums.ModelParam;
 import com.wemirr.platform.ai.domain.entity.ModelConfig;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import org.springframework.stereotype.Service;
@@ -30,4 +31,27 @@ public class EmbeddingModelService {
         }
         return provider.createModel(config);
     }
+
+    /**
+     * 向量缓存使用的模型标识（提供商 + 模型 + 维度），同一标识下相同文本的向量可以复用
+     *
+     * @param config 模型配置
+     * @return 模型标识
+     */
+    public String cacheKey(ModelConfig config) {
+        Integer dimensions = ModelParam.DIMENSIONS.getValueFrom(config.getVariables());
+        return config.getProvider() + ":" + config.getModelName() + (dimensions == null ? "" : ":" + dimensions);
+    }
+
+    /**
+     * 获取批量向量化限制（提供商默认值 + 模型配置变量覆盖）
+     *
+     * @param config 模型配置
+     * @return 批量限制
+     */
+    public EmbeddingBatchLimits getLimits(ModelConfig config) {
+        EmbeddingModelProvider provider = registry.getProvider(config);
+        EmbeddingBatchLimits limits = provider == null ? EmbeddingBatchLimits.DEFAULT : provider.limits(config);
+        return limits.override(config.getVariables());
+    }
 }
\ No newline at end of file
@@ -30,6 +30,14 @@ public class OpenAiEmbeddingModelProvider implements EmbeddingModelProvider {
                 .build();
     }
 
+    /**
+     * OpenAI 兼容接口单次最多 2048 条、30 万 token，这里取保守值
+     */
+    @Override
+    public EmbeddingBatchLimits limits(ModelConfig config) {
+        return new EmbeddingBatchLimits(512, 100_000, 4);
+    }
+
     @Override
     public String providerId() {
         return AiProvider.OPEN_AI.getCode();
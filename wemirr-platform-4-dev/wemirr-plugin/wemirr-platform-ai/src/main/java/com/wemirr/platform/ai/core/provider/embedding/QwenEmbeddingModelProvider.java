@@ -30,6 +30,14 @@ public class QwenEmbeddingModelProvider implements EmbeddingModelProvider {
                 .build();
     }
 
+    /**
+     * DashScope 单次最多 10 条
+     */
+    @Override
+    public EmbeddingBatchLimits limits(ModelConfig config) {
+        return new EmbeddingBatchLimits(10, 80_000, 4);
+    }
+
     @Override
     public String providerId() {
         return AiProvider.QWEN.getCode();
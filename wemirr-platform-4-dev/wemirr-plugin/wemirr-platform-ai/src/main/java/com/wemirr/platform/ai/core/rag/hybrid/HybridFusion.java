@@ -0,0 +1,135 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 混合检索结果融合：按分片ID合并两路结果，用大小为 K 的小顶堆取前 K，不做全量排序
+ *
+ * @author xJh
+ * @since 2025/10/21
+ **/
+public final class HybridFusion {
+
+    private static final Comparator<HybridResult> BY_SCORE = Comparator.comparingDouble(HybridResult::score)
+            .thenComparing(result -> result.hit().key(), Comparator.reverseOrder());
+
+    private HybridFusion() {
+    }
+
+    /**
+     * 倒数排名融合（RRF）：score = Σ weight / (k + rank)，只依赖名次，不受两路分数量纲影响
+     *
+     * @param semantic       语义检索命中（按相关度降序）
+     * @param lexical        关键词检索命中（按相关度降序）
+     * @param rrfK           平滑常数
+     * @param semanticWeight 语义权重
+     * @param topK           返回数量
+     * @return 融合结果（按分数降序）
+     */
+    public static List<HybridResult> reciprocalRank(List<HybridHit> semantic, List<HybridHit> lexical, int rrfK, double semanticWeight, int topK) {
+        Map<String, Accumulator> merged = new LinkedHashMap<>();
+        for (int rank = 0; rank < semantic.size(); rank++) {
+            accumulate(merged, semantic.get(rank), true).score += semanticWeight / (rrfK + rank + 1);
+        }
+        for (int rank = 0; rank < lexical.size(); rank++) {
+            accumulate(merged, lexical.get(rank), false).score += (1 - semanticWeight) / (rrfK + rank + 1);
+        }
+        return topK(merged.values().stream().map(Accumulator::toResult).toList(), topK, BY_SCORE);
+    }
+
+    /**
+     * 归一化加权：两路分数各自 min-max 归一化到 [0, 1] 后加权求和
+     *
+     * @param semantic       语义检索命中
+     * @param lexical        关键词检索命中
+     * @param semanticWeight 语义权重
+     * @param topK           返回数量
+     * @return 融合结果（按分数降序）
+     */
+    public static List<HybridResult> weightedNormalized(List<HybridHit> semantic, List<HybridHit> lexical, double semanticWeight, int topK) {
+        Map<String, Accumulator> merged = new LinkedHashMap<>();
+        double[] semanticRange = range(semantic);
+        for (HybridHit hit : semantic) {
+            accumulate(merged, hit, true).score += semanticWeight * normalize(hit.score(), semanticRange);
+        }
+        double[] lexicalRange = range(lexical);
+        for (HybridHit hit : lexical) {
+            accumulate(merged, hit, false).score += (1 - semanticWeight) * normalize(hit.score(), lexicalRange);
+        }
+        return topK(merged.values().stream().map(Accumulator::toResult).toList(), topK, BY_SCORE);
+    }
+
+    /**
+     * 用大小为 k 的小顶堆选出前 k 个元素，O(n log k)
+     *
+     * @param items      候选
+     * @param k          数量
+     * @param comparator 比较器（越大越靠前）
+     * @return 前 k 个，按降序
+     */
+    public static <T> List<T> topK(Collection<T> items, int k, Comparator<T> comparator) {
+        if (k <= 0 || items.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(k, items.size()) + 1, comparator);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+
+    private static Accumulator accumulate(Map<String, Accumulator> merged, HybridHit hit, boolean semantic) {
+        Accumulator accumulator = merged.computeIfAbsent(hit.key(), key -> new Accumulator(hit));
+        if (semantic) {
+            accumulator.semantic = true;
+        } else {
+            accumulator.lexical = true;
+        }
+        return accumulator;
+    }
+
+    private static double[] range(List<HybridHit> hits) {
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (HybridHit hit : hits) {
+            min = Math.min(min, hit.score());
+            max = Math.max(max, hit.score());
+        }
+        return new double[]{min, max};
+    }
+
+    private static double normalize(double score, double[] range) {
+        double span = range[1] - range[0];
+        // 只有一个命中或分数全相同时视为满分
+        return span <= 0 ? 1.0 : (score - range[0]) / span;
+    }
+
+    private static final class Accumulator {
+        private final HybridHit hit;
+        private double score;
+        private boolean semantic;
+        private boolean lexical;
+
+        private Accumulator(HybridHit hit) {
+            this.hit = hit;
+        }
+
+        private HybridResult toResult() {
+            String searchType = semantic && lexical ? "hybrid" : semantic ? "semantic" : "keyword";
+            return new HybridResult(hit, score, searchType);
+        }
+    }
+}
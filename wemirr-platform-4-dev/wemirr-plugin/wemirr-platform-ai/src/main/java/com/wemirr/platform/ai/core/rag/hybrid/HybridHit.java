@@ -0,0 +1,25 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import com.wemirr.framework.commons.util.DigestUtil;
+
+import java.util.Map;
+
+/**
+ * 单路检索命中
+ *
+ * @param key      融合键：分片ID，缺失时退化为内容 MD5
+ * @param chunkId  分片ID
+ * @param itemId   知识条目ID
+ * @param content  分片内容
+ * @param score    该路原始分数（越大越相关）
+ * @param metadata 元数据
+ * @author xJh
+ * @since 2025/10/21
+ **/
+public record HybridHit(String key, Long chunkId, Long itemId, String content, double score, Map<String, Object> metadata) {
+
+    public static HybridHit of(Long chunkId, Long itemId, String content, double score, Map<String, Object> metadata) {
+        String key = chunkId != null ? String.valueOf(chunkId) : "md5:" + DigestUtil.md5Hex(content == null ? "" : content);
+        return new HybridHit(key, chunkId, itemId, content, score, metadata);
+    }
+}
@@ -0,0 +1,13 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+/**
+ * 融合后的结果
+ *
+ * @param hit        命中（两路都命中时取语义一路的数据）
+ * @param score      融合分数
+ * @param searchType semantic / keyword / hybrid
+ * @author xJh
+ * @since 2025/10/21
+ **/
+public record HybridResult(HybridHit hit, double score, String searchType) {
+}
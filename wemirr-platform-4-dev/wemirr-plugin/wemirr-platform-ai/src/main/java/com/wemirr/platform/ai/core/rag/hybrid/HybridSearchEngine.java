@@ -0,0 +1,97 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.wemirr.framework.commons.concurrent.AsyncExecutor;
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 混合检索引擎
+ * <p>
+ * 语义、关键词两路在虚拟线程上并发执行（传递租户上下文与当前数据源 key），共用一个截止时间：
+ * 总耗时约等于较慢一路且不超过截止时间，超时或失败的一路按空结果参与融合；
+ * 融合按分片ID合并，支持 RRF 与归一化加权两种方式
+ *
+ * @author xJh
+ * @since 2025/10/21
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HybridSearchEngine {
+
+    private final VectorStoreProperties vectorStoreProperties;
+
+    /**
+     * 执行混合检索
+     *
+     * @param semanticLeg 语义检索（返回按相关度降序的命中）
+     * @param lexicalLeg  关键词检索（返回按相关度降序的命中）
+     * @param topK        返回数量
+     * @return 融合结果
+     */
+    public List<HybridResult> search(Supplier<List<HybridHit>> semanticLeg, Supplier<List<HybridHit>> lexicalLeg, int topK) {
+        VectorStoreProperties.HybridConfig config = vectorStoreProperties.getHybrid();
+        long start = System.nanoTime();
+        // AsyncExecutor 只传递 ThreadLocalHolder，数据源 key 需要单独带到工作线程（按租户分库时关键词检索要查租户库）
+        String dataSource = DynamicDataSourceContextHolder.peek();
+        CompletableFuture<List<HybridHit>> semantic = leg("semantic", withDataSource(dataSource, semanticLeg), config.getTimeoutMillis());
+        CompletableFuture<List<HybridHit>> lexical = leg("keyword", withDataSource(dataSource, lexicalLeg), config.getTimeoutMillis());
+        List<HybridHit> semanticHits = semantic.join();
+        List<HybridHit> lexicalHits = lexical.join();
+        List<HybridResult> results = config.getFusion() == VectorStoreProperties.FusionMode.WEIGHTED
+                ? HybridFusion.weightedNormalized(semanticHits, lexicalHits, config.getSemanticWeight(), topK)
+                : HybridFusion.reciprocalRank(semanticHits, lexicalHits, config.getRrfK(), config.getSemanticWeight(), topK);
+        log.debug("[混合检索] semantic={} keyword={} fused={} 耗时={}ms", semanticHits.size(), lexicalHits.size(), results.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return results;
+    }
+
+    /**
+     * 每路召回数量
+     *
+     * @param topK 最终返回数量
+     * @return 每路召回数量
+     */
+    public int candidateSize(int topK) {
+        return topK * Math.max(vectorStoreProperties.getHybrid().getCandidateMultiplier(), 1);
+    }
+
+    private static <T> Supplier<T> withDataSource(String dataSource, Supplier<T> supplier) {
+        if (StrUtil.isBlank(dataSource)) {
+            return supplier;
+        }
+        return () -> {
+            DynamicDataSourceContextHolder.push(dataSource);
+            try {
+                return supplier.get();
+            } finally {
+                DynamicDataSourceContextHolder.poll();
+            }
+        };
+    }
+
+    private CompletableFuture<List<HybridHit>> leg(String name, Supplier<List<HybridHit>> supplier, long timeoutMillis) {
+        return AsyncExecutor.async(supplier)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(hits -> hits == null ? List.<HybridHit>of() : hits)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("[混合检索] {} 检索超过 {}ms，按空结果融合", name, timeoutMillis);
+                    } else {
+                        log.warn("[混合检索] {} 检索失败，按空结果融合: {}", name, cause.getMessage());
+                    }
+                    return List.of();
+                });
+    }
+}
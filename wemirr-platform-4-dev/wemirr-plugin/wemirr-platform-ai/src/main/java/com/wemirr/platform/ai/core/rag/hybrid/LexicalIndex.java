@@ -0,0 +1,24 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import java.util.List;
+
+/**
+ * 关键词索引（混合检索的词法一路）
+ * <p>
+ * 默认实现为 {@link SqlLexicalIndex}，可按 rag.hybrid.lexical-index 切换为全文检索、ES、BM25 等实现
+ *
+ * @author xJh
+ * @since 2025/10/21
+ **/
+public interface LexicalIndex {
+
+    /**
+     * 关键词检索
+     *
+     * @param kbId  知识库ID
+     * @param query 查询文本
+     * @param topK  返回数量
+     * @return 按分数降序的命中
+     */
+    List<HybridHit> search(Long kbId, String query, int topK);
+}
@@ -0,0 +1,98 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import com.wemirr.platform.ai.domain.entity.KnowledgeChunk;
+import com.wemirr.platform.ai.repository.KnowledgeChunkMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 基于 SQL LIKE 的关键词索引
+ * <p>
+ * 数据库只负责按子串召回候选，打分在内存中完成：查询词只切分、转小写一次，
+ * 每个候选按 BM25 的词频饱和与长度归一化计分（无 IDF），再用小顶堆取前 K
+ *
+ * @author xJh
+ * @since 2025/10/21
+ **/
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "rag.hybrid", name = "lexical-index", havingValue = "sql", matchIfMissing = true)
+public class SqlLexicalIndex implements LexicalIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * 数据库召回的候选数 = topK × 该倍数
+     */
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private final KnowledgeChunkMapper knowledgeChunkMapper;
+
+    @Override
+    public List<HybridHit> search(Long kbId, String query, int topK) {
+        if (query == null || query.isBlank() || topK <= 0) {
+            return List.of();
+        }
+        List<KnowledgeChunk> candidates = knowledgeChunkMapper.searchByKeyword(kbId, query.trim(), topK * CANDIDATE_FACTOR);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        String[] terms = terms(query);
+        double avgLength = candidates.stream().mapToInt(chunk -> length(chunk.getContent())).average().orElse(1);
+        List<HybridHit> hits = new ArrayList<>(candidates.size());
+        for (KnowledgeChunk chunk : candidates) {
+            double score = score(chunk.getContent(), terms, avgLength);
+            hits.add(HybridHit.of(chunk.getId(), chunk.getItemId(), chunk.getContent(), score, chunk.getMetadata()));
+        }
+        return HybridFusion.topK(hits, topK, Comparator.comparingDouble(HybridHit::score));
+    }
+
+    /**
+     * 查询词：按空白切分并转小写，去重
+     */
+    static String[] terms(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * BM25 词频部分：Σ tf·(k1+1) / (tf + k1·(1 - b + b·len/avgLen))
+     */
+    static double score(String content, String[] terms, double avgLength) {
+        if (content == null || content.isEmpty() || terms.length == 0) {
+            return 0.0;
+        }
+        String text = content.toLowerCase(Locale.ROOT);
+        double norm = K1 * (1 - B + B * text.length() / Math.max(avgLength, 1));
+        double score = 0.0;
+        for (String term : terms) {
+            int tf = occurrences(text, term);
+            if (tf > 0) {
+                score += tf * (K1 + 1) / (tf + norm);
+            }
+        }
+        return score;
+    }
+
+    private static int occurrences(String text, String term) {
+        int count = 0;
+        for (int from = text.indexOf(term); from >= 0; from = text.indexOf(term, from + term.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int length(String content) {
+        return content == null ? 0 : content.length();
+    }
+}
@@ -0,0 +1,71 @@
+package com.wemirr.platform.ai.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import com.wemirr.framework.commons.entity.Entity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 向量写入 outbox
+ * 写向量库之前登记预分配的向量ID（流式导入则每次导入登记一条），数据库回写成功后在同一事务内物理删除（不继承逻辑删除基类）；
+ * 登记实例持有租约并定时续期，实例崩溃后租约过期，由任一实例认领并清理向量库中的孤儿向量
+ *
+ * @author xJh
+ * @since 2025/10/20
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName(value = "ai_kb_vector_outbox", autoResultMap = true)
+public class VectorOutbox extends Entity<Long> {
+
+    /**
+     * 所属知识库ID
+     */
+    @TableField("kb_id")
+    private Long kbId;
+
+    /**
+     * 关联的知识条目ID
+     */
+    @TableField("item_id")
+    private Long itemId;
+
+    /**
+     * 预分配的向量ID列表
+     */
+    @TableField(value = "vector_ids", typeHandler = JacksonTypeHandler.class)
+    private List<String> vectorIds;
+
+    /**
+     * 是否流式导入：流式导入逐批写入，不登记向量ID，清理时按条目删除已写入的分片、向量元数据和向量
+     */
+    @TableField("streamed")
+    private Boolean streamed;
+
+    /**
+     * 持有租约的实例标识
+     */
+    @TableField("owner")
+    private String owner;
+
+    /**
+     * 租约到期时间，过期后可被其它实例认领清理
+     */
+    @TableField("lease_until")
+    private Instant leaseUntil;
+
+    @Schema(description = "租户ID")
+    private String tenantId;
+}
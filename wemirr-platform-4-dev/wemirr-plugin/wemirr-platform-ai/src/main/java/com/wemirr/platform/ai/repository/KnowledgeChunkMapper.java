@@ -57,6 +57,22 @@ public interface KnowledgeChunkMapper extends SuperMapper<KnowledgeChunk> {
      */
     int deleteByKbId(@Param("kbId") Long kbId);
     
+    /**
+     * 批量回写向量引用（单条 UPDATE ... CASE）
+     *
+     * @param chunks 分片（需包含 id 与 vectorRef）
+     * @return 影响行数
+     */
+    int updateVectorRefBatch(@Param("chunks") List<KnowledgeChunk> chunks);
+
+    /**
+     * 清空知识条目分片的向量引用
+     *
+     * @param itemId 知识条目ID
+     * @return 影响行数
+     */
+    int clearVectorRefByItemId(@Param("itemId") Long itemId);
+    
     /**
      * 统计知识条目的分片数量
      * 
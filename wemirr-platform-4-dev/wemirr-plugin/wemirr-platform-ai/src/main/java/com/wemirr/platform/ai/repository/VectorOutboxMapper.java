@@ -0,0 +1,16 @@
+package com.wemirr.platform.ai.repository;
+
+import com.wemirr.framework.db.mybatisplus.ext.SuperMapper;
+import com.wemirr.platform.ai.domain.entity.VectorOutbox;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 向量写入 outbox Mapper
+ *
+ * @author xJh
+ * @since 2025/10/20
+ */
+@Repository
+public interface VectorOutboxMapper extends SuperMapper<VectorOutbox> {
+
+}
@@ -76,6 +76,32 @@ public interface KnowledgeChunkService extends SuperService<KnowledgeChunk> {
      */
     List<Long> createDocumentChunks(KnowledgeBase knowledgeBase, Long itemId, String docId, String content);
 
+    /**
+     * 追加一批文档分片（流式导入使用，分片序号从 startIndex 连续递增，向量ID预先分配并写入 vectorRef）
+     *
+     * @param kbId 知识库ID
+     * @param itemId 知识条目ID
+     * @param startIndex 本批首个分片序号
+     * @param texts 分片内容（非空）
+     * @param vectorIds 预分配的向量ID，与 texts 一一对应
+     * @return 已入库的分片，与 texts 顺序一致
+     */
+    List<KnowledgeChunk> appendDocumentChunks(Long kbId, Long itemId, int startIndex, List<String> texts, List<String> vectorIds);
+
+    /**
+     * 批量回写分片的向量引用，每 500 条一条 UPDATE
+     *
+     * @param chunks 分片（需包含 id 与 vectorRef）
+     */
+    void updateVectorRefs(List<KnowledgeChunk> chunks);
+
+    /**
+     * 清空知识条目下所有分片的向量引用
+     *
+     * @param itemId 知识条目ID
+     */
+    void clearVectorRefs(Long itemId);
+
     /**
      * 为问答对创建分片
      *
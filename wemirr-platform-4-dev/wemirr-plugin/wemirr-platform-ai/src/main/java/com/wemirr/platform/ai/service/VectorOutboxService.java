@@ -0,0 +1,66 @@
+package com.wemirr.platform.ai.service;
+
+import com.wemirr.framework.db.mybatisplus.ext.SuperService;
+import com.wemirr.platform.ai.domain.entity.VectorOutbox;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 向量写入 outbox 服务接口
+ *
+ * @author xJh
+ * @since 2025/10/20
+ */
+public interface VectorOutboxService extends SuperService<VectorOutbox> {
+
+    /**
+     * 登记即将写入向量库的向量ID（独立短事务，立即提交），由当前实例持有租约
+     *
+     * @param kbId 知识库ID
+     * @param itemId 知识条目ID
+     * @param vectorIds 预分配的向量ID
+     * @return outbox 记录
+     */
+    VectorOutbox register(Long kbId, Long itemId, List<String> vectorIds);
+
+    /**
+     * 登记一次流式导入（独立短事务，立即提交），由当前实例持有租约
+     *
+     * @param kbId 知识库ID
+     * @param itemId 知识条目ID
+     * @return outbox 记录
+     */
+    VectorOutbox registerStream(Long kbId, Long itemId);
+
+    /**
+     * 为当前实例持有的记录续期
+     *
+     * @param ids outbox ID
+     * @return 续期成功的数量
+     */
+    int renew(Collection<Long> ids);
+
+    /**
+     * 查询租约已过期的记录（实例崩溃或清理失败的残留）
+     *
+     * @param limit 最大数量
+     * @return outbox 记录
+     */
+    List<VectorOutbox> listExpired(int limit);
+
+    /**
+     * 认领租约已过期的记录：条件更新成功的实例才能清理，避免多个实例重复处理
+     *
+     * @param id outbox ID
+     * @return 是否认领成功
+     */
+    boolean claim(Long id);
+
+    /**
+     * 物理删除记录
+     *
+     * @param id outbox ID
+     */
+    void delete(Long id);
+}
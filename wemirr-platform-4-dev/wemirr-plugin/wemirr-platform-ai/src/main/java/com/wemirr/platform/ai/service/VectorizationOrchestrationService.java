@@ -1,6 +1,8 @@
 package com.wemirr.platform.ai.service;
 
+import cn.hutool.core.io.FileUtil;
 import com.wemirr.platform.ai.core.enums.KnowledgeItemStatus;
+import com.wemirr.platform.ai.core.processor.DocumentIngestionPipeline;
 import com.wemirr.platform.ai.core.processor.VectorizationProcessor;
 import com.wemirr.platform.ai.core.provider.graph.GraphRagService;
 import com.wemirr.platform.ai.core.provider.graph.GraphRagTransformerFactory;
@@ -15,14 +17,19 @@ import dev.langchain4j.model.chat.ChatModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +43,16 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class VectorizationOrchestrationService {
+
+    /**
+     * 单次恢复最多处理的 outbox 数量
+     */
+    private static final int OUTBOX_RECOVER_LIMIT = 100;
+
+    /**
+     * 本实例进行中的 outbox，定时续租，进程存活期间不会被其它实例认领
+     */
+    private final Set<Long> inFlightOutbox = ConcurrentHashMap.newKeySet();
     
     private final VectorizationProcessor vectorizationProcessor;
     private final KnowledgeChunkService knowledgeChunkService;
@@ -45,6 +62,9 @@ public class VectorizationOrchestrationService {
     private final EnhancedVectorStoreFactory enhancedVectorStoreFactory;
     private final VectorMetadataService vectorMetadataService;
     private final TextModelService textModelService;
+    private final DocumentIngestionPipeline documentIngestionPipeline;
+    private final VectorOutboxService vectorOutboxService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * GraphRAG 服务（可选，仅在启用图谱功能时注入）
@@ -54,14 +74,17 @@ public class VectorizationOrchestrationService {
     
     /**
      * 向量化知识条目
+     * <p>
+     * 远程向量化与写向量库不在数据库事务内：写向量库前先登记 outbox（预分配向量ID），
+     * 之后在一个短事务内批量插入向量元数据、批量回写 vector_ref、更新条目状态并删除 outbox
      * 
      * @param itemId 知识条目ID
      * @return 向量化任务ID
      */
-    @Transactional(rollbackFor = Exception.class)
     public VectorizationResult vectorizeKnowledgeItem(Long itemId) {
         // 获取知识条目
         KnowledgeItem item = knowledgeItemService.getById(itemId);
+        VectorOutbox outbox = null;
         try {
             if (item == null) {
                 throw new RuntimeException("知识条目不存在: " + itemId);
@@ -105,73 +128,194 @@ public class VectorizationOrchestrationService {
                         return metadata;
                     })
                     .collect(Collectors.toList());
+
+            // 预分配向量ID并登记 outbox（独立短事务），写向量库后进程崩溃也能找回并清理
+            List<String> vectorIds = chunks.stream().map(chunk -> UUID.randomUUID().toString()).toList();
+            outbox = vectorOutboxService.register(kb.getId(), itemId, vectorIds);
+            inFlightOutbox.add(outbox.getId());
             
-            // 执行批量向量化
-            CompletableFuture<BatchVectorResult> future = vectorizationProcessor.batchVectorAndStore(texts, metadataList, kb, modelConfig);
-            // 等待完成
-            BatchVectorResult batchVectorDTO = future.get();
-            List<String> vectorIds = batchVectorDTO.getVectorIds();
+            // 执行批量向量化（远程调用，不持有数据库事务）
+            BatchVectorResult batchVectorDTO = vectorizationProcessor.batchVectorAndStore(vectorIds, texts, metadataList, kb, modelConfig).get();
             Integer tokenUsage = batchVectorDTO.getTokenUsage();
-            // 保存向量元数据
-            List<VectorMetadata> vectorMetadataList = new ArrayList<>();
-            for (int i = 0; i < chunks.size() && i < vectorIds.size(); i++) {
-                KnowledgeChunk chunk = chunks.get(i);
-                String vectorId = vectorIds.get(i);
-                
-                Map<String, Object> metadata = new HashMap<>();
-                metadata.put("kbName", kb.getName());
-                metadata.put("itemTitle", item.getTitle());
-                metadata.put("chunkType", chunk.getChunkType().getCode());
-                metadata.put("chunkIndex", chunk.getChunkIndex());
-                if (chunk.getMetadata() != null) {
-                    metadata.putAll(chunk.getMetadata());
-                }
-                
-                VectorMetadata vectorMetadata = VectorMetadata.builder()
-                        .vectorId(vectorId)
-                        .kbId(chunk.getKbId())
-                        .itemId(chunk.getItemId())
-                        .chunkId(chunk.getId())
-                        .chunkType(chunk.getChunkType())
-                        .collectionName(generateCollectionName(kb))
-                        .textContent(chunk.getContent())
-                        .textHash(chunk.getContentHash())
-                        .metadata(metadata)
-                        .deleted(false)
-                        .build();
-                
-                vectorMetadataList.add(vectorMetadata);
+
+            // 回写：一个短事务内完成
+            Long outboxId = outbox.getId();
+            transactionTemplate.executeWithoutResult(status -> writeBack(kb, item, chunks, vectorIds, outboxId));
+            inFlightOutbox.remove(outboxId);
+            outbox = null;
+
+            String taskId= "vectorization_task_" + itemId;
+            return new VectorizationResult(taskId, tokenUsage);
+
+        } catch (Exception e) {
+            if (outbox != null) {
+                discardOutbox(outbox);
             }
-            
-            // 批量保存向量元数据
-            if (!vectorMetadataList.isEmpty()) {
-                vectorMetadataService.batchSave(vectorMetadataList);
+            if (item != null) {
+                item.setStatus(KnowledgeItemStatus.FAILED);
+                knowledgeItemService.updateById(item);
             }
-            
-            // 更新知识分片的向量引用
-            for (int i = 0; i < chunks.size() && i < vectorIds.size(); i++) {
-                KnowledgeChunk chunk = chunks.get(i);
-                String vectorId = vectorIds.get(i);
-                chunk.setVectorRef("milvus:" + vectorId);
-                knowledgeChunkService.updateById(chunk);
+            log.error("向量化知识条目失败: itemId={}", itemId, e);
+            throw new RuntimeException("向量化知识条目失败", e);
+        } finally {
+            // 清理失败的记录不再续租，租约过期后由定时恢复重试
+            if (outbox != null) {
+                inFlightOutbox.remove(outbox.getId());
             }
-            
-            // 更新知识条目状态为已向量化
-            item.setVectorized(true);
-            item.setStatus(KnowledgeItemStatus.PROCESSED);
-            knowledgeItemService.updateById(item);
+        }
+    }
 
-            String taskId= "vectorization_task_" + itemId;
-            return new VectorizationResult(taskId, tokenUsage);
+    /**
+     * 回写向量化结果：批量插入向量元数据、批量更新分片 vector_ref、更新条目状态、删除 outbox
+     */
+    private void writeBack(KnowledgeBase kb, KnowledgeItem item, List<KnowledgeChunk> chunks, List<String> vectorIds, Long outboxId) {
+        List<VectorMetadata> vectorMetadataList = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            KnowledgeChunk chunk = chunks.get(i);
+            String vectorId = vectorIds.get(i);
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("kbName", kb.getName());
+            metadata.put("itemTitle", item.getTitle());
+            metadata.put("chunkType", chunk.getChunkType().getCode());
+            metadata.put("chunkIndex", chunk.getChunkIndex());
+            if (chunk.getMetadata() != null) {
+                metadata.putAll(chunk.getMetadata());
+            }
 
+            vectorMetadataList.add(VectorMetadata.builder()
+                    .vectorId(vectorId)
+                    .kbId(chunk.getKbId())
+                    .itemId(chunk.getItemId())
+                    .chunkId(chunk.getId())
+                    .chunkType(chunk.getChunkType())
+                    .collectionName(generateCollectionName(kb))
+                    .textContent(chunk.getContent())
+                    .textHash(chunk.getContentHash())
+                    .metadata(metadata)
+                    .deleted(false)
+                    .build());
+            chunk.setVectorRef("milvus:" + vectorId);
+        }
+        vectorMetadataService.batchSave(vectorMetadataList);
+        knowledgeChunkService.updateVectorRefs(chunks);
+
+        // 更新知识条目状态为已向量化
+        item.setVectorized(true);
+        item.setStatus(KnowledgeItemStatus.PROCESSED);
+        knowledgeItemService.updateById(item);
+        vectorOutboxService.delete(outboxId);
+    }
+
+    /**
+     * 丢弃 outbox：删除向量库中已写入的向量，再物理删除 outbox 记录；
+     * 流式导入的记录按条目删除已写入的分片、向量元数据和向量
+     *
+     * @return 是否清理成功
+     */
+    private boolean discardOutbox(VectorOutbox outbox) {
+        try {
+            KnowledgeBase kb = knowledgeBaseService.getById(outbox.getKbId());
+            if (kb != null && Boolean.TRUE.equals(outbox.getStreamed())) {
+                ModelConfig modelConfig = modelConfigService.getById(kb.getEmbeddingModelId());
+                documentIngestionPipeline.discard(kb, modelConfig, outbox.getItemId());
+            } else if (kb != null && outbox.getVectorIds() != null && !outbox.getVectorIds().isEmpty()) {
+                ModelConfig modelConfig = modelConfigService.getById(kb.getEmbeddingModelId());
+                enhancedVectorStoreFactory.createForKnowledgeBase(kb, modelConfig).removeAll(outbox.getVectorIds());
+            }
+            vectorOutboxService.delete(outbox.getId());
+            return true;
         } catch (Exception e) {
+            log.warn("清理向量 outbox 失败，租约过期后重试: outboxId={}, itemId={}", outbox.getId(), outbox.getItemId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 定时续租并恢复 outbox
+     * <p>
+     * 先为本实例进行中的记录续租，再认领租约已过期的记录（实例崩溃或清理失败的残留）：
+     * 认领是带条件的 UPDATE，多实例同时执行时只有一个实例会清理同一条记录
+     */
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1M")
+    public void recoverVectorOutbox() {
+        try {
+            if (!inFlightOutbox.isEmpty()) {
+                vectorOutboxService.renew(List.copyOf(inFlightOutbox));
+            }
+            int recovered = 0;
+            for (VectorOutbox outbox : vectorOutboxService.listExpired(OUTBOX_RECOVER_LIMIT)) {
+                if (!vectorOutboxService.claim(outbox.getId()) || !discardOutbox(outbox)) {
+                    continue;
+                }
+                recovered++;
+                KnowledgeItem item = knowledgeItemService.getById(outbox.getItemId());
+                if (item != null && item.getStatus() == KnowledgeItemStatus.PROCESSING) {
+                    item.setStatus(KnowledgeItemStatus.FAILED);
+                    knowledgeItemService.updateById(item);
+                }
+            }
+            if (recovered > 0) {
+                log.info("已清理 {} 条残留的向量 outbox", recovered);
+            }
+        } catch (Exception e) {
+            log.warn("向量 outbox 恢复失败", e);
+        }
+    }
+
+    /**
+     * 流式导入文档（大文档）
+     * 解析、分片、向量化、写向量库由管道并行推进，不在事务内执行；导入前登记一条流式 outbox，
+     * 失败时按 outbox 清理已写入的数据，进程崩溃时由定时恢复清理并将条目置为失败
+     *
+     * @param itemId      知识条目ID
+     * @param file        文档临时文件，处理完成后删除
+     * @param contentType 内容类型
+     * @return 向量化结果
+     */
+    public VectorizationResult ingestDocument(Long itemId, File file, String contentType) {
+        KnowledgeItem item = knowledgeItemService.getById(itemId);
+        if (item == null) {
+            FileUtil.del(file);
+            throw new RuntimeException("知识条目不存在: " + itemId);
+        }
+        VectorOutbox outbox = null;
+        try {
+            KnowledgeBase kb = knowledgeBaseService.getById(item.getKbId());
+            ModelConfig modelConfig = modelConfigService.getById(kb.getEmbeddingModelId());
+            outbox = vectorOutboxService.registerStream(kb.getId(), itemId);
+            inFlightOutbox.add(outbox.getId());
+            DocumentIngestionPipeline.Result result = documentIngestionPipeline.ingest(kb, item, modelConfig, file, contentType);
+            if (Boolean.TRUE.equals(kb.getEnableGraph())) {
+                processGraphExtraction(item, kb);
+            }
+            Long outboxId = outbox.getId();
+            transactionTemplate.executeWithoutResult(status -> {
+                item.setVectorized(true);
+                item.setStatus(KnowledgeItemStatus.PROCESSED);
+                knowledgeItemService.updateById(item);
+                vectorOutboxService.delete(outboxId);
+            });
+            inFlightOutbox.remove(outboxId);
+            outbox = null;
+            return new VectorizationResult("ingest_task_" + itemId, (int) Math.min(result.tokenUsage(), Integer.MAX_VALUE));
+        } catch (Exception e) {
+            if (outbox != null) {
+                discardOutbox(outbox);
+            }
             item.setStatus(KnowledgeItemStatus.FAILED);
             knowledgeItemService.updateById(item);
-            log.error("向量化知识条目失败: itemId={}", itemId, e);
-            throw new RuntimeException("向量化知识条目失败", e);
+            log.error("流式导入文档失败: itemId={}", itemId, e);
+            throw new RuntimeException("流式导入文档失败", e);
+        } finally {
+            // 清理失败的记录不再续租，租约过期后由定时恢复重试
+            if (outbox != null) {
+                inFlightOutbox.remove(outbox.getId());
+            }
+            FileUtil.del(file);
         }
     }
-    
+
     /**
      * 生成集合名称
      */
@@ -236,18 +380,12 @@ public class VectorizationOrchestrationService {
                 return false;
             }
             
-            // 获取知识分片
-            List<KnowledgeChunk> chunks = knowledgeChunkService.listByItemId(itemId);
-            
             // 删除向量元数据
             int deletedCount = vectorMetadataService.deleteByItemId(itemId);
             log.info("删除了 {} 个向量元数据记录", deletedCount);
             
-            // 更新知识分片的向量引用
-            for (KnowledgeChunk chunk : chunks) {
-                chunk.setVectorRef(null);
-                knowledgeChunkService.updateById(chunk);
-            }
+            // 清空知识分片的向量引用
+            knowledgeChunkService.clearVectorRefs(itemId);
             
             // 更新知识条目状态为未向量化
             item.setVectorized(false);
@@ -285,12 +423,11 @@ public class VectorizationOrchestrationService {
     
     /**
      * 重新向量化知识条目
-     * 先删除现有向量，再重新创建
+     * 先删除现有向量，再重新创建（向量化包含远程调用，不在外层事务内执行）
      * 
      * @param itemId 知识条目ID
      * @return 向量化任务ID
      */
-    @Transactional(rollbackFor = Exception.class)
     public String reVectorizeKnowledgeItem(Long itemId) {
         try {
             // 先删除现有向量
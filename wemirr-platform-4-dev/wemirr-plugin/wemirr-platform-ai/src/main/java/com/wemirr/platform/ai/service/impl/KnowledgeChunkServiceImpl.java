@@ -1,6 +1,7 @@
 package com.wemirr.platform.ai.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.util.StrUtil;
 import com.wemirr.framework.commons.util.DigestUtil;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
@@ -34,6 +35,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class KnowledgeChunkServiceImpl extends SuperServiceImpl<KnowledgeChunkMapper, KnowledgeChunk> implements KnowledgeChunkService {
 
+    /**
+     * 向量引用回写时单条 UPDATE 的最大行数
+     */
+    private static final int VECTOR_REF_BATCH_SIZE = 500;
+
     private final DocumentProcessor documentProcessor;
 
     @Override
@@ -144,6 +150,55 @@ public class KnowledgeChunkServiceImpl extends SuperServiceImpl<KnowledgeChunkMa
         return batchCreateTextChunks(knowledgeBase.getId(), itemId, chunks, ChunkType.TEXT, metadataList);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<KnowledgeChunk> appendDocumentChunks(Long kbId, Long itemId, int startIndex, List<String> texts, List<String> vectorIds) {
+        if (CollUtil.isEmpty(texts)) {
+            return Collections.emptyList();
+        }
+        String docId = String.valueOf(itemId);
+        List<KnowledgeChunk> chunks = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            int chunkIndex = startIndex + i;
+            chunks.add(KnowledgeChunk.builder()
+                    .kbId(kbId)
+                    .itemId(itemId)
+                    .chunkType(ChunkType.TEXT)
+                    .content(text)
+                    .contentHash(DigestUtil.md5Hex(text))
+                    .vectorRef("milvus:" + vectorIds.get(i))
+                    .chunkIndex(chunkIndex)
+                    .metadata(Map.of(
+                            "docId", docId,
+                            "chunkIndex", chunkIndex,
+                            "chunksType", ChunkType.TEXT.getCode(),
+                            "ItemType", KnowledgeItemType.DOCUMENT.getCode()
+                    ))
+                    .deleted(false)
+                    .build());
+        }
+        baseMapper.insertBatch(chunks);
+        return chunks;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateVectorRefs(List<KnowledgeChunk> chunks) {
+        if (CollUtil.isEmpty(chunks)) {
+            return;
+        }
+        for (List<KnowledgeChunk> batch : ListUtil.partition(chunks, VECTOR_REF_BATCH_SIZE)) {
+            baseMapper.updateVectorRefBatch(batch);
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void clearVectorRefs(Long itemId) {
+        baseMapper.clearVectorRefByItemId(itemId);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public List<Long> createQAPairChunks(Long kbId, Long itemId, String question, String answer) {
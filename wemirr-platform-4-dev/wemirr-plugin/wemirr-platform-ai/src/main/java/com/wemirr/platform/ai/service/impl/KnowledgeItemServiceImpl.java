@@ -2,12 +2,17 @@ package com.wemirr.platform.ai.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.wemirr.framework.commons.exception.CheckedException;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.framework.db.utils.TransactionHelper;
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
 import com.wemirr.platform.ai.core.enums.KnowledgeItemStatus;
 import com.wemirr.platform.ai.core.enums.KnowledgeItemType;
+import com.wemirr.platform.ai.core.event.DocumentIngestEvent;
 import com.wemirr.platform.ai.core.processor.DocumentProcessor;
 import com.wemirr.platform.ai.domain.dto.rep.KnowledgeItemResp;
 import com.wemirr.platform.ai.domain.dto.rep.PreviewChunkResp;
@@ -26,6 +31,7 @@ import com.wemirr.platform.suite.feign.OssFileFeign;
 import com.wemirr.platform.suite.feign.domain.resp.OssFileResp;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -56,6 +62,10 @@ public class KnowledgeItemServiceImpl extends SuperServiceImpl<KnowledgeItemMapp
 
     private final OssFileFeign ossFileFeign;
 
+    private final VectorStoreProperties vectorStoreProperties;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     public IPage<KnowledgeItemResp> pageList(KnowledgeItemPageReq req) {
         return baseMapper.selectPage(req.buildPage(),
@@ -339,6 +349,19 @@ public class KnowledgeItemServiceImpl extends SuperServiceImpl<KnowledgeItemMapp
         String originalFilename = file.getOriginalFilename();
         String contentType = file.getContentType();
         File tempFile = File.createTempFile("upload_", "_" + originalFilename);
+        if (file.getSize() >= vectorStoreProperties.getIngest().getStreamingThreshold()) {
+            // 大文档不整篇抽取正文，事务提交后由流式导入管道边解析边分片、向量化，临时文件由管道处理完删除；
+            // 事务回滚时不会触发导入，临时文件在回滚回调中删除
+            TransactionHelper.afterRollback(() -> FileUtil.del(tempFile));
+            file.transferTo(tempFile);
+            Long itemId = createDocument(req);
+            KnowledgeItem processing = new KnowledgeItem();
+            processing.setId(itemId);
+            processing.setStatus(KnowledgeItemStatus.PROCESSING);
+            baseMapper.updateById(processing);
+            applicationEventPublisher.publishEvent(new DocumentIngestEvent(kbId, itemId, tempFile, contentType));
+            return itemId;
+        }
         try {
             file.transferTo(tempFile);
             String content = documentProcessor.extractText(tempFile, contentType);
@@ -357,6 +380,10 @@ public class KnowledgeItemServiceImpl extends SuperServiceImpl<KnowledgeItemMapp
         if (item.getType() != KnowledgeItemType.DOCUMENT) {
             throw new CheckedException("仅支持对文档类型进行重处理");
         }
+        if (StrUtil.isEmpty(item.getContent()) && StrUtil.isNotBlank(item.getFilePath())) {
+            // 流式导入的大文档不保存正文，无法从条目重新分片，删除分片后将无法恢复
+            throw CheckedException.badRequest("大文档不保存正文，请重新上传文件进行处理");
+        }
         knowledgeChunkService.deleteByItemId(id);
         KnowledgeBase knowledgeBase = knowledgeBaseService.getById(item.getKbId());
         if (item.getContent() != null && !item.getContent().isEmpty()) {
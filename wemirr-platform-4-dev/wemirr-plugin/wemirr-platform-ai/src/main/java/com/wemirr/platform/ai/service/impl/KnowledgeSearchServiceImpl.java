@@ -1,10 +1,11 @@
 package com.wemirr.platform.ai.service.impl;
 
+import com.wemirr.platform.ai.core.rag.hybrid.HybridHit;
+import com.wemirr.platform.ai.core.rag.hybrid.HybridSearchEngine;
+import com.wemirr.platform.ai.core.rag.hybrid.LexicalIndex;
 import com.wemirr.platform.ai.domain.dto.rep.EmbeddingMatchRep;
 import com.wemirr.platform.ai.domain.entity.KnowledgeBase;
-import com.wemirr.platform.ai.domain.entity.KnowledgeChunk;
 import com.wemirr.platform.ai.domain.entity.ModelConfig;
-import com.wemirr.platform.ai.repository.KnowledgeChunkMapper;
 import com.wemirr.platform.ai.service.KnowledgeBaseService;
 import com.wemirr.platform.ai.service.KnowledgeSearchService;
 import com.wemirr.platform.ai.service.ModelConfigService;
@@ -19,6 +20,7 @@ import org.springframework.util.StringUtils;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,10 +34,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class KnowledgeSearchServiceImpl implements KnowledgeSearchService {
 
-    private final KnowledgeChunkMapper knowledgeChunkMapper;
     private final KnowledgeBaseService knowledgeBaseService;
     private final ModelConfigService modelConfigService;
     private final VectorSearchService vectorSearchService;
+    private final LexicalIndex lexicalIndex;
+    private final HybridSearchEngine hybridSearchEngine;
 
     @Override
     public List<EmbeddingMatchRep> semanticSearch(Long kbId, String query, int topK) {
@@ -80,21 +83,8 @@ public class KnowledgeSearchServiceImpl implements KnowledgeSearchService {
     @Override
     public List<Map<String, Object>> keywordSearch(Long kbId, String query, int topK) {
         try {
-            // 使用SQL进行关键词搜索
-            List<KnowledgeChunk> chunks = knowledgeChunkMapper.searchByKeyword(kbId, query, topK);
-            
-            return chunks.stream()
-                    .map(chunk -> {
-                        Map<String, Object> result = new HashMap<>();
-                        result.put("content", chunk.getContent());
-                        result.put("score", calculateKeywordScore(chunk.getContent(), query));
-                        result.put("metadata", chunk.getMetadata());
-                        result.put("chunkId", chunk.getId());
-                        result.put("itemId", chunk.getItemId());
-                        return result;
-                    })
-                    .sorted((a, b) -> Double.compare((Double) b.get("score"), (Double) a.get("score")))
-                    .limit(topK)
+            return lexicalIndex.search(kbId, query, topK).stream()
+                    .map(hit -> toMap(hit, hit.score(), "keyword"))
                     .collect(Collectors.toList());
                     
         } catch (Exception e) {
@@ -106,46 +96,18 @@ public class KnowledgeSearchServiceImpl implements KnowledgeSearchService {
     @Override
     public List<Map<String, Object>> hybridSearch(Long kbId, String query, int topK) {
         try {
-            // 执行语义搜索
-            List<Map<String, Object>> semanticResults = semanticSearchMap(kbId, query, topK);
-            
-            // 执行关键词搜索
-            List<Map<String, Object>> keywordResults = keywordSearch(kbId, query, topK);
-            
-            // 合并结果并去重
-            Map<String, Map<String, Object>> resultMap = new HashMap<>();
-            
-            // 添加语义搜索结果
-            for (Map<String, Object> result : semanticResults) {
-                String content = (String) result.get("content");
-                if (StringUtils.hasText(content)) {
-                    result.put("searchType", "semantic");
-                    resultMap.put(content, result);
-                }
-            }
-            
-            // 添加关键词搜索结果，如果内容已存在则合并分数
-            for (Map<String, Object> result : keywordResults) {
-                String content = (String) result.get("content");
-                if (StringUtils.hasText(content)) {
-                    if (resultMap.containsKey(content)) {
-                        // 合并分数
-                        Map<String, Object> existing = resultMap.get(content);
-                        double semanticScore = (Double) existing.get("score");
-                        double keywordScore = (Double) result.get("score");
-                        existing.put("score", (semanticScore + keywordScore) / 2);
-                        existing.put("searchType", "hybrid");
-                    } else {
-                        result.put("searchType", "keyword");
-                        resultMap.put(content, result);
-                    }
-                }
+            KnowledgeBase knowledgeBase = knowledgeBaseService.getById(kbId);
+            if (knowledgeBase == null) {
+                throw new IllegalArgumentException("知识库不存在: " + kbId);
             }
-            
-            // 按分数排序并返回topK结果
-            return resultMap.values().stream()
-                    .sorted((a, b) -> Double.compare((Double) b.get("score"), (Double) a.get("score")))
-                    .limit(topK)
+            ModelConfig embeddingModel = getEmbeddingModelById(knowledgeBase.getEmbeddingModelId());
+            int candidates = hybridSearchEngine.candidateSize(topK);
+
+            // 两路并发执行，按分片ID融合
+            Supplier<List<HybridHit>> semanticLeg = () -> semanticHits(knowledgeBase, embeddingModel, query, candidates);
+            Supplier<List<HybridHit>> lexicalLeg = () -> lexicalIndex.search(kbId, query, candidates);
+            return hybridSearchEngine.search(semanticLeg, lexicalLeg, topK).stream()
+                    .map(result -> toMap(result.hit(), result.score(), result.searchType()))
                     .collect(Collectors.toList());
                     
         } catch (Exception e) {
@@ -212,27 +174,45 @@ public class KnowledgeSearchServiceImpl implements KnowledgeSearchService {
 
 
     /**
-     * 计算关键词匹配分数
+     * 语义检索一路：向量存储不可用时返回空，由关键词一路兜底
      */
-    private double calculateKeywordScore(String content, String query) {
-        if (!StringUtils.hasText(content) || !StringUtils.hasText(query)) {
-            return 0.0;
+    private List<HybridHit> semanticHits(KnowledgeBase knowledgeBase, ModelConfig embeddingModel, String query, int topK) {
+        if (embeddingModel == null || !vectorSearchService.isVectorStoreAvailable(knowledgeBase, embeddingModel)) {
+            log.warn("向量存储不可用，混合搜索仅使用关键词结果");
+            return List.of();
+        }
+        return vectorSearchService.search(knowledgeBase, embeddingModel, query, topK).stream()
+                .map(match -> {
+                    Map<String, Object> metadata = match.embedded().metadata().toMap();
+                    return HybridHit.of(parseId(metadata.get("chunkId")), parseId(metadata.get("itemId")),
+                            match.embedded().text(), match.score(), metadata);
+                })
+                .toList();
+    }
+
+    private Map<String, Object> toMap(HybridHit hit, double score, String searchType) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", hit.content());
+        result.put("score", score);
+        result.put("metadata", hit.metadata());
+        result.put("chunkId", hit.chunkId());
+        result.put("itemId", hit.itemId());
+        result.put("searchType", searchType);
+        return result;
+    }
+
+    private static Long parseId(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
         }
-        
-        String lowerContent = content.toLowerCase();
-        String lowerQuery = query.toLowerCase();
-        
-        // 简单的关键词匹配分数计算
-        int matchCount = 0;
-        String[] queryWords = lowerQuery.split("\\s+");
-        
-        for (String word : queryWords) {
-            if (lowerContent.contains(word)) {
-                matchCount++;
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException ignored) {
+                return null;
             }
         }
-        
-        return (double) matchCount / queryWords.length;
+        return null;
     }
 
     /**
@@ -114,7 +114,8 @@ public class VectorMetadataServiceImpl extends SuperServiceImpl<VectorMetadataMa
             }
         });
         
-         baseMapper.insertBatch(metadataList);
+        // 多行 VALUES 批量插入，按占位符上限自动分批
+        baseMapper.insertBulk(metadataList);
     }
 
     @Override
@@ -0,0 +1,104 @@
+package com.wemirr.platform.ai.service.impl;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
+import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
+import com.wemirr.platform.ai.domain.entity.VectorOutbox;
+import com.wemirr.platform.ai.repository.VectorOutboxMapper;
+import com.wemirr.platform.ai.service.VectorOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 向量写入 outbox 服务实现类
+ * 租约以实例标识 + 到期时间表示，续期和认领都是带条件的 UPDATE，以影响行数判断是否成功
+ *
+ * @author xJh
+ * @since 2025/10/20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorOutboxServiceImpl extends SuperServiceImpl<VectorOutboxMapper, VectorOutbox> implements VectorOutboxService {
+
+    /**
+     * 租约时长（续期间隔需明显小于该值）
+     */
+    public static final Duration LEASE = Duration.ofMinutes(5);
+
+    /**
+     * 当前实例标识
+     */
+    private static final String OWNER = UUID.randomUUID().toString();
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public VectorOutbox register(Long kbId, Long itemId, List<String> vectorIds) {
+        VectorOutbox outbox = VectorOutbox.builder()
+                .kbId(kbId)
+                .itemId(itemId)
+                .vectorIds(vectorIds)
+                .streamed(false)
+                .owner(OWNER)
+                .leaseUntil(Instant.now().plus(LEASE))
+                .build();
+        baseMapper.insert(outbox);
+        return outbox;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public VectorOutbox registerStream(Long kbId, Long itemId) {
+        VectorOutbox outbox = VectorOutbox.builder()
+                .kbId(kbId)
+                .itemId(itemId)
+                .streamed(true)
+                .owner(OWNER)
+                .leaseUntil(Instant.now().plus(LEASE))
+                .build();
+        baseMapper.insert(outbox);
+        return outbox;
+    }
+
+    @Override
+    public int renew(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return baseMapper.update(null, Wraps.<VectorOutbox>lbU()
+                .set(VectorOutbox::getLeaseUntil, Instant.now().plus(LEASE))
+                .in(VectorOutbox::getId, ids)
+                .eq(VectorOutbox::getOwner, OWNER));
+    }
+
+    @Override
+    public List<VectorOutbox> listExpired(int limit) {
+        return baseMapper.selectPage(Page.of(1, limit, false), Wraps.<VectorOutbox>lbQ()
+                .lt(VectorOutbox::getLeaseUntil, Instant.now())
+                .orderByAsc(VectorOutbox::getLeaseUntil)).getRecords();
+    }
+
+    @Override
+    public boolean claim(Long id) {
+        Instant now = Instant.now();
+        return baseMapper.update(null, Wraps.<VectorOutbox>lbU()
+                .set(VectorOutbox::getOwner, OWNER)
+                .set(VectorOutbox::getLeaseUntil, now.plus(LEASE))
+                .eq(VectorOutbox::getId, id)
+                .lt(VectorOutbox::getLeaseUntil, now)) > 0;
+    }
+
+    @Override
+    public void delete(Long id) {
+        baseMapper.deleteById(id);
+    }
+}
@@ -7,6 +7,7 @@ import com.wemirr.framework.commons.exception.CheckedException;
 import com.wemirr.framework.db.mybatisplus.ext.SuperServiceImpl;
 import com.wemirr.framework.db.mybatisplus.wrap.Wraps;
 import com.wemirr.platform.ai.core.enums.KnowledgeItemStatus;
+import com.wemirr.platform.ai.core.event.DocumentIngestEvent;
 import com.wemirr.platform.ai.core.processor.VectorizationProcessor;
 import com.wemirr.platform.ai.domain.dto.rep.VectorizationRep;
 import com.wemirr.platform.ai.domain.dto.req.VectorizationTaskPageReq;
@@ -17,6 +18,9 @@ import com.wemirr.platform.ai.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.Map;
@@ -89,6 +93,19 @@ public class VectorServiceImpl extends SuperServiceImpl<VectorizationTaskMapper,
         return taskId;
     }
 
+    /**
+     * 大文档上传事务提交后创建流式导入任务
+     *
+     * @param event 上传事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onDocumentIngest(DocumentIngestEvent event) {
+        String taskId = IdUtil.fastSimpleUUID();
+        createTask(taskId, event.getKbId(), event.getItemId(), "DOCUMENT_STREAM");
+        runAsyncTask(taskId, () -> vectorizationOrchestrationService.ingestDocument(event.getItemId(), event.getFile(), event.getContentType()));
+    }
+
     @Override
     public String vectorizeFAQ(Long faqId) {
         String taskId = IdUtil.fastSimpleUUID();
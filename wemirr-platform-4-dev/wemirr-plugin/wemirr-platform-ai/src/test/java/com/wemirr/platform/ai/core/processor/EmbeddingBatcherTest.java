@@ -0,0 +1,159 @@
+package com.wemirr.platform.ai.core.processor;
+
+import com.wemirr.platform.ai.core.provider.embedding.EmbeddingBatchLimits;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.InternalServerException;
+import dev.langchain4j.exception.InvalidRequestException;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EmbeddingBatcher 测试类（使用本地桩模型，不依赖外部服务）
+ */
+@DisplayName("EmbeddingBatcher 测试")
+class EmbeddingBatcherTest {
+
+    private final EmbeddingBatcher batcher = new EmbeddingBatcher();
+
+    @Test
+    @DisplayName("批次应该同时受条数与 token 上限约束")
+    void partition_shouldRespectItemAndTokenLimits() {
+        List<TextSegment> segments = segments(25);
+        List<List<TextSegment>> byItems = EmbeddingBatcher.partition(segments, new EmbeddingBatchLimits(10, 100_000, 1));
+        assertEquals(List.of(10, 10, 5), byItems.stream().map(List::size).toList());
+
+        // 每条估算 2 token，上限 5 token 时每批最多 2 条
+        List<List<TextSegment>> byTokens = EmbeddingBatcher.partition(segments(4), new EmbeddingBatchLimits(10, 5, 1));
+        assertTrue(byTokens.stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(4, byTokens.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("结果顺序应该与输入一致并累计 token")
+    void embedAll_shouldKeepOrderAndCountTokens() {
+        StubEmbeddingModel model = new StubEmbeddingModel(0, batch -> false);
+        List<TextSegment> segments = segments(100);
+        EmbeddingBatcher.Result result = batcher.embedAll(model, segments, new EmbeddingBatchLimits(16, 100_000, 4), "order");
+
+        assertEquals(100, result.embeddings().size());
+        assertEquals(7, result.batches());
+        assertEquals(7, model.calls.get());
+        for (int i = 0; i < segments.size(); i++) {
+            assertEquals(segments.get(i).text().length(), result.embeddings().get(i).vector()[0]);
+        }
+        assertEquals(100, result.tokenUsage());
+    }
+
+    @Test
+    @DisplayName("批次服务端错误应该拆分后重试")
+    void embedAll_shouldSplitFailedBatch() {
+        // 超过 4 条的批次总是返回 5xx
+        StubEmbeddingModel model = new StubEmbeddingModel(0, batch -> batch.size() > 4, () -> new InternalServerException("stub 503"));
+        EmbeddingBatcher.Result result = batcher.embedAll(model, segments(16), new EmbeddingBatchLimits(16, 100_000, 2), "split");
+        assertEquals(16, result.embeddings().size());
+    }
+
+    @Test
+    @DisplayName("单条仍失败时应该抛出异常")
+    void embedAll_singleFailure_shouldThrow() {
+        StubEmbeddingModel model = new StubEmbeddingModel(0, batch -> batch.stream().anyMatch(s -> s.text().endsWith("-3")),
+                () -> new RateLimitException("stub 429"));
+        assertThrows(IllegalStateException.class,
+                () -> batcher.embedAll(model, segments(8), new EmbeddingBatchLimits(8, 100_000, 2), "fail"));
+    }
+
+    @Test
+    @DisplayName("不可重试的错误应该直接失败，不重试也不拆分")
+    void embedAll_nonRetryableFailure_shouldFailFast() {
+        StubEmbeddingModel model = new StubEmbeddingModel(0, batch -> true, () -> new InvalidRequestException("stub 400"));
+        assertThrows(IllegalStateException.class,
+                () -> batcher.embedAll(model, segments(8), new EmbeddingBatchLimits(8, 100_000, 1), "fast"));
+        assertEquals(1, model.calls.get());
+    }
+
+    @Test
+    @DisplayName("只有超时、429、5xx 属于可重试错误")
+    void retryable_shouldOnlyAcceptTransientErrors() {
+        assertTrue(EmbeddingBatcher.retryable(new RateLimitException("429")));
+        assertTrue(EmbeddingBatcher.retryable(new InternalServerException("500")));
+        assertTrue(EmbeddingBatcher.retryable(new HttpException(502, "bad gateway")));
+        assertTrue(EmbeddingBatcher.retryable(new RuntimeException(new SocketTimeoutException("read timed out"))));
+        assertFalse(EmbeddingBatcher.retryable(new HttpException(401, "unauthorized")));
+        assertFalse(EmbeddingBatcher.retryable(new InvalidRequestException("400")));
+        assertFalse(EmbeddingBatcher.retryable(new IllegalStateException("向量数量与分片数量不一致")));
+    }
+
+    @Test
+    @DisplayName("并发请求数不应超过限制")
+    void embedAll_shouldRespectConcurrency() {
+        StubEmbeddingModel model = new StubEmbeddingModel(20, batch -> false);
+        EmbeddingBatcher.Result result = batcher.embedAll(model, segments(2000), new EmbeddingBatchLimits(64, 100_000, 4), "concurrency");
+        assertEquals(2000, result.embeddings().size());
+        assertEquals(32, model.calls.get());
+        assertTrue(model.maxInFlight.get() <= 4, "maxInFlight=" + model.maxInFlight.get());
+    }
+
+    private static List<TextSegment> segments(int size) {
+        return IntStream.range(0, size).mapToObj(i -> TextSegment.from("chunk-" + i)).toList();
+    }
+
+    /**
+     * 本地桩模型：向量第一维为文本长度，按调用模拟延迟与失败，并记录最大并发数
+     */
+    private static final class StubEmbeddingModel implements EmbeddingModel {
+
+        private final long latencyMillis;
+        private final Predicate<List<TextSegment>> failWhen;
+        private final Supplier<RuntimeException> failure;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private StubEmbeddingModel(long latencyMillis, Predicate<List<TextSegment>> failWhen) {
+            this(latencyMillis, failWhen, () -> new InternalServerException("stub failure"));
+        }
+
+        private StubEmbeddingModel(long latencyMillis, Predicate<List<TextSegment>> failWhen, Supplier<RuntimeException> failure) {
+            this.latencyMillis = latencyMillis;
+            this.failWhen = failWhen;
+            this.failure = failure;
+        }
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (failWhen.test(segments)) {
+                throw failure.get();
+            }
+            List<Embedding> embeddings = segments.stream()
+                    .map(segment -> Embedding.from(new float[]{segment.text().length(), 1f}))
+                    .toList();
+            return Response.from(embeddings, new TokenUsage(segments.size()));
+        }
+    }
+}
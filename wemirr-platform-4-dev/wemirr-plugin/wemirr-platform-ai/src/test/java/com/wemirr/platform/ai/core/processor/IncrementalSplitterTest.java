@@ -0,0 +1,69 @@
+package com.wemirr.platform.ai.core.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalSplitter 测试类
+ */
+@DisplayName("IncrementalSplitter 测试")
+class IncrementalSplitterTest {
+
+    @Test
+    @DisplayName("逐段喂入的分片不应超过分片大小且不丢内容")
+    void accept_shouldKeepChunksWithinSizeAndCoverAllParagraphs() {
+        List<String> paragraphs = IntStream.range(0, 200)
+                .mapToObj(i -> "第" + i + "段 " + "内容".repeat(20 + i % 30) + "。")
+                .toList();
+        IncrementalSplitter splitter = new IncrementalSplitter(300, 50);
+        List<String> chunks = new ArrayList<>();
+        // 每 10 段作为一个段落块
+        for (int i = 0; i < paragraphs.size(); i += 10) {
+            String section = String.join("\n\n", paragraphs.subList(i, Math.min(i + 10, paragraphs.size())));
+            chunks.addAll(splitter.accept(section));
+        }
+        chunks.addAll(splitter.finish());
+
+        assertFalse(chunks.isEmpty());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.length() <= 300));
+        String joined = String.join("\n", chunks);
+        paragraphs.forEach(paragraph -> assertTrue(joined.contains(paragraph.substring(0, paragraph.indexOf(' '))), paragraph));
+    }
+
+    @Test
+    @DisplayName("尾巴在 finish 时输出，空段落块被忽略")
+    void finish_shouldFlushTail() {
+        IncrementalSplitter splitter = new IncrementalSplitter(1000, 100);
+        assertTrue(splitter.accept("短文本").isEmpty());
+        assertTrue(splitter.accept("   ").isEmpty());
+        assertEquals(List.of("短文本"), splitter.finish());
+        assertTrue(splitter.finish().isEmpty());
+    }
+
+    @Test
+    @DisplayName("增量分片数量应与整篇分片接近")
+    void accept_shouldMatchWholeDocumentSplitRoughly() {
+        String text = IntStream.range(0, 100)
+                .mapToObj(i -> "Paragraph " + i + " " + "lorem ipsum ".repeat(15))
+                .collect(Collectors.joining("\n\n"));
+        List<String> whole = new DocumentProcessor().splitText(text, 400, 40);
+
+        IncrementalSplitter splitter = new IncrementalSplitter(400, 40);
+        List<String> incremental = new ArrayList<>();
+        String[] sections = text.split("\n\n");
+        for (int i = 0; i < sections.length; i += 7) {
+            incremental.addAll(splitter.accept(String.join("\n\n", List.of(sections).subList(i, Math.min(i + 7, sections.length)))));
+        }
+        incremental.addAll(splitter.finish());
+
+        assertTrue(Math.abs(whole.size() - incremental.size()) <= whole.size() / 10 + 1,
+                "whole=" + whole.size() + ", incremental=" + incremental.size());
+    }
+}
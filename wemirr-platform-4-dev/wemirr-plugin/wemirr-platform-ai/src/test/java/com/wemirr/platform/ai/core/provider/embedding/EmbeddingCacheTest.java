@@ -0,0 +1,46 @@
+package com.wemirr.platform.ai.core.provider.embedding;
+
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
+import dev.langchain4j.data.embedding.Embedding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EmbeddingCache 测试类（仅本地缓存，不依赖 Redis）
+ */
+@DisplayName("EmbeddingCache 测试")
+class EmbeddingCacheTest {
+
+    @Test
+    @DisplayName("二进制编码应该可以无损还原向量")
+    void encodeDecode_shouldRoundTrip() {
+        float[] vector = {0.1f, -2.5f, 3.75f, Float.MIN_VALUE};
+        byte[] bytes = EmbeddingCache.encode(Embedding.from(vector));
+
+        assertEquals(vector.length * Float.BYTES, bytes.length);
+        assertArrayEquals(vector, EmbeddingCache.decode(ByteBuffer.wrap(bytes)).vector());
+    }
+
+    @Test
+    @DisplayName("相同模型与文本应该命中本地缓存")
+    void getAll_shouldHitLocalCache() {
+        VectorStoreProperties properties = new VectorStoreProperties();
+        properties.getEmbeddingCache().setRedisEnabled(false);
+        EmbeddingCache cache = new EmbeddingCache(properties, null);
+        cache.putAll("openai:text-embedding-3-small", List.of("a", "b"),
+                List.of(Embedding.from(new float[]{1f}), Embedding.from(new float[]{2f})));
+
+        Embedding[] hits = cache.getAll("openai:text-embedding-3-small", List.of("b", "c", "a"));
+        assertArrayEquals(new float[]{2f}, hits[0].vector());
+        assertNull(hits[1]);
+        assertArrayEquals(new float[]{1f}, hits[2].vector());
+
+        // 不同模型不共享向量
+        assertNull(cache.getAll("qwen:text-embedding-v3", List.of("a"))[0]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HybridFusion 测试类
+ */
+@DisplayName("HybridFusion 测试")
+class HybridFusionTest {
+
+    @Test
+    @DisplayName("RRF 应按分片ID合并两路结果，两路都命中的排在前面")
+    void reciprocalRank_shouldMergeByChunkId() {
+        List<HybridHit> semantic = List.of(hit(1L, 0.91), hit(2L, 0.90), hit(3L, 0.80));
+        List<HybridHit> lexical = List.of(hit(3L, 7.5), hit(4L, 3.0));
+
+        List<HybridResult> results = HybridFusion.reciprocalRank(semantic, lexical, 60, 0.5, 10);
+
+        assertEquals(4, results.size());
+        assertEquals(3L, results.get(0).hit().chunkId());
+        assertEquals("hybrid", results.get(0).searchType());
+        assertEquals("semantic", results.stream().filter(r -> r.hit().chunkId() == 1L).findFirst().orElseThrow().searchType());
+        assertEquals("keyword", results.stream().filter(r -> r.hit().chunkId() == 4L).findFirst().orElseThrow().searchType());
+    }
+
+    @Test
+    @DisplayName("归一化加权应消除两路分数量纲差异")
+    void weightedNormalized_shouldNormalizeScores() {
+        List<HybridHit> semantic = List.of(hit(1L, 0.95), hit(2L, 0.80), hit(5L, 0.50));
+        List<HybridHit> lexical = List.of(hit(2L, 12.0), hit(3L, 2.0));
+
+        List<HybridResult> results = HybridFusion.weightedNormalized(semantic, lexical, 0.5, 3);
+
+        assertEquals(List.of(2L, 1L, 3L), results.stream().map(r -> r.hit().chunkId()).toList());
+        assertEquals(0.5 * (0.30 / 0.45) + 0.5, results.get(0).score(), 1e-9);
+        assertEquals(0.5, results.get(1).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("topK 小顶堆结果应与全量排序一致")
+    void topK_shouldMatchFullSort() {
+        List<Integer> values = IntStream.range(0, 1000).map(i -> (i * 7919) % 1000).boxed().toList();
+        List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).limit(10).toList();
+
+        assertEquals(expected, HybridFusion.topK(values, 10, Comparator.naturalOrder()));
+        assertTrue(HybridFusion.topK(values, 0, Comparator.<Integer>naturalOrder()).isEmpty());
+        assertEquals(3, HybridFusion.topK(List.of(1, 2, 3), 10, Comparator.<Integer>naturalOrder()).size());
+    }
+
+    @Test
+    @DisplayName("缺少分片ID时按内容去重")
+    void hit_shouldFallbackToContentKey() {
+        HybridHit a = HybridHit.of(null, null, "same content", 1.0, Map.of());
+        HybridHit b = HybridHit.of(null, null, "same content", 2.0, Map.of());
+
+        assertEquals(a.key(), b.key());
+        assertEquals(1, HybridFusion.reciprocalRank(List.of(a), List.of(b), 60, 0.5, 10).size());
+    }
+
+    private static HybridHit hit(Long chunkId, double score) {
+        return HybridHit.of(chunkId, 1L, "chunk-" + chunkId, score, Map.of());
+    }
+}
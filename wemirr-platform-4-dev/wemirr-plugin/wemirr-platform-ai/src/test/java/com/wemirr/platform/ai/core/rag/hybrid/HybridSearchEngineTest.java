@@ -0,0 +1,243 @@
+package com.wemirr.platform.ai.core.rag.hybrid;
+
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.wemirr.platform.ai.core.config.VectorStoreProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HybridSearchEngine 测试类
+ * <p>
+ * 使用生成的语料与内存关键词索引（不依赖数据库、向量库），并发与截止时间用闩锁控制，不依赖耗时断言；
+ * 耗时对比放在 benchmark 标签下，默认构建不执行
+ */
+@DisplayName("HybridSearchEngine 测试")
+class HybridSearchEngineTest {
+
+    private static final String[] VOCABULARY = {"向量", "检索", "知识库", "分片", "模型", "租户", "缓存", "索引",
+            "embedding", "milvus", "rerank", "query", "token", "pipeline", "fusion", "latency"};
+
+    private static final long SEMANTIC_LATENCY_MILLIS = 120;
+    private static final long LEXICAL_LATENCY_MILLIS = 80;
+
+    @Test
+    @DisplayName("两路并发执行：互相等待对方开始的两路都能完成")
+    void search_shouldRunLegsConcurrently() {
+        List<String> corpus = corpus(1_000, 42);
+        LexicalIndex index = new InMemoryLexicalIndex(corpus, 0);
+        HybridSearchEngine engine = new HybridSearchEngine(properties(30_000));
+        String query = "向量 检索 fusion";
+        // 两路都到达屏障才继续，串行执行时先执行的一路会等待超时并失败
+        CountDownLatch barrier = new CountDownLatch(2);
+
+        List<HybridResult> results = engine.search(
+                () -> {
+                    arrive(barrier);
+                    return semantic(corpus, query, 0).get();
+                },
+                () -> {
+                    arrive(barrier);
+                    return index.search(1L, query, 20);
+                }, 10);
+
+        assertEquals(10, results.size());
+        assertTrue(results.stream().anyMatch(result -> !"keyword".equals(result.searchType())));
+        assertTrue(results.stream().anyMatch(result -> !"semantic".equals(result.searchType())));
+    }
+
+    @Test
+    @DisplayName("工作线程应沿用调用方的数据源 key")
+    void search_shouldPropagateDataSourceKey() {
+        AtomicReference<String> semanticDs = new AtomicReference<>();
+        AtomicReference<String> lexicalDs = new AtomicReference<>();
+        HybridSearchEngine engine = new HybridSearchEngine(properties(30_000));
+
+        DynamicDataSourceContextHolder.push("tenant_0001");
+        try {
+            engine.search(() -> {
+                semanticDs.set(DynamicDataSourceContextHolder.peek());
+                return List.of();
+            }, () -> {
+                lexicalDs.set(DynamicDataSourceContextHolder.peek());
+                return List.of();
+            }, 5);
+        } finally {
+            DynamicDataSourceContextHolder.clear();
+        }
+
+        assertEquals("tenant_0001", semanticDs.get());
+        assertEquals("tenant_0001", lexicalDs.get());
+    }
+
+    @Test
+    @DisplayName("超过截止时间的一路按空结果融合，不等待其返回")
+    void search_shouldDegradeOnDeadline() {
+        List<String> corpus = corpus(1_000, 7);
+        LexicalIndex index = new InMemoryLexicalIndex(corpus, 0);
+        HybridSearchEngine engine = new HybridSearchEngine(properties(150));
+        String query = "知识库 缓存";
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            List<HybridResult> results = engine.search(() -> {
+                await(release, 30_000);
+                return semantic(corpus, query, 0).get();
+            }, () -> index.search(1L, query, 20), 5);
+
+            // 返回时语义一路仍被阻塞，说明结果没有等待它
+            assertEquals(1, release.getCount());
+            assertEquals(5, results.size());
+            assertTrue(results.stream().allMatch(result -> "keyword".equals(result.searchType())));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("语义一路失败时只返回关键词结果")
+    void search_shouldDegradeOnFailure() {
+        List<String> corpus = corpus(500, 3);
+        LexicalIndex index = new InMemoryLexicalIndex(corpus, 0);
+        HybridSearchEngine engine = new HybridSearchEngine(properties(1_000));
+
+        List<HybridResult> results = engine.search(() -> {
+            throw new IllegalStateException("vector store down");
+        }, () -> index.search(1L, "模型", 10), 5);
+
+        assertFalse(results.isEmpty());
+        assertTrue(results.stream().allMatch(result -> "keyword".equals(result.searchType())));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("基准：并发耗时应接近较慢一路而不是两路之和")
+    void benchmark_latencyShouldBeMaxOfLegs() {
+        List<String> corpus = corpus(5_000, 42);
+        LexicalIndex index = new InMemoryLexicalIndex(corpus, LEXICAL_LATENCY_MILLIS);
+        HybridSearchEngine engine = new HybridSearchEngine(properties(2_000));
+        String query = "向量 检索 fusion";
+
+        // 预热
+        engine.search(semantic(corpus, query, 0), () -> index.search(1L, query, 20), 10);
+
+        long sequentialStart = System.nanoTime();
+        semantic(corpus, query, SEMANTIC_LATENCY_MILLIS).get();
+        index.search(1L, query, 20);
+        long sequential = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sequentialStart);
+
+        long hybridStart = System.nanoTime();
+        List<HybridResult> results = engine.search(semantic(corpus, query, SEMANTIC_LATENCY_MILLIS), () -> index.search(1L, query, 20), 10);
+        long hybrid = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - hybridStart);
+
+        assertEquals(10, results.size());
+        assertTrue(hybrid < sequential, "corpus=" + corpus.size() + ", hybrid=" + hybrid + "ms, sequential=" + sequential + "ms");
+    }
+
+    private static VectorStoreProperties properties(long timeoutMillis) {
+        VectorStoreProperties properties = new VectorStoreProperties();
+        properties.getHybrid().setTimeoutMillis(timeoutMillis);
+        return properties;
+    }
+
+    /**
+     * 模拟语义检索：按查询词重合度打分，附加固定延迟
+     */
+    private static Supplier<List<HybridHit>> semantic(List<String> corpus, String query, long latencyMillis) {
+        String[] terms = SqlLexicalIndex.terms(query);
+        return () -> {
+            sleep(latencyMillis);
+            List<HybridHit> hits = new ArrayList<>(corpus.size());
+            for (int i = 0; i < corpus.size(); i++) {
+                String text = corpus.get(i);
+                long overlap = java.util.Arrays.stream(terms).filter(text::contains).count();
+                hits.add(HybridHit.of((long) i, 1L, text, overlap / (double) terms.length + (i % 97) / 1e4, Map.of()));
+            }
+            return HybridFusion.topK(hits, 20, Comparator.comparingDouble(HybridHit::score));
+        };
+    }
+
+    private static List<String> corpus(int size, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, size)
+                .mapToObj(i -> {
+                    StringBuilder text = new StringBuilder();
+                    int words = 30 + random.nextInt(60);
+                    for (int w = 0; w < words; w++) {
+                        text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                    }
+                    return text.toString();
+                })
+                .toList();
+    }
+
+    private static void arrive(CountDownLatch barrier) {
+        barrier.countDown();
+        if (!await(barrier, 10_000)) {
+            throw new IllegalStateException("另一路未并发执行");
+        }
+    }
+
+    private static boolean await(CountDownLatch latch, long millis) {
+        try {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 内存关键词索引：与 SqlLexicalIndex 相同的打分，演示 LexicalIndex 的替换实现
+     */
+    private static final class InMemoryLexicalIndex implements LexicalIndex {
+
+        private final List<String> corpus;
+        private final long latencyMillis;
+        private final double avgLength;
+
+        private InMemoryLexicalIndex(List<String> corpus, long latencyMillis) {
+            this.corpus = corpus;
+            this.latencyMillis = latencyMillis;
+            this.avgLength = corpus.stream().mapToInt(String::length).average().orElse(1);
+        }
+
+        @Override
+        public List<HybridHit> search(Long kbId, String query, int topK) {
+            sleep(latencyMillis);
+            String[] terms = SqlLexicalIndex.terms(query);
+            List<HybridHit> hits = new ArrayList<>();
+            for (int i = 0; i < corpus.size(); i++) {
+                double score = SqlLexicalIndex.score(corpus.get(i), terms, avgLength);
+                if (score > 0) {
+                    hits.add(HybridHit.of((long) i, kbId, corpus.get(i), score, Map.of()));
+                }
+            }
+            return HybridFusion.topK(hits, topK, Comparator.comparingDouble(HybridHit::score));
+        }
+    }
+}
@@ -222,7 +222,7 @@ public class SettleServiceImpl extends SuperServiceImpl<BmsSettleDetailMapper, B
                         }
                     }
                 }
-                this.baseMapper.insertBatchSomeColumn(details);
+                this.baseMapper.insertBulk(details);
             }
         }
         return orderIds.stream().collect(Collectors.toList());
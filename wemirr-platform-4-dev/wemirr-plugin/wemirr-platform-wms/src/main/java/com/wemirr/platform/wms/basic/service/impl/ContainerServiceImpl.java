@@ -91,10 +91,10 @@ public class ContainerServiceImpl extends SuperServiceImpl<ContainerMapper, Cont
             }
         }
         if (CollUtil.isNotEmpty(saveLogs)) {
-            containerLogMapper.insertBatchSomeColumn(saveLogs);
+            containerLogMapper.insertBulk(saveLogs);
         }
         if (CollUtil.isNotEmpty(updateLogs)) {
-            containerLogMapper.updateBatchSomeColumnById(updateLogs);
+            containerLogMapper.updateBulk(updateLogs);
         }
     }
 
@@ -243,6 +243,27 @@ CREATE TABLE `ai_kb_vector_metadata`
     PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci COMMENT='向量元数据';
 
+-- ----------------------------
+-- Table structure for ai_kb_vector_outbox
+-- ----------------------------
+DROP TABLE IF EXISTS `ai_kb_vector_outbox`;
+CREATE TABLE `ai_kb_vector_outbox`
+(
+    `id`          bigint NOT NULL COMMENT 'ID',
+    `create_by`   bigint       DEFAULT NULL COMMENT '创建人ID',
+    `create_name` varchar(255) DEFAULT NULL COMMENT '创建人名称',
+    `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
+    `kb_id`       bigint       DEFAULT NULL COMMENT '所属知识库ID',
+    `item_id`     bigint       DEFAULT NULL COMMENT '关联的知识条目ID',
+    `vector_ids`  json         DEFAULT NULL COMMENT '预分配的向量ID列表',
+    `streamed`    tinyint(1)   DEFAULT '0' COMMENT '是否流式导入（清理时按条目删除分片、向量元数据和向量）',
+    `owner`       varchar(64)  DEFAULT NULL COMMENT '持有租约的实例标识',
+    `lease_until` datetime     DEFAULT NULL COMMENT '租约到期时间',
+    `tenant_id`   bigint       DEFAULT NULL COMMENT '租户ID',
+    PRIMARY KEY (`id`),
+    KEY `idx_lease_until` (`lease_until`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci COMMENT='向量写入outbox（崩溃恢复，物理删除）';
+
 -- ----------------------------
 -- Table structure for ai_kb_vector_store
 -- ----------------------------